@@ -0,0 +1,56 @@
+package com.upgrad.FoodOrderingApp.api.auth;
+
+import com.upgrad.FoodOrderingApp.service.business.CustomerService;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+
+/**
+ * AuthenticatedCustomer is the customer of the 'Bearer <access-token>' authorization header of a request, handed to
+ * the controller methods that take it as an argument.
+ *
+ * The header is parsed once, by BearerAuthenticationFilter. The customer is only looked up when first asked for, so
+ * that the controllers still validate their request before authorizing it, and then kept for the rest of the request.
+ * A header which is not a well formed bearer token is turned away with ATHR-001 without looking anything up.
+ */
+public final class AuthenticatedCustomer {
+
+    private final String accessToken;
+
+    private final CustomerService customerService;
+
+    private CustomerEntity customerEntity;
+
+    AuthenticatedCustomer(final String accessToken, final CustomerService customerService) {
+        this.accessToken = accessToken;
+        this.customerService = customerService;
+    }
+
+    /**
+     * Returns the access token of the authorization header
+     *
+     * @return access token
+     *
+     * @throws AuthorizationFailedException If the authorization header is not in 'Bearer <access-token>' format
+     */
+    public String getAccessToken() throws AuthorizationFailedException {
+        if (accessToken == null) {
+            throw new AuthorizationFailedException("ATHR-001", "Customer is not Logged in.");
+        }
+        return accessToken;
+    }
+
+    /**
+     * Returns the customer of the access token, looking it up on the first call only
+     *
+     * @return CustomerEntity object
+     *
+     * @throws AuthorizationFailedException If the authorization header is not in 'Bearer <access-token>' format
+     * @throws AuthorizationFailedException If the access token is not valid, see CustomerService.getCustomer
+     */
+    public CustomerEntity getCustomer() throws AuthorizationFailedException {
+        if (customerEntity == null) {
+            customerEntity = customerService.getCustomer(getAccessToken());
+        }
+        return customerEntity;
+    }
+}
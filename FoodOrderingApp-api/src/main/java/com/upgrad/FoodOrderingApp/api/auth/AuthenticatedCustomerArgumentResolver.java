@@ -0,0 +1,37 @@
+package com.upgrad.FoodOrderingApp.api.auth;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.ServletRequestBindingException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * AuthenticatedCustomerArgumentResolver hands the AuthenticatedCustomer of a request to the controller method
+ * arguments of that type. A request without an authorization header is answered with 400, as a missing required
+ * header is.
+ */
+@Component
+public class AuthenticatedCustomerArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(final MethodParameter parameter) {
+        return AuthenticatedCustomer.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(final MethodParameter parameter, final ModelAndViewContainer mavContainer,
+                                  final NativeWebRequest webRequest, final WebDataBinderFactory binderFactory)
+            throws ServletRequestBindingException {
+        final Object authenticatedCustomer = webRequest.getAttribute(BearerAuthenticationFilter.AUTHENTICATED_CUSTOMER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (authenticatedCustomer == null) {
+            throw new ServletRequestBindingException("Missing request header 'authorization' for method parameter of type "
+                    + AuthenticatedCustomer.class.getSimpleName());
+        }
+        return authenticatedCustomer;
+    }
+}
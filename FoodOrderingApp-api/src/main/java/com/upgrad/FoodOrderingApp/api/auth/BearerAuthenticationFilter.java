@@ -0,0 +1,65 @@
+package com.upgrad.FoodOrderingApp.api.auth;
+
+import com.upgrad.FoodOrderingApp.service.business.CustomerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * BearerAuthenticationFilter parses the authorization header of every request that has one into an
+ * AuthenticatedCustomer, kept as a request attribute for AuthenticatedCustomerArgumentResolver.
+ *
+ * Only the format of the token is checked here: it must follow 'Bearer ', be at most as long as the access_token
+ * column and be free of whitespace. A token failing that is never looked up, its AuthenticatedCustomer turns it away
+ * with ATHR-001 as soon as a controller asks for the customer. Other schemes, like the Basic credentials of the login,
+ * are left to their controller methods.
+ */
+@Component
+public class BearerAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String AUTHENTICATED_CUSTOMER_ATTRIBUTE = AuthenticatedCustomer.class.getName();
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // length of customer_auth.access_token
+    private static final int MAX_ACCESS_TOKEN_LENGTH = 500;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
+            throws ServletException, IOException {
+        final String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            request.setAttribute(AUTHENTICATED_CUSTOMER_ATTRIBUTE, new AuthenticatedCustomer(parseBearerToken(authorization), customerService));
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return the access token of a 'Bearer <access-token>' header, or null if the header is not one
+     */
+    static String parseBearerToken(final String authorization) {
+        if (!authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        final int length = authorization.length() - BEARER_PREFIX.length();
+        if (length == 0 || length > MAX_ACCESS_TOKEN_LENGTH) {
+            return null;
+        }
+        for (int i = BEARER_PREFIX.length(); i < authorization.length(); i++) {
+            if (Character.isWhitespace(authorization.charAt(i))) {
+                return null;
+            }
+        }
+        return authorization.substring(BEARER_PREFIX.length());
+    }
+}
@@ -0,0 +1,43 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.business.CatalogSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * CatalogVersionInterceptor answers conditional GETs of the catalog endpoints from the catalog snapshot version alone.
+ *
+ * The ETag is the version of the snapshot, which is bumped by the first rebuild that finds the catalog changed, and
+ * Last-Modified the time that version was built. A request whose If-None-Match or If-Modified-Since still matches is answered with 304
+ * before the controller runs, so neither the database nor the response mapping is touched. The ETag also carries the
+ * start time of the application, since versions are counted again from 1 after a restart.
+ */
+@Component
+public class CatalogVersionInterceptor extends HandlerInterceptorAdapter {
+
+    private final String startTime = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        final long version = catalogSnapshot.getVersion();
+        if (version == 0) {
+            // no snapshot yet, so nothing to compare with
+            return true;
+        }
+        // weak, as the same version may be sent in other encodings
+        final String eTag = "W/\"" + startTime + "-" + version + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(eTag, catalogSnapshot.getLastModified());
+    }
+}
@@ -0,0 +1,154 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.service.common.QueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * QueryStatisticsFilter counts the SQL statements, database time and entity loads of every request handled by a
+ * controller method of the api, and publishes them as histograms tagged by route, HTTP method and controller method:
+ * 'api.request.statements', 'api.request.db.time' and 'api.request.entity.loads'.
+ *
+ * A request preparing more than 'query.budget.statements' statements is logged as a warning along with every
+ * distinct statement and how many times it was prepared, which is how an N+1 query shows up. As an interceptor the
+ * filter names the controller method a request is handled by, registered in WebConfiguration.
+ *
+ * The body of a StreamingResponseBody, like the NDJSON order history, runs its queries on an async thread after the
+ * filter has returned. As a CallableProcessingInterceptor the filter counts them on that thread as well, and records
+ * the request once the response is complete.
+ */
+@Component
+public class QueryStatisticsFilter extends OncePerRequestFilter implements HandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryStatisticsFilter.class);
+
+    private static final String CONTROLLER_PACKAGE = "com.upgrad.FoodOrderingApp.api.controller";
+
+    private static final String CONTROLLER_METHOD_ATTRIBUTE = QueryStatisticsFilter.class.getName() + ".controllerMethod";
+
+    private static final String QUERY_STATISTICS_ATTRIBUTE = QueryStatisticsFilter.class.getName() + ".queryStatistics";
+
+    private final MeterRegistry meterRegistry;
+
+    private final int statementBudget;
+
+    public QueryStatisticsFilter(final MeterRegistry meterRegistry,
+                                 @Value("${query.budget.statements:20}") final int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStatistics.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final QueryStatistics queryStatistics = QueryStatistics.end();
+            if (isAsyncStarted(request)) {
+                // counted on until the async processing completes, see afterCompletion
+                request.setAttribute(QUERY_STATISTICS_ATTRIBUTE, queryStatistics);
+            } else {
+                record(request, queryStatistics);
+            }
+        }
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (handler instanceof HandlerMethod) {
+            final HandlerMethod handlerMethod = (HandlerMethod) handler;
+            if (handlerMethod.getBeanType().getName().startsWith(CONTROLLER_PACKAGE)) {
+                request.setAttribute(CONTROLLER_METHOD_ATTRIBUTE,
+                        handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public <T> void preProcess(final NativeWebRequest request, final Callable<T> task) {
+        final QueryStatistics queryStatistics = (QueryStatistics) request.getAttribute(QUERY_STATISTICS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (queryStatistics != null) {
+            QueryStatistics.resume(queryStatistics);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(final NativeWebRequest request, final Callable<T> task, final Object concurrentResult) {
+        QueryStatistics.end();
+    }
+
+    @Override
+    public <T> void afterCompletion(final NativeWebRequest request, final Callable<T> task) {
+        final QueryStatistics queryStatistics = (QueryStatistics) request.getAttribute(QUERY_STATISTICS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (queryStatistics != null) {
+            request.removeAttribute(QUERY_STATISTICS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            record(request.getNativeRequest(HttpServletRequest.class), queryStatistics);
+        }
+    }
+
+    private void record(final HttpServletRequest request, final QueryStatistics queryStatistics) {
+        final Object controllerMethod = request.getAttribute(CONTROLLER_METHOD_ATTRIBUTE);
+        if (controllerMethod != null) {
+            record(request, (String) controllerMethod, queryStatistics);
+        }
+    }
+
+    private void record(final HttpServletRequest request, final String controllerMethod, final QueryStatistics queryStatistics) {
+        final String route = String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        final Tags tags = Tags.of("route", route, "method", request.getMethod(), "handler", controllerMethod);
+
+        DistributionSummary.builder("api.request.statements")
+                .description("SQL statements prepared per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queryStatistics.getStatementCount());
+        Timer.builder("api.request.db.time")
+                .description("Time per request spent executing SQL statements")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queryStatistics.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("api.request.entity.loads")
+                .description("Entities loaded from the database per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queryStatistics.getEntityLoadCount());
+
+        if (queryStatistics.getStatementCount() > statementBudget && LOGGER.isWarnEnabled()) {
+            final StringBuilder statements = new StringBuilder();
+            for (Map.Entry<String, Integer> statementCount : queryStatistics.getStatementCounts().entrySet()) {
+                statements.append("\n  ").append(statementCount.getValue()).append(" x ").append(statementCount.getKey());
+            }
+            LOGGER.warn("{} {} ({}) prepared {} statements, over the budget of {}, in {} ms with {} entities loaded:{}",
+                    request.getMethod(), route, controllerMethod, queryStatistics.getStatementCount(), statementBudget,
+                    TimeUnit.NANOSECONDS.toMillis(queryStatistics.getJdbcNanos()), queryStatistics.getEntityLoadCount(), statements);
+        }
+    }
+}
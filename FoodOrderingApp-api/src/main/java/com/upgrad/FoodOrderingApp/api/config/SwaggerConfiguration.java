@@ -1,5 +1,6 @@
 package com.upgrad.FoodOrderingApp.api.config;
 
+import com.upgrad.FoodOrderingApp.api.auth.AuthenticatedCustomer;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,6 +19,6 @@ public class SwaggerConfiguration {
 
     @Bean
     public Docket swagger() {
-        return new Docket(DocumentationType.SWAGGER_2).select().apis(RequestHandlerSelectors.basePackage("com.upgrad.FoodOrderingApp.api.controller")).paths(PathSelectors.any()).build();
+        return new Docket(DocumentationType.SWAGGER_2).ignoredParameterTypes(AuthenticatedCustomer.class).select().apis(RequestHandlerSelectors.basePackage("com.upgrad.FoodOrderingApp.api.controller")).paths(PathSelectors.any()).build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import com.upgrad.FoodOrderingApp.api.auth.AuthenticatedCustomerArgumentResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * This Configuration registers the interceptors and argument resolvers of the api endpoints.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    private CatalogVersionInterceptor catalogVersionInterceptor;
+
+    @Autowired
+    private QueryStatisticsFilter queryStatisticsFilter;
+
+    @Autowired
+    private AuthenticatedCustomerArgumentResolver authenticatedCustomerArgumentResolver;
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        // first, so that requests answered by the other interceptors are named too
+        registry.addInterceptor(queryStatisticsFilter);
+        // only the endpoints answered from the catalog snapshot; GET /restaurant/{restaurant_id} is left out, its menu
+        // document carries an ETag of its own content, and /payment and /states are read from the database, which the
+        // catalog version says nothing about
+        registry.addInterceptor(catalogVersionInterceptor)
+                .addPathPatterns("/restaurant", "/restaurant/name/**", "/restaurant/category/**",
+                        "/category", "/category/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        // counts the statements of streamed response bodies, run on an async thread
+        configurer.registerCallableInterceptors(queryStatisticsFilter);
+    }
+
+    @Override
+    public void addArgumentResolvers(final List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(authenticatedCustomerArgumentResolver);
+    }
+}
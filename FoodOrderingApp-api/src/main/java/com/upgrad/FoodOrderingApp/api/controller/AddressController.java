@@ -1,15 +1,18 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.auth.AuthenticatedCustomer;
+import com.upgrad.FoodOrderingApp.api.document.CatalogDocumentStore;
+import com.upgrad.FoodOrderingApp.api.mapper.AddressMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.business.AddressService;
-import com.upgrad.FoodOrderingApp.service.business.CustomerService;
 import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
-import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
 import com.upgrad.FoodOrderingApp.service.exception.AddressNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.SaveAddressException;
 import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,16 +26,22 @@ import java.util.UUID;
 public class AddressController {
 
     @Autowired
-    private CustomerService customerService;
+    private AddressService addressService;
 
     @Autowired
-    private AddressService addressService;
+    private AddressMapper addressMapper;
+
+    @Autowired
+    private CatalogDocumentStore catalogDocumentStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     /**
      * This api endpoint is used to save address for a customer
      *
      * @request SaveAddressRequest requests for all the attributes
-     * @param authorization customer login access token in 'Bearer <access-token>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<SaveAddressResponse> type object along with HttpStatus Ok
      *
@@ -48,14 +57,13 @@ public class AddressController {
     @RequestMapping(method = RequestMethod.POST, path = "/address", produces = MediaType.APPLICATION_JSON_UTF8_VALUE, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<SaveAddressResponse> saveAddress(
             @RequestBody(required = false) final SaveAddressRequest saveAddressRequest,
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException, SaveAddressException, AddressNotFoundException
     {
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
 
         final AddressEntity address = new AddressEntity();
-        address.setUuid(UUID.randomUUID().toString());
+        address.setUuid(UUID.randomUUID());
         address.setFlatBuilNo(saveAddressRequest.getFlatBuildingName());
         address.setLocality(saveAddressRequest.getLocality());
         address.setCity(saveAddressRequest.getCity());
@@ -64,14 +72,14 @@ public class AddressController {
         address.setActive(1);
 
         final AddressEntity savedAddress = addressService.saveAddress(address, customerEntity);
-        SaveAddressResponse addressResponse = new SaveAddressResponse().id(savedAddress.getUuid()).status("ADDRESS SUCCESSFULLY REGISTERED");
+        SaveAddressResponse addressResponse = addressMapper.toSaveAddressResponse(savedAddress, "ADDRESS SUCCESSFULLY REGISTERED");
         return new ResponseEntity<SaveAddressResponse>(addressResponse, HttpStatus.CREATED);
     }
 
     /**
      * This api endpoint is used retrieve all the saved addresses in the database, for a customer
      *
-     *@param authorization customer login access token in 'Bearer <access-token>' format
+     *@param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<AddressListResponse> type object along with HttpStatus OK
      *
@@ -82,29 +90,16 @@ public class AddressController {
 
     @RequestMapping(method = RequestMethod.GET, path = "/address/customer", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<AddressListResponse> getAllSavedAddresses(
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException
     {
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
 
         // Get all saved addresses
         List<AddressEntity> addressesList = addressService.getAllAddress(customerEntity);
 
         // Create Response for saved addresses
-        AddressListResponse addressListResponse = new AddressListResponse();
-
-        for (AddressEntity addressEntity : addressesList) {
-            AddressList addressesResponse = new AddressList()
-                    .id(UUID.fromString(addressEntity.getUuid()))
-                    .flatBuildingName(addressEntity.getFlatBuilNo())
-                    .locality(addressEntity.getLocality())
-                    .city(addressEntity.getCity())
-                    .pincode(addressEntity.getPincode())
-                    .state(new AddressListState().id(UUID.fromString(addressEntity.getState().getUuid()))
-                            .stateName(addressEntity.getState().getStatename()));
-            addressListResponse.addAddressesItem(addressesResponse);
-        }
+        AddressListResponse addressListResponse = addressMapper.toAddressListResponse(addressesList);
 
         return new ResponseEntity<AddressListResponse>(addressListResponse, HttpStatus.OK);
     }
@@ -113,7 +108,9 @@ public class AddressController {
     /**
      * This api endpoint is used retrieve all the states in the database
      *
-     * @return ResponseEntity<StatesListResponse> type object along with HttpStatus OK
+     * @param acceptEncoding content codings accepted by the client
+     *
+     * @return ResponseEntity<byte[]> the StatesListResponse JSON, gzip compressed if accepted, along with HttpStatus OK
      *
      * @throws AuthorizationFailedException If the access token provided by the customer does not exist in the database
      * @throws AuthorizationFailedException If the access token provided by the customer exists in the database, but the customer has already logged out
@@ -124,29 +121,20 @@ public class AddressController {
      */
 
     @RequestMapping(method = RequestMethod.GET, path = "/states", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<StatesListResponse> getAllStates()
+    public ResponseEntity<byte[]> getAllStates(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding)
     {
-        // Get all states
-        List<StateEntity> statesList = addressService.getAllStates();
-
-        // Response for Get All States
-        StatesListResponse statesListResponse = new StatesListResponse();
-
-        for (StateEntity stateEntity : statesList) {
-            StatesList listState = new StatesList()
-                    .id(UUID.fromString(stateEntity.getUuid()))
-                    .stateName(stateEntity.getStatename());
-            statesListResponse.addStatesItem(listState);
-        }
-
-        return new ResponseEntity<StatesListResponse>(statesListResponse, HttpStatus.OK);
+        // Get all states as the response for Get All States, the stored JSON and gzip of an equal response are sent, see CatalogDocumentStore
+        return catalogDocumentStore.getCatalogDocument("/states", () -> addressMapper.toStatesListResponse(addressService.getAllStates()),
+                (statesListResponse, outputStream) -> objectMapper.writeValue(outputStream, statesListResponse))
+                .toResponseEntity(acceptEncoding);
     }
 
     /**
      * This api endpoint is used to delete an address
      *
      * @param addressID Address uuid is used to fetch the correct address
-     * @param authorization customer login access token in 'Bearer <access-token>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<DeleteAddResponse> with HTTP status ok
      */
@@ -154,11 +142,10 @@ public class AddressController {
     @RequestMapping(method = RequestMethod.DELETE, path = "/address/{address_id}")
     public ResponseEntity<DeleteAddressResponse> deleteSavedAddress(
             @PathVariable("address_id") final String addressID,
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException, AddressNotFoundException
     {
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
 
         if (addressID.equals("")) {
             throw new AddressNotFoundException("ANF-005", "Address id can not be empty");
@@ -166,7 +153,7 @@ public class AddressController {
 
         AddressEntity addressEntity = addressService.getAddressByUUID(addressID, customerEntity);
         AddressEntity deletedAddressEntity = addressService.deleteAddress(addressEntity);
-        DeleteAddressResponse addDeleteResponse = new DeleteAddressResponse().id(UUID.fromString(deletedAddressEntity.getUuid())).status("ADDRESS DELETED SUCCESSFULLY");
+        DeleteAddressResponse addDeleteResponse = addressMapper.toDeleteAddressResponse(deletedAddressEntity, "ADDRESS DELETED SUCCESSFULLY");
         return new ResponseEntity<DeleteAddressResponse>(addDeleteResponse, HttpStatus.OK);
     }
 }
@@ -1,19 +1,19 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.document.CatalogDocumentStore;
+import com.upgrad.FoodOrderingApp.api.mapper.CategoryMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.business.CategoryService;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
-import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.UUID;
-
 @RestController
 @RequestMapping("/")
 public class CategoryController {
@@ -21,31 +21,35 @@ public class CategoryController {
 	@Autowired
 	private CategoryService categoryService;
 
+	@Autowired
+	private CategoryMapper categoryMapper;
+
+	@Autowired
+	private CatalogDocumentStore catalogDocumentStore;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * This api endpoint is used to retrieve all the categories present in the database, ordered by their name
 	 *
-	 * @return ResponseEntity<CategoriesListResponse> type object along with HttpStatus OK
+	 * The CategoriesListResponse is rendered once per catalog version and sent as stored, see CatalogDocumentStore
+	 *
+	 * @param acceptEncoding content codings accepted by the client
+	 *
+	 * @return ResponseEntity<byte[]> the CategoriesListResponse JSON, gzip compressed if accepted, along with HttpStatus OK
 	 * retrieve all the categories present in the database, ordered by their name and display the response
 	 */
 
 	@CrossOrigin
 	@RequestMapping(method = RequestMethod.GET, path = "/category", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-	public ResponseEntity<CategoriesListResponse> getAllCategories() {
-
-		// get all categories ordered by name
-		List<CategoryEntity> categoryEntityList = categoryService.getAllCategoriesOrderedByName();
-
-		// create response
-		CategoriesListResponse categoriesListResponse = new CategoriesListResponse();
-
-		for (CategoryEntity categoryEntity : categoryEntityList) {
-			CategoryListResponse categoryListResponse = new CategoryListResponse()
-					.id(UUID.fromString(categoryEntity.getUuid()))
-					.categoryName(categoryEntity.getCategoryName());
-			categoriesListResponse.addCategoriesItem(categoryListResponse);
-		}
-
-		return new ResponseEntity<CategoriesListResponse>(categoriesListResponse, HttpStatus.OK);
+	public ResponseEntity<byte[]> getAllCategories(
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding)
+	{
+		// get all categories ordered by name, and create response unless the stored one was created from the same categories
+		return catalogDocumentStore.getCatalogDocument("/category", categoryService::getAllCategoriesOrderedByName,
+				(categoryEntityList, outputStream) -> objectMapper.writeValue(outputStream, categoryMapper.toCategoriesListResponse(categoryEntityList)))
+				.toResponseEntity(acceptEncoding);
 	}
 
 	/**
@@ -69,16 +73,7 @@ public class CategoryController {
 		CategoryEntity categoryEntity = categoryService.getCategoryById(categoryId);
 
 		// Create response
-		CategoryDetailsResponse categoryDetailsResponse = new CategoryDetailsResponse().id(UUID.fromString(categoryEntity.getUuid())).categoryName(categoryEntity.getCategoryName());
-
-		for (ItemEntity itemEntity : categoryEntity.getItems()) {
-			ItemList itemList = new ItemList()
-					.id(UUID.fromString(itemEntity.getUuid()))
-					.itemName(itemEntity.getItemName())
-					.price(itemEntity.getPrice())
-					.itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().getValue()));
-			categoryDetailsResponse.addItemListItem(itemList);
-		}
+		CategoryDetailsResponse categoryDetailsResponse = categoryMapper.toCategoryDetailsResponse(categoryEntity);
 
 		return new ResponseEntity<CategoryDetailsResponse>(categoryDetailsResponse, HttpStatus.OK);
 	}
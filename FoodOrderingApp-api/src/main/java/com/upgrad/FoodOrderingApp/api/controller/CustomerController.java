@@ -1,5 +1,7 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.upgrad.FoodOrderingApp.api.auth.AuthenticatedCustomer;
+import com.upgrad.FoodOrderingApp.api.mapper.CustomerMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.business.CustomerService;
 import com.upgrad.FoodOrderingApp.service.entity.CustomerAuthEntity;
@@ -27,6 +29,9 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private CustomerMapper customerMapper;
+
     /**
      * This api endpoint is used to signup/register a new customer in Food Ordering App
      *
@@ -58,7 +63,7 @@ public class CustomerController {
         }
 
         final CustomerEntity customerEntity = new CustomerEntity();
-        customerEntity.setUuid(UUID.randomUUID().toString());
+        customerEntity.setUuid(UUID.randomUUID());
         customerEntity.setFirstName(signupCustomerRequest.getFirstName());
         customerEntity.setLastName(signupCustomerRequest.getLastName());
         customerEntity.setEmail(signupCustomerRequest.getEmailAddress());
@@ -66,8 +71,7 @@ public class CustomerController {
         customerEntity.setPassoword(signupCustomerRequest.getPassword());
 
         final CustomerEntity createdCustomerEntity = customerService.saveCustomer(customerEntity);
-        SignupCustomerResponse customerResponse = new SignupCustomerResponse()
-                .id(createdCustomerEntity.getUuid()).status("CUSTOMER SUCCESSFULLY REGISTERED");
+        SignupCustomerResponse customerResponse = customerMapper.toSignupCustomerResponse(createdCustomerEntity, "CUSTOMER SUCCESSFULLY REGISTERED");
         return new ResponseEntity<SignupCustomerResponse>(customerResponse, HttpStatus.CREATED);
     }
 
@@ -107,15 +111,7 @@ public class CustomerController {
 
         CustomerAuthEntity createdCustomerAuthEntity = customerService.authenticate(contactNumber, customerPassword);
 
-        LoginResponse loginResponse = new LoginResponse()
-                .id(createdCustomerAuthEntity.getCustomer()
-                        .getUuid()).message("LOGGED IN SUCCESSFULLY");
-
-        loginResponse.setId(createdCustomerAuthEntity.getCustomer().getUuid());
-        loginResponse.setFirstName(createdCustomerAuthEntity.getCustomer().getFirstName());
-        loginResponse.setLastName(createdCustomerAuthEntity.getCustomer().getLastName());
-        loginResponse.setContactNumber(createdCustomerAuthEntity.getCustomer().getContactNumber());
-        loginResponse.setEmailAddress(createdCustomerAuthEntity.getCustomer().getEmail());
+        LoginResponse loginResponse = customerMapper.toLoginResponse(createdCustomerAuthEntity.getCustomer(), "LOGGED IN SUCCESSFULLY");
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("access-token", createdCustomerAuthEntity.getAccessToken());
@@ -129,7 +125,7 @@ public class CustomerController {
     /**
      * This api endpoint is used to logout an existing customer
      *
-     * @param authorization customer login access token in 'Bearer <access-token>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<LogoutResponse> type object along with HttpStatus OK
      *
@@ -142,13 +138,11 @@ public class CustomerController {
     @CrossOrigin
     @RequestMapping(method = RequestMethod.POST, path = "/customer/logout", produces = MediaType.APPLICATION_JSON_UTF8_VALUE, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<LogoutResponse> logout(
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException
     {
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerAuthEntity customerAuthEntity = customerService.logout(accessToken);
-        LogoutResponse logoutResponse = new LogoutResponse()
-                .id(customerAuthEntity.getCustomer().getUuid()).message("LOGGED OUT SUCCESSFULLY");
+        CustomerAuthEntity customerAuthEntity = customerService.logout(authenticatedCustomer.getAccessToken());
+        LogoutResponse logoutResponse = customerMapper.toLogoutResponse(customerAuthEntity.getCustomer(), "LOGGED OUT SUCCESSFULLY");
         return new ResponseEntity<LogoutResponse>(logoutResponse, HttpStatus.OK);
     }
 
@@ -157,7 +151,7 @@ public class CustomerController {
      * This api endpoint is used to update an existing customer
      *
      * @param updateCustomerRequest this argument contains all the attributes required to update a customer in the database
-     * @param authorization customer access token in 'Bearer <access-token>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<UpdateCustomerResponse> type object along with HttpStatus OK
      *
@@ -172,15 +166,14 @@ public class CustomerController {
     @RequestMapping(method = RequestMethod.PUT, path = "/customer", produces = MediaType.APPLICATION_JSON_UTF8_VALUE, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<UpdateCustomerResponse> update(
             @RequestBody(required = false) final UpdateCustomerRequest updateCustomerRequest,
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException, UpdateCustomerException
     {
         if (updateCustomerRequest.getFirstName().equals("")) {
             throw new UpdateCustomerException("UCR-002", "First name field should not be empty");
         }
 
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
 
         customerEntity.setFirstName(updateCustomerRequest.getFirstName());
         if (!updateCustomerRequest.getLastName().equals("")) {
@@ -188,10 +181,7 @@ public class CustomerController {
         }
 
         CustomerEntity updatedCustomerEntity = customerService.updateCustomer(customerEntity);
-        UpdateCustomerResponse customerResponse = new UpdateCustomerResponse()
-                .id(updatedCustomerEntity.getUuid()).status("CUSTOMER DETAILS UPDATED SUCCESSFULLY");
-        customerResponse.setFirstName(updatedCustomerEntity.getFirstName());
-        customerResponse.setLastName(updatedCustomerEntity.getLastName());
+        UpdateCustomerResponse customerResponse = customerMapper.toUpdateCustomerResponse(updatedCustomerEntity, "CUSTOMER DETAILS UPDATED SUCCESSFULLY");
         return new ResponseEntity<UpdateCustomerResponse>(customerResponse, HttpStatus.OK);
     }
 
@@ -200,7 +190,7 @@ public class CustomerController {
      * This api endpoint is used to update password
      *
      * @param updatePasswordRequest this argument contains all the attributes required to update a customer's password in the database
-     * @param authorization customer access token in 'Bearer <access-token>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<UpdatePasswordResponse> type object along with HttpStatus OK
      *
@@ -216,15 +206,14 @@ public class CustomerController {
     @RequestMapping(method = RequestMethod.PUT, path = "/customer/password", produces = MediaType.APPLICATION_JSON_UTF8_VALUE, consumes = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<UpdatePasswordResponse> changePassword(
             @RequestBody(required = false) final UpdatePasswordRequest updatePasswordRequest,
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException, UpdateCustomerException
     {
         if (updatePasswordRequest.getOldPassword().equals("") || updatePasswordRequest.getNewPassword().equals("")) {
             throw new UpdateCustomerException("UCR-003", "No field should be empty");
         }
 
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
 
         CustomerEntity updatedCustomerEntity = customerService.updateCustomerPassword(
                 updatePasswordRequest.getOldPassword(),
@@ -232,9 +221,7 @@ public class CustomerController {
                 customerEntity
         );
 
-        UpdatePasswordResponse updatePasswordResponse = new UpdatePasswordResponse()
-                .id(updatedCustomerEntity.getUuid())
-                .status("CUSTOMER PASSWORD UPDATED SUCCESSFULLY");
+        UpdatePasswordResponse updatePasswordResponse = customerMapper.toUpdatePasswordResponse(updatedCustomerEntity, "CUSTOMER PASSWORD UPDATED SUCCESSFULLY");
         return new ResponseEntity<UpdatePasswordResponse>(updatePasswordResponse, HttpStatus.OK);
     }
 }
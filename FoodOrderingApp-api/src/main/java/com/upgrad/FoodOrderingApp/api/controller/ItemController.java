@@ -1,6 +1,6 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
-import com.upgrad.FoodOrderingApp.api.model.ItemList;
+import com.upgrad.FoodOrderingApp.api.mapper.ItemMapper;
 import com.upgrad.FoodOrderingApp.api.model.ItemListResponse;
 import com.upgrad.FoodOrderingApp.service.business.ItemService;
 import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
@@ -13,7 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/")
@@ -25,6 +24,9 @@ public class ItemController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private ItemMapper itemMapper;
+
     /**
      * This api endpoint is used to get top 5 items by popularity
      *
@@ -43,22 +45,7 @@ public class ItemController {
     {
         List<ItemEntity> itemEntityList = itemService.getItemsByPopularity(restaurantService.restaurantByUUID(restaurantId));
 
-        ItemListResponse itemListResponse = new ItemListResponse();
-
-        int count = 0;
-        for (ItemEntity itemEntity : itemEntityList) {
-            if (count < 5) {
-                ItemList itemList = new ItemList()
-                        .id(UUID.fromString(itemEntity.getUuid()))
-                        .itemName(itemEntity.getItemName())
-                        .price(itemEntity.getPrice())
-                        .itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().getValue()));
-                itemListResponse.add(itemList);
-                count += 1;
-            } else {
-                break;
-            }
-        }
+        ItemListResponse itemListResponse = itemMapper.toItemListResponse(itemEntityList.subList(0, Math.min(5, itemEntityList.size())));
 
         return new ResponseEntity<ItemListResponse>(itemListResponse, HttpStatus.OK);
     }
@@ -1,5 +1,10 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.upgrad.FoodOrderingApp.api.auth.AuthenticatedCustomer;
+import com.upgrad.FoodOrderingApp.api.document.JsonListWriter;
+import com.upgrad.FoodOrderingApp.api.mapper.OrderMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.business.*;
 import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
@@ -12,21 +17,29 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
-import java.util.Date;
-import java.util.List;
-import java.util.UUID;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
 
 @RestController
 @RequestMapping("/")
 public class OrderController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    // JSON name of the list of CustomerOrderResponse
+    private static final String ORDERS_FIELD = "orders";
+
     @Autowired
-    private OrderService orderService;
+    private ObjectMapper objectMapper;
 
     @Autowired
-    private CustomerService customerService;
+    private OrderService orderService;
 
     @Autowired
     private AddressService addressService;
@@ -40,11 +53,17 @@ public class OrderController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private JsonListWriter jsonListWriter;
+
     /**
      * This api endpoint is used to find coupon details by coupon name
      *
      * @param couponName Name of the coupon to get the details for
-     * @param authorization Customer access token in 'Bearer <access-token>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<CouponDetailsResponse> type object along with HttpStatus OK
      *
@@ -59,116 +78,127 @@ public class OrderController {
     @RequestMapping(method = RequestMethod.GET, path = "/order/coupon/{coupon_name}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<CouponDetailsResponse> getCouponByCouponName(
             @PathVariable("coupon_name") final String couponName,
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException, CouponNotFoundException
     {
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
 
         CouponEntity couponEntity = orderService.getCouponByCouponName(couponName);
 
-        CouponDetailsResponse couponDetailsResponse = new CouponDetailsResponse()
-                .id(UUID.fromString(couponEntity.getUuid()))
-                .couponName(couponEntity.getCouponName())
-                .percent(couponEntity.getPercent());
+        CouponDetailsResponse couponDetailsResponse = orderMapper.toCouponDetailsResponse(couponEntity);
         return new ResponseEntity<CouponDetailsResponse>(couponDetailsResponse, HttpStatus.OK);
     }
 
     /**
      * This api endpoint is used to find orders by customer
      *
-     * @param authorization Customer access token in 'Bearer <access-token>' format
+     *Without limit and cursor the whole order history is returned, written an order at a time while the orders are
+     * read from a database cursor, see JsonListWriter. With a limit, orders are returned a page at a time, latest
+     * first, and the cursor for the next page is returned in the 'X-Next-Cursor' header, absent on the last page.
      *
-     * @return ResponseEntity<CustomerOrderResponse> type object along with HttpStatus OK
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
+     * @param limit Maximum number of orders in the page
+     * @param cursor Value of the 'X-Next-Cursor' header of the previous page
+     * @param response response the CustomerOrderResponse is written to, with HttpStatus OK
      *
      * @throws AuthorizationFailedException If the access token provided by the customer does not exist in the database
      * @throws AuthorizationFailedException If the access token provided by the customer exists in the database, but the customer has already logged out
      * @throws AuthorizationFailedException If the access token provided by the customer exists in the database, but the session has expired
-
+     * @throws InvalidPageRequestException If the limit is out of range or the cursor is not valid
      */
 
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = NEXT_CURSOR_HEADER)
     @RequestMapping(method = RequestMethod.GET, path = "/order", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<CustomerOrderResponse> getCustomerOrders(
-            @RequestHeader("authorization") final String authorization)
-            throws AuthorizationFailedException
+    public void getCustomerOrders(
+            final AuthenticatedCustomer authenticatedCustomer,
+            @RequestParam(value = "limit", required = false) final Integer limit,
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            final HttpServletResponse response)
+            throws AuthorizationFailedException, InvalidPageRequestException, IOException
     {
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
-
-        // Get all orders by customer
-        List<OrderEntity> orderEntityList = orderService.getOrdersByCustomers(customerEntity.getUuid());
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
+
+        if (limit == null && cursor == null) {
+            // Write all orders by customer, a batch of orders and their items at a time
+            JsonListWriter.JsonList<OrderList> orders = jsonListWriter.open(response, ORDERS_FIELD, OrderList.class);
+            try {
+                orderService.streamOrdersByCustomers(customerEntity.getUuid(), (orderEntityList, orderItemEntitiesByOrderId) -> {
+                    try {
+                        writeOrders(orders, orderEntityList, orderItemEntitiesByOrderId);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            orders.end();
+            return;
+        }
 
-        // Create response
-        CustomerOrderResponse customerOrderResponse = new CustomerOrderResponse();
+        // Get one page of orders by customer, and the items of all of them at once
+        OrderPage orderPage = orderService.getOrdersByCustomers(customerEntity.getUuid(), cursor, limit == null ? OrderService.MAX_PAGE_SIZE : limit);
+        if (orderPage.getNextCursor() != null) {
+            response.setHeader(NEXT_CURSOR_HEADER, orderPage.getNextCursor());
+        }
+        JsonListWriter.JsonList<OrderList> orders = jsonListWriter.open(response, ORDERS_FIELD, OrderList.class);
+        writeOrders(orders, orderPage.getOrders(), itemService.getItemsByOrders(orderPage.getOrders()));
+        orders.end();
+    }
 
-        for (OrderEntity orderEntity : orderEntityList) {
+    /**
+     * This api endpoint streams all orders by customer as newline delimited JSON, one order per line, latest first
+     *
+     *Orders are written while they are read from a database cursor, so memory use does not grow with the order history
+     *
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
+     *
+     * @return ResponseEntity<StreamingResponseBody> type object along with HttpStatus OK
+     *
+     * @throws AuthorizationFailedException If the access token provided by the customer does not exist in the database
+     * @throws AuthorizationFailedException If the access token provided by the customer exists in the database, but the customer has already logged out
+     * @throws AuthorizationFailedException If the access token provided by the customer exists in the database, but the session has expired
+     */
 
-            OrderListCoupon orderListCoupon = new OrderListCoupon()
-                    .id(UUID.fromString(orderEntity.getCoupon().getUuid()))
-                    .couponName(orderEntity.getCoupon().getCouponName())
-                    .percent(orderEntity.getCoupon().getPercent());
-
-            OrderListPayment orderListPayment = new OrderListPayment()
-                    .id(UUID.fromString(orderEntity.getPayment().getUuid()))
-                    .paymentName(orderEntity.getPayment().getPaymentName());
-
-            OrderListCustomer orderListCustomer = new OrderListCustomer()
-                    .id(UUID.fromString(orderEntity.getCustomer().getUuid()))
-                    .firstName(orderEntity.getCustomer().getFirstName())
-                    .lastName(orderEntity.getCustomer().getLastName())
-                    .emailAddress(orderEntity.getCustomer().getEmail())
-                    .contactNumber(orderEntity.getCustomer().getContactNumber());
-
-            OrderListAddressState orderListAddressState = new OrderListAddressState()
-                    .id(UUID.fromString(orderEntity.getAddress().getState().getUuid()))
-                    .stateName(orderEntity.getAddress().getState().getStatename());
-
-            OrderListAddress orderListAddress = new OrderListAddress()
-                    .id(UUID.fromString(orderEntity.getAddress().getUuid()))
-                    .flatBuildingName(orderEntity.getAddress().getFlatBuilNo())
-                    .locality(orderEntity.getAddress().getLocality())
-                    .city(orderEntity.getAddress().getCity())
-                    .pincode(orderEntity.getAddress().getPincode())
-                    .state(orderListAddressState);
-
-            OrderList orderList = new OrderList()
-                    .id(UUID.fromString(orderEntity.getUuid()))
-                    .bill(new BigDecimal(orderEntity.getBill()))
-                    .coupon(orderListCoupon)
-                    .discount(new BigDecimal(orderEntity.getDiscount()))
-                    .date(orderEntity.getDate().toString())
-                    .payment(orderListPayment)
-                    .customer(orderListCustomer)
-                    .address(orderListAddress);
-
-            for (OrderItemEntity orderItemEntity : itemService.getItemsByOrder(orderEntity)) {
-
-                ItemQuantityResponseItem itemQuantityResponseItem = new ItemQuantityResponseItem()
-                        .id(UUID.fromString(orderItemEntity.getItem().getUuid()))
-                        .itemName(orderItemEntity.getItem().getItemName())
-                        .itemPrice(orderItemEntity.getItem().getPrice())
-                        .type(ItemQuantityResponseItem.TypeEnum.fromValue(orderItemEntity.getItem().getType().getValue()));
-
-                ItemQuantityResponse itemQuantityResponse = new ItemQuantityResponse()
-                        .item(itemQuantityResponseItem)
-                        .quantity(orderItemEntity.getQuantity())
-                        .price(orderItemEntity.getPrice());
-
-                orderList.addItemQuantitiesItem(itemQuantityResponse);
-            }
+    @CrossOrigin
+    @RequestMapping(method = RequestMethod.GET, path = "/order", params = "format=ndjson", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomerOrders(
+            final AuthenticatedCustomer authenticatedCustomer)
+            throws AuthorizationFailedException
+    {
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
+        UUID customerUuid = customerEntity.getUuid();
+
+        ObjectWriter orderListWriter = objectMapper.writerFor(OrderList.class);
+        StreamingResponseBody streamingResponseBody = outputStream ->
+                orderService.streamOrdersByCustomers(customerUuid, (orderEntityList, orderItemEntitiesByOrderId) -> {
+                    try {
+                        for (OrderEntity orderEntity : orderEntityList) {
+                            outputStream.write(orderListWriter.writeValueAsBytes(
+                                    orderMapper.toOrderList(orderEntity, orderItemEntitiesByOrderId.getOrDefault(orderEntity.getId(), Collections.emptyList()))));
+                            outputStream.write('\n');
+                        }
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(streamingResponseBody);
+    }
 
-            customerOrderResponse.addOrdersItem(orderList);
+    private void writeOrders(final JsonListWriter.JsonList<OrderList> orders, final List<OrderEntity> orderEntityList,
+                             final Map<Integer, List<OrderItemEntity>> orderItemEntitiesByOrderId) throws IOException {
+        for (OrderEntity orderEntity : orderEntityList) {
+            orders.write(orderMapper.toOrderList(orderEntity, orderItemEntitiesByOrderId.getOrDefault(orderEntity.getId(), Collections.emptyList())));
         }
-
-        return new ResponseEntity<CustomerOrderResponse>(customerOrderResponse, HttpStatus.OK);
     }
 
     /**
      * This api endpoint is used to create new order
      *
      * @param saveOrderRequest this argument contains all the attributes required to create a new order in the database
-     * @param authorization Customer access token in 'Bearer <access-token>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<SaveOrderResponse> type object along with HttpStatus CREATED
      *
@@ -188,16 +218,15 @@ public class OrderController {
     @RequestMapping(method = RequestMethod.POST, path = "/order", consumes = MediaType.APPLICATION_JSON_UTF8_VALUE, produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     public ResponseEntity<SaveOrderResponse> saveOrder(
             @RequestBody(required = false) final SaveOrderRequest saveOrderRequest,
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException, CouponNotFoundException,
             AddressNotFoundException, PaymentMethodNotFoundException,
             RestaurantNotFoundException, ItemNotFoundException
     {
-        String accessToken = authorization.split("Bearer ")[1];
-        CustomerEntity customerEntity = customerService.getCustomer(accessToken);
+        CustomerEntity customerEntity = authenticatedCustomer.getCustomer();
 
         final OrderEntity orderEntity = new OrderEntity();
-        orderEntity.setUuid(UUID.randomUUID().toString());
+        orderEntity.setUuid(UUID.randomUUID());
         orderEntity.setCoupon(orderService.getCouponByCouponId(saveOrderRequest.getCouponId().toString()));
         orderEntity.setPayment(paymentService.getPaymentByUUID(saveOrderRequest.getPaymentId().toString()));
         orderEntity.setCustomer(customerEntity);
@@ -206,19 +235,14 @@ public class OrderController {
         orderEntity.setDiscount(saveOrderRequest.getDiscount().doubleValue());
         orderEntity.setRestaurant(restaurantService.restaurantByUUID(saveOrderRequest.getRestaurantId().toString()));
         orderEntity.setDate(new Date());
-        OrderEntity savedOrderEntity = orderService.saveOrder(orderEntity);
 
+        List<OrderItemQuantity> orderItemQuantities = new ArrayList<OrderItemQuantity>();
         for (ItemQuantity itemQuantity : saveOrderRequest.getItemQuantities()) {
-            OrderItemEntity orderItemEntity = new OrderItemEntity();
-            orderItemEntity.setOrder(savedOrderEntity);
-            orderItemEntity.setItem(itemService.getItemByUUID(itemQuantity.getItemId().toString()));
-            orderItemEntity.setQuantity(itemQuantity.getQuantity());
-            orderItemEntity.setPrice(itemQuantity.getPrice());
-            orderService.saveOrderItem(orderItemEntity);
+            orderItemQuantities.add(new OrderItemQuantity(itemQuantity.getItemId(), itemQuantity.getQuantity(), itemQuantity.getPrice()));
         }
+        OrderEntity savedOrderEntity = orderService.placeOrder(orderEntity, orderItemQuantities);
 
-        SaveOrderResponse saveOrderResponse = new SaveOrderResponse()
-                .id(savedOrderEntity.getUuid()).status("ORDER SUCCESSFULLY PLACED");
+        SaveOrderResponse saveOrderResponse = orderMapper.toSaveOrderResponse(savedOrderEntity, "ORDER SUCCESSFULLY PLACED");
         return new ResponseEntity<SaveOrderResponse>(saveOrderResponse, HttpStatus.CREATED);
     }
 }
\ No newline at end of file
@@ -1,22 +1,22 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.document.CatalogDocumentStore;
+import com.upgrad.FoodOrderingApp.api.mapper.PaymentMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 
-import java.util.List;
-import java.util.UUID;
-
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 
 import com.upgrad.FoodOrderingApp.service.business.PaymentService;
-import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
 
 @RestController
 @RequestMapping("/")
@@ -24,31 +24,32 @@ public class PaymentController {
 	@Autowired
 	private PaymentService patymentService;
 
+	@Autowired
+	private PaymentMapper paymentMapper;
+
+	@Autowired
+	private CatalogDocumentStore catalogDocumentStore;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * This api endpoint is used to retrieve all the payment method present in the database, ordered by their name
 	 *
-	 * @return ResponseEntity<PaymentListResponse> type object along with HttpStatus OK
+	 * @param acceptEncoding content codings accepted by the client
+	 *
+	 * @return ResponseEntity<byte[]> the PaymentListResponse JSON, gzip compressed if accepted, along with HttpStatus OK
 	 */
 
 	@CrossOrigin
 	@RequestMapping(method = RequestMethod.GET , path = "/payment" , produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-		public ResponseEntity<PaymentListResponse> getAllPaymentMethods() {
+		public ResponseEntity<byte[]> getAllPaymentMethods(
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
 
-		// get all payment method.
-		List<PaymentEntity> paymentEntityList = patymentService.getAllPaymentMethods();
-
-		// create response
-		PaymentListResponse paymentListResponse= new PaymentListResponse();
-		
-		for(PaymentEntity paymentEntity : paymentEntityList) {
-			
-			PaymentResponse paymentResponse = new PaymentResponse()
-					.id(UUID.fromString(paymentEntity.getUuid()))
-					.paymentName(paymentEntity.getPaymentName());
-			paymentListResponse.addPaymentMethodsItem(paymentResponse);
-		}
-
-		return new ResponseEntity<PaymentListResponse>(paymentListResponse,HttpStatus.OK);
+		// get all payment method as the response, the stored JSON and gzip of an equal response are sent, see CatalogDocumentStore
+		return catalogDocumentStore.getCatalogDocument("/payment", () -> paymentMapper.toPaymentListResponse(patymentService.getAllPaymentMethods()),
+				(paymentListResponse, outputStream) -> objectMapper.writeValue(outputStream, paymentListResponse))
+				.toResponseEntity(acceptEncoding);
 		
 	}
 	
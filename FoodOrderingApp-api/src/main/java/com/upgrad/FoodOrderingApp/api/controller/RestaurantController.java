@@ -1,28 +1,35 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
+import com.upgrad.FoodOrderingApp.api.auth.AuthenticatedCustomer;
+import com.upgrad.FoodOrderingApp.api.document.AcceptEncoding;
+import com.upgrad.FoodOrderingApp.api.document.CatalogDocumentStore;
+import com.upgrad.FoodOrderingApp.api.document.JsonListWriter;
+import com.upgrad.FoodOrderingApp.api.document.MenuDocument;
+import com.upgrad.FoodOrderingApp.api.document.MenuDocumentStore;
+import com.upgrad.FoodOrderingApp.api.mapper.RestaurantMapper;
 import com.upgrad.FoodOrderingApp.api.model.*;
 import com.upgrad.FoodOrderingApp.service.business.CategoryService;
-import com.upgrad.FoodOrderingApp.service.business.CustomerService;
-import com.upgrad.FoodOrderingApp.service.business.ItemService;
 import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
 import com.upgrad.FoodOrderingApp.service.entity.*;
 import com.upgrad.FoodOrderingApp.service.exception.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
-
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/")
 public class RestaurantController {
 
+    // JSON name of the list of RestaurantListResponse
+    private static final String RESTAURANTS_FIELD = "restaurants";
+
     @Autowired
     private RestaurantService restaurantService;
 
@@ -30,56 +37,39 @@ public class RestaurantController {
     private CategoryService categoryService;
 
     @Autowired
-    private ItemService itemService;
+    private MenuDocumentStore menuDocumentStore;
+
+    @Autowired
+    private CatalogDocumentStore catalogDocumentStore;
+
+    @Autowired
+    private RestaurantMapper restaurantMapper;
 
     @Autowired
-    private CustomerService customerService;
+    private JsonListWriter jsonListWriter;
 
     /**
      * This api endpoint is used to retrieve list of all restaurants
      *
-     * @return ResponseEntity<AllRestaurantResponse> type object along with HttpStatus OK
+     * The RestaurantListResponse is rendered once per catalog version and sent as stored, see CatalogDocumentStore
+     *
+     * @param acceptEncoding content codings accepted by the client
+     *
+     * @return ResponseEntity<byte[]> the RestaurantListResponse JSON, gzip compressed if accepted, with HttpStatus OK
      */
 
     @CrossOrigin
     @RequestMapping(method = RequestMethod.GET, path = "/restaurant", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse> getAllRestaurants() {
-
-        List<RestaurantEntity> restaurantEntityList = restaurantService.restaurantsByRating();
-
-        RestaurantListResponse restaurantListResponse = new RestaurantListResponse();
-
-        for (RestaurantEntity restaurantEntity : restaurantEntityList) {
-            RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getState().getUuid()))
-                    .stateName(restaurantEntity.getAddress().getState().getStatename());
-
-            RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
-                    .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNo())
-                    .locality(restaurantEntity.getAddress().getLocality())
-                    .city(restaurantEntity.getAddress().getCity())
-                    .pincode(restaurantEntity.getAddress().getPincode())
-                    .state(restaurantDetailsResponseAddressState);
-
-            String categoriesString = categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid())
-                    .stream()
-                    .map(o -> String.valueOf(o.getCategoryName()))
-                    .collect(Collectors.joining(", "));
-
-            RestaurantList restaurantList = new RestaurantList()
-                    .id(UUID.fromString(restaurantEntity.getUuid()))
-                    .restaurantName(restaurantEntity.getRestaurantName())
-                    .photoURL(restaurantEntity.getPhotoUrl())
-                    .customerRating(new BigDecimal(restaurantEntity.getCustomerRating()))
-                    .averagePrice(restaurantEntity.getAvgPrice())
-                    .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                    .address(restaurantDetailsResponseAddress)
-                    .categories(categoriesString);
-            restaurantListResponse.addRestaurantsItem(restaurantList);
-        }
-
-        return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllRestaurants(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding)
+    {
+        return catalogDocumentStore.getCatalogDocument("/restaurant", restaurantService::restaurantListViewsByRating, (restaurantListViews, outputStream) -> {
+            JsonListWriter.JsonList<RestaurantList> restaurants = jsonListWriter.open(outputStream, RESTAURANTS_FIELD, RestaurantList.class);
+            for (RestaurantListView restaurantListView : restaurantListViews) {
+                restaurants.write(restaurantMapper.toRestaurantList(restaurantListView));
+            }
+            restaurants.end();
+        }).toResponseEntity(acceptEncoding);
     }
 
     /**
@@ -104,41 +94,7 @@ public class RestaurantController {
     {
         List<RestaurantEntity> restaurantEntityList = restaurantService.restaurantsByName(restaurantName);
 
-        RestaurantListResponse restaurantListResponse = new RestaurantListResponse();
-
-        if (restaurantEntityList.isEmpty()) {
-            return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
-        }
-
-        for (RestaurantEntity restaurantEntity : restaurantEntityList) {
-            RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getState().getUuid()))
-                    .stateName(restaurantEntity.getAddress().getState().getStatename());
-
-            RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
-                    .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNo())
-                    .locality(restaurantEntity.getAddress().getLocality())
-                    .city(restaurantEntity.getAddress().getCity())
-                    .pincode(restaurantEntity.getAddress().getPincode())
-                    .state(restaurantDetailsResponseAddressState);
-
-            String categoriesString = categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid())
-                    .stream()
-                    .map(o -> String.valueOf(o.getCategoryName()))
-                    .collect(Collectors.joining(", "));
-
-            RestaurantList restaurantList = new RestaurantList()
-                    .id(UUID.fromString(restaurantEntity.getUuid()))
-                    .restaurantName(restaurantEntity.getRestaurantName())
-                    .photoURL(restaurantEntity.getPhotoUrl())
-                    .customerRating(new BigDecimal(restaurantEntity.getCustomerRating()))
-                    .averagePrice(restaurantEntity.getAvgPrice())
-                    .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                    .address(restaurantDetailsResponseAddress)
-                    .categories(categoriesString);
-            restaurantListResponse.addRestaurantsItem(restaurantList);
-        }
+        RestaurantListResponse restaurantListResponse = toRestaurantListResponse(restaurantEntityList);
 
         return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
     }
@@ -146,9 +102,10 @@ public class RestaurantController {
     /**
      * This api endpoint is used to retrieve list of all restaurants by category ID
      *
-     * @param categoryId UUID of category
+     * The RestaurantListResponse is written a restaurant at a time, see JsonListWriter
      *
-     * @return ResponseEntity<RestaurantListResponse> type object along with HttpStatus OK
+     * @param categoryId UUID of category
+     * @param response response the RestaurantListResponse is written to, with HttpStatus OK
      *
      *If there are no restaurants by the name entered by the customer returns null
      *
@@ -158,106 +115,57 @@ public class RestaurantController {
 
     @CrossOrigin
     @RequestMapping(method = RequestMethod.GET, path = "/restaurant/category/{category_id}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantListResponse> getRestaurantsByCategoryId(
-            @PathVariable("category_id") final String categoryId)
-            throws CategoryNotFoundException
+    public void getRestaurantsByCategoryId(
+            @PathVariable("category_id") final String categoryId,
+            final HttpServletResponse response)
+            throws CategoryNotFoundException, IOException
     {
         List<RestaurantEntity> restaurantEntityList = restaurantService.restaurantByCategory(categoryId);
 
-        RestaurantListResponse restaurantListResponse = new RestaurantListResponse();
-
+        JsonListWriter.JsonList<RestaurantList> restaurants = jsonListWriter.open(response, RESTAURANTS_FIELD, RestaurantList.class);
         for (RestaurantEntity restaurantEntity : restaurantEntityList) {
-            RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getState().getUuid()))
-                    .stateName(restaurantEntity.getAddress().getState().getStatename());
-
-            RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                    .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
-                    .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNo())
-                    .locality(restaurantEntity.getAddress().getLocality())
-                    .city(restaurantEntity.getAddress().getCity())
-                    .pincode(restaurantEntity.getAddress().getPincode())
-                    .state(restaurantDetailsResponseAddressState);
-
-            String categoriesString = categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid())
-                    .stream()
-                    .map(o -> String.valueOf(o.getCategoryName()))
-                    .collect(Collectors.joining(", "));
-
-            RestaurantList restaurantList = new RestaurantList()
-                    .id(UUID.fromString(restaurantEntity.getUuid()))
-                    .restaurantName(restaurantEntity.getRestaurantName())
-                    .photoURL(restaurantEntity.getPhotoUrl())
-                    .customerRating(new BigDecimal(restaurantEntity.getCustomerRating()))
-                    .averagePrice(restaurantEntity.getAvgPrice())
-                    .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                    .address(restaurantDetailsResponseAddress)
-                    .categories(categoriesString);
-            restaurantListResponse.addRestaurantsItem(restaurantList);
+            restaurants.write(toRestaurantList(restaurantEntity));
         }
-
-        return new ResponseEntity<RestaurantListResponse>(restaurantListResponse, HttpStatus.OK);
+        restaurants.end();
     }
 
     /**
      * This api endpoint is used to retrieve restaurant details by restaurant ID
      *
+     * The stored menu document is written out as is, gzip compressed if the client accepts it, and answered with 304
+     * if its ETag matches If-None-Match
+     *
      * @param restaurantId UUID of restaurant
+     * @param acceptEncoding content codings accepted by the client
      *
-     * @return ResponseEntity<RestaurantDetailsResponse> type object along with HttpStatus OK
+     * @return ResponseEntity<byte[]> the RestaurantDetailsResponse JSON along with HttpStatus OK
      *
      * @throws RestaurantNotFoundException If the restaurant id field entered by the customer is empty
      * @throws RestaurantNotFoundException If there is no restaurant by the uuid entered by the customer
      */
 
-    @CrossOrigin
+    @CrossOrigin(exposedHeaders = HttpHeaders.ETAG)
     @RequestMapping(method = RequestMethod.GET, path = "/restaurant/{restaurant_id}", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<RestaurantDetailsResponse> getRestaurantById(
-            @PathVariable("restaurant_id") final String restaurantId)
+    public ResponseEntity<byte[]> getRestaurantById(
+            @PathVariable("restaurant_id") final String restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding)
             throws RestaurantNotFoundException
     {
-        RestaurantEntity restaurantEntity = restaurantService.restaurantByUUID(restaurantId);
-
-        RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
-                .id(UUID.fromString(restaurantEntity.getAddress().getState().getUuid()))
-                .stateName(restaurantEntity.getAddress().getState().getStatename());
-
-        RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
-                .id(UUID.fromString(restaurantEntity.getAddress().getUuid()))
-                .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNo())
-                .locality(restaurantEntity.getAddress().getLocality())
-                .city(restaurantEntity.getAddress().getCity())
-                .pincode(restaurantEntity.getAddress().getPincode())
-                .state(restaurantDetailsResponseAddressState);
-
-        RestaurantDetailsResponse restaurantDetailsResponse = new RestaurantDetailsResponse()
-                .id(UUID.fromString(restaurantEntity.getUuid()))
-                .restaurantName(restaurantEntity.getRestaurantName())
-                .photoURL(restaurantEntity.getPhotoUrl())
-                .customerRating(new BigDecimal(restaurantEntity.getCustomerRating()))
-                .averagePrice(restaurantEntity.getAvgPrice())
-                .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
-                .address(restaurantDetailsResponseAddress);
-
-        for (CategoryEntity categoryEntity : categoryService.getCategoriesByRestaurant(restaurantId)) {
-            CategoryList categoryList = new CategoryList()
-                    .id(UUID.fromString(categoryEntity.getUuid()))
-                    .categoryName(categoryEntity.getCategoryName());
-
-            for (ItemEntity itemEntity : itemService.getItemsByCategoryAndRestaurant(restaurantId, categoryEntity.getUuid())) {
-                ItemList itemList = new ItemList()
-                        .id(UUID.fromString(itemEntity.getUuid()))
-                        .itemName(itemEntity.getItemName())
-                        .price(itemEntity.getPrice())
-                        .itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().getValue()));
-
-                categoryList.addItemListItem(itemList);
-            }
-
-            restaurantDetailsResponse.addCategoriesItem(categoryList);
+        MenuDocument menuDocument = menuDocumentStore.getMenuDocument(restaurantId);
+
+        // a matching If-None-Match is answered with 304 by the framework, from the ETag set here
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return responseBuilder
+                    .eTag(menuDocument.getGzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(menuDocument.getGzip());
         }
-
-        return new ResponseEntity<RestaurantDetailsResponse>(restaurantDetailsResponse, HttpStatus.OK);
+        return responseBuilder
+                .eTag(menuDocument.getETag())
+                .body(menuDocument.getJson());
     }
 
     /**
@@ -265,7 +173,7 @@ public class RestaurantController {
      *
      * @param customerRating Customer rating
      * @param restaurantId UUID of restaurant entity
-     * @param authorization customer credentials in 'Basic Base64<contactNumber:password>' format
+     * @param authenticatedCustomer customer of the access token in the 'Bearer <access-token>' authorization header
      *
      * @return ResponseEntity<RestaurantUpdatedResponse> type object along with HttpStatus OK
      *
@@ -283,20 +191,31 @@ public class RestaurantController {
     public ResponseEntity<RestaurantUpdatedResponse> updateRestaurantDetails(
             @RequestParam(name = "customer_rating") final Double customerRating,
             @PathVariable("restaurant_id") final String restaurantId,
-            @RequestHeader("authorization") final String authorization)
+            final AuthenticatedCustomer authenticatedCustomer)
             throws AuthorizationFailedException, RestaurantNotFoundException, InvalidRatingException
     {
 
-        String accessToken = authorization.split("Bearer ")[1];
-        customerService.getCustomer(accessToken);
+        authenticatedCustomer.getCustomer();
 
         RestaurantEntity restaurantEntity = restaurantService.restaurantByUUID(restaurantId);
 
-        RestaurantEntity updatedRestaurantEntity = restaurantService.updateRestaurantRating(restaurantEntity, customerRating);
+        restaurantService.updateRestaurantRating(restaurantEntity, customerRating);
 
-        RestaurantUpdatedResponse restaurantUpdatedResponse = new RestaurantUpdatedResponse()
-                .id(UUID.fromString(restaurantId))
-                .status("RESTAURANT RATING UPDATED SUCCESSFULLY");
+        RestaurantUpdatedResponse restaurantUpdatedResponse = restaurantMapper.toRestaurantUpdatedResponse(restaurantEntity,
+                "RESTAURANT RATING UPDATED SUCCESSFULLY");
         return new ResponseEntity<RestaurantUpdatedResponse>(restaurantUpdatedResponse, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    private RestaurantListResponse toRestaurantListResponse(final List<RestaurantEntity> restaurantEntityList) {
+        RestaurantListResponse restaurantListResponse = new RestaurantListResponse();
+        for (RestaurantEntity restaurantEntity : restaurantEntityList) {
+            restaurantListResponse.addRestaurantsItem(toRestaurantList(restaurantEntity));
+        }
+        return restaurantListResponse;
+    }
+
+    // the categories of every restaurant are taken from the catalog snapshot, sorted by name
+    private RestaurantList toRestaurantList(final RestaurantEntity restaurantEntity) {
+        return restaurantMapper.toRestaurantList(restaurantEntity, categoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.upgrad.FoodOrderingApp.api.document;
+
+/**
+ * AcceptEncoding reads the Accept-Encoding header of a request, to choose between the plain and the gzip compressed
+ * bytes of a stored document.
+ *
+ * gzip is the only coding the documents are stored in: the JDK has no Brotli encoder, and every client sending 'br'
+ * sends 'gzip' as well.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * @param acceptEncoding value of the Accept-Encoding header, may be null
+     *
+     * @return true if the client accepts gzip, listed without q=0
+     */
+    public static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.upgrad.FoodOrderingApp.api.document;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * CatalogDocument is the rendered response of one of the catalog list endpoints: its JSON bytes and the same bytes
+ * gzip compressed, along with what it was rendered from.
+ *
+ * The byte arrays are shared between requests and must not be modified.
+ */
+public class CatalogDocument {
+
+    private final long sourceRead;
+
+    private final Object source;
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    CatalogDocument(final long sourceRead, final Object source, final byte[] json, final byte[] gzip) {
+        this.sourceRead = sourceRead;
+        this.source = source;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    long getSourceRead() {
+        return sourceRead;
+    }
+
+    Object getSource() {
+        return source;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * Returns the document as the response to a request, gzip compressed if the client accepts it. The ETag of the
+     * catalog version is left to CatalogVersionInterceptor.
+     *
+     * @param acceptEncoding content codings accepted by the client
+     *
+     * @return ResponseEntity<byte[]> the JSON along with HttpStatus OK
+     */
+    public ResponseEntity<byte[]> toResponseEntity(final String acceptEncoding) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return responseBuilder
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(gzip);
+        }
+        return responseBuilder.body(json);
+    }
+}
@@ -0,0 +1,78 @@
+package com.upgrad.FoodOrderingApp.api.document;
+
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * CatalogDocumentStore keeps the rendered responses of the catalog list endpoints, GET /restaurant, /category,
+ * /payment and /states, as JSON and gzip compressed bytes, so that they are serialized and compressed once rather
+ * than on every request.
+ *
+ * A document is kept together with the source it was rendered from, and rendered again once a request reads a
+ * source that is not equal to it. Every read of a source is numbered before it starts, and a document only replaces
+ * the stored one if its source was read later, so a slow request which read an older source cannot overwrite the
+ * document of a newer one. The restaurant and category lists of the catalog snapshot are the same list objects
+ * until the next snapshot version, so they are rendered once per catalog version. The payment methods and states,
+ * read from the second-level cache, are compared as their response models, which takes far less than serializing
+ * and compressing them.
+ */
+@Component
+public class CatalogDocumentStore {
+
+    private final ConcurrentMap<String, CatalogDocument> catalogDocuments = new ConcurrentHashMap<>();
+
+    private final AtomicLong sourceReads = new AtomicLong();
+
+    /**
+     * Returns the stored document of an endpoint, rendering it if it was rendered from another source
+     *
+     * @param name name of the document, the path of its endpoint
+     * @param sourceReader reads what the document is rendered from, compared with equals
+     * @param renderer writes the JSON of the document
+     * @param <S> type of the source
+     *
+     * @return CatalogDocument object, the one of the latest source read if another request stored a newer one meanwhile
+     */
+    public <S> CatalogDocument getCatalogDocument(final String name, final Supplier<S> sourceReader, final DocumentRenderer<S> renderer) {
+        final long sourceRead = sourceReads.incrementAndGet();
+        final S source = sourceReader.get();
+
+        final CatalogDocument storedDocument = catalogDocuments.get(name);
+        if (storedDocument != null && storedDocument.getSource().equals(source)) {
+            return storedDocument;
+        }
+
+        final CatalogDocument renderedDocument = render(sourceRead, source, renderer);
+        return catalogDocuments.compute(name, (documentName, currentDocument) ->
+                currentDocument == null || currentDocument.getSourceRead() < sourceRead ? renderedDocument : currentDocument);
+    }
+
+    private static <S> CatalogDocument render(final long sourceRead, final S source, final DocumentRenderer<S> renderer) {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try {
+            renderer.render(source, byteArrayOutputStream);
+        } catch (IOException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
+        }
+        final byte[] json = byteArrayOutputStream.toByteArray();
+        return new CatalogDocument(sourceRead, source, json, GzipCompression.compress(json));
+    }
+
+    /**
+     * DocumentRenderer writes the JSON of a document from its source
+     */
+    @FunctionalInterface
+    public interface DocumentRenderer<S> {
+
+        void render(S source, OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,39 @@
+package com.upgrad.FoodOrderingApp.api.document;
+
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GzipCompression compresses the stored documents once, when they are rendered.
+ *
+ * As a document is compressed once and sent many times, the best compression is used, which takes several times the
+ * CPU of the default level for responses a few percent smaller.
+ */
+final class GzipCompression {
+
+    private GzipCompression() {
+    }
+
+    static byte[] compress(final byte[] json) {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzipOutputStream = new BestCompressionGZIPOutputStream(byteArrayOutputStream)) {
+            gzipOutputStream.write(json);
+        } catch (IOException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static final class BestCompressionGZIPOutputStream extends GZIPOutputStream {
+
+        private BestCompressionGZIPOutputStream(final ByteArrayOutputStream byteArrayOutputStream) throws IOException {
+            super(byteArrayOutputStream);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.upgrad.FoodOrderingApp.api.document;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * JsonListWriter writes the list responses of the api, an object with a single list field like {"restaurants":[...]},
+ * an element at a time, so that the response object holding every element is never built.
+ *
+ * The elements are serialized by the ObjectMapper of the application, the one the response objects were written with,
+ * and a list no element was written to is written as null, as the models leave a list no item was added to. The
+ * bytes are the same as those of the response object.
+ */
+@Component
+public class JsonListWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Starts a list response to the client. Nothing is written before the first element, or end without one, so an
+     * exception thrown before still gets its error response.
+     *
+     * @param response response to write to
+     * @param fieldName JSON name of the list field of the response object
+     * @param elementType model class of the elements
+     *
+     * @return JsonList to write the elements to
+     */
+    public <T> JsonList<T> open(final HttpServletResponse response, final String fieldName, final Class<T> elementType) {
+        return new JsonList<>(response, null, fieldName, writerFor(elementType));
+    }
+
+    /**
+     * Starts a list document written to a stream
+     *
+     * @param outputStream stream to write to, left open
+     * @param fieldName JSON name of the list field of the response object
+     * @param elementType model class of the elements
+     *
+     * @return JsonList to write the elements to
+     */
+    public <T> JsonList<T> open(final OutputStream outputStream, final String fieldName, final Class<T> elementType) {
+        return new JsonList<>(null, outputStream, fieldName, writerFor(elementType));
+    }
+
+    private ObjectWriter writerFor(final Class<?> elementType) {
+        // flushing after every element would send every element in a network packet of its own
+        return objectMapper.writerFor(elementType).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * JsonList is a list response being written. It is not closed on an exception: a response broken off is left
+     * incomplete, so that the client cannot take it for the whole list.
+     */
+    public final class JsonList<T> {
+
+        private final HttpServletResponse response;
+
+        private final String fieldName;
+
+        private final ObjectWriter elementWriter;
+
+        private OutputStream outputStream;
+
+        private JsonGenerator jsonGenerator;
+
+        private boolean empty = true;
+
+        private JsonList(final HttpServletResponse response, final OutputStream outputStream, final String fieldName,
+                         final ObjectWriter elementWriter) {
+            this.response = response;
+            this.outputStream = outputStream;
+            this.fieldName = fieldName;
+            this.elementWriter = elementWriter;
+        }
+
+        /**
+         * Writes the next element of the list
+         *
+         * @param element model of the element
+         */
+        public void write(final T element) throws IOException {
+            start();
+            if (empty) {
+                jsonGenerator.writeStartArray();
+                empty = false;
+            }
+            elementWriter.writeValue(jsonGenerator, element);
+        }
+
+        /**
+         * Ends the list response, after its last element
+         */
+        public void end() throws IOException {
+            start();
+            if (empty) {
+                jsonGenerator.writeNull();
+            } else {
+                jsonGenerator.writeEndArray();
+            }
+            jsonGenerator.writeEndObject();
+            jsonGenerator.close();
+        }
+
+        private void start() throws IOException {
+            if (jsonGenerator != null) {
+                return;
+            }
+            if (response != null) {
+                response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+                outputStream = response.getOutputStream();
+            }
+            jsonGenerator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+            jsonGenerator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeFieldName(fieldName);
+        }
+    }
+}
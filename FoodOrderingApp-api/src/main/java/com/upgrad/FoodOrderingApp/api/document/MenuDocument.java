@@ -0,0 +1,50 @@
+package com.upgrad.FoodOrderingApp.api.document;
+
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+
+/**
+ * MenuDocument is the rendered GET /restaurant/{restaurant_id} response of one restaurant: its JSON bytes, the same
+ * bytes gzip compressed, and a strong ETag for each of the two representations.
+ *
+ * The byte arrays are shared between requests and must not be modified.
+ */
+public class MenuDocument {
+
+    private final RestaurantEntity restaurantEntity;
+
+    private final byte[] json;
+
+    private final byte[] gzip;
+
+    private final String eTag;
+
+    private final String gzipETag;
+
+    MenuDocument(final RestaurantEntity restaurantEntity, final byte[] json, final byte[] gzip, final String eTag, final String gzipETag) {
+        this.restaurantEntity = restaurantEntity;
+        this.json = json;
+        this.gzip = gzip;
+        this.eTag = eTag;
+        this.gzipETag = gzipETag;
+    }
+
+    RestaurantEntity getRestaurantEntity() {
+        return restaurantEntity;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getGzipETag() {
+        return gzipETag;
+    }
+}
@@ -0,0 +1,156 @@
+package com.upgrad.FoodOrderingApp.api.document;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.mapper.RestaurantMapper;
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.business.CatalogSnapshot;
+import com.upgrad.FoodOrderingApp.service.business.CategoryService;
+import com.upgrad.FoodOrderingApp.service.business.ItemService;
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * MenuDocumentStore keeps the rendered menu document of every restaurant asked for, so that GET
+ * /restaurant/{restaurant_id} writes out stored bytes instead of mapping and serializing the menu on every request.
+ *
+ * A document is built from the restaurant entity of the catalog snapshot it was rendered from. Every new snapshot
+ * version, after a change to a restaurant, a category or an item, hands out new entities, so a document is rebuilt on
+ * its first request after such a change, and the documents of the previous version are dropped.
+ *
+ * The documents of a version are kept in a map of their own, which is swapped for a new one when a later version is
+ * seen. A document is only stored in the map of the version read before its restaurant was looked up, so a request
+ * still rendering from an older version can never store its document among those of a newer one.
+ */
+@Component
+public class MenuDocumentStore {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private RestaurantMapper restaurantMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicReference<VersionDocuments> versionDocuments = new AtomicReference<>(new VersionDocuments(0));
+
+    /**
+     * Returns the menu document of a restaurant, rendering it if the stored one is missing or out of date
+     *
+     * @param restaurantId UUID of restaurant
+     *
+     * @return MenuDocument object
+     *
+     * @throws RestaurantNotFoundException If the restaurant id field entered by the customer is empty
+     * @throws RestaurantNotFoundException If there is no restaurant by the uuid entered by the customer
+     */
+    public MenuDocument getMenuDocument(final String restaurantId) throws RestaurantNotFoundException {
+        final VersionDocuments documents = documentsOf(catalogSnapshot.getVersion());
+
+        final RestaurantEntity restaurantEntity = restaurantService.restaurantByUUID(restaurantId);
+
+        MenuDocument menuDocument = documents == null ? null : documents.menuDocuments.get(restaurantEntity.getUuid());
+        if (menuDocument == null || menuDocument.getRestaurantEntity() != restaurantEntity) {
+            menuDocument = render(restaurantEntity);
+            if (documents != null) {
+                documents.menuDocuments.put(restaurantEntity.getUuid(), menuDocument);
+            }
+        }
+        return menuDocument;
+    }
+
+    /**
+     * Returns the documents of a catalog version, replacing those of an older version, or null if a newer version is
+     * stored already
+     */
+    private VersionDocuments documentsOf(final long version) {
+        while (true) {
+            final VersionDocuments current = versionDocuments.get();
+            if (current.version == version) {
+                return current;
+            }
+            if (current.version > version) {
+                return null;
+            }
+            final VersionDocuments next = new VersionDocuments(version);
+            if (versionDocuments.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private MenuDocument render(final RestaurantEntity restaurantEntity) {
+        final byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(toRestaurantDetailsResponse(restaurantEntity));
+        } catch (JsonProcessingException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
+        }
+        final String eTag = eTag(json);
+        return new MenuDocument(restaurantEntity, json, GzipCompression.compress(json), "\"" + eTag + "\"", "\"" + eTag + "-gzip\"");
+    }
+
+    private RestaurantDetailsResponse toRestaurantDetailsResponse(final RestaurantEntity restaurantEntity) {
+        final UUID restaurantUuid = restaurantEntity.getUuid();
+
+        RestaurantDetailsResponse restaurantDetailsResponse = restaurantMapper.toRestaurantDetailsResponse(restaurantEntity);
+
+        // the whole menu is looked up at once, grouped by category
+        Map<UUID, List<ItemEntity>> itemEntitiesByCategoryUuid = itemService.getItemsByCategoryForRestaurant(restaurantUuid);
+
+        for (CategoryEntity categoryEntity : categoryService.getCategoriesByRestaurant(restaurantUuid)) {
+            restaurantDetailsResponse.addCategoriesItem(restaurantMapper.toCategoryList(categoryEntity,
+                    itemEntitiesByCategoryUuid.getOrDefault(categoryEntity.getUuid(), Collections.emptyList())));
+        }
+        return restaurantDetailsResponse;
+    }
+
+    // the same bytes always give the same tag, so a rebuild which changes nothing keeps the clients' copies valid
+    private static String eTag(final byte[] json) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
+        }
+    }
+
+    /**
+     * The menu documents rendered from one catalog version
+     */
+    private static final class VersionDocuments {
+
+        private final long version;
+
+        private final ConcurrentMap<UUID, MenuDocument> menuDocuments = new ConcurrentHashMap<>();
+
+        private VersionDocuments(final long version) {
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * AddressMapper maps addresses and states to the models of the address endpoints.
+ */
+@Mapper(config = ApiMapperConfig.class)
+public interface AddressMapper {
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "flatBuildingName", source = "flatBuilNo")
+    AddressList toAddressList(AddressEntity addressEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "stateName", source = "statename")
+    AddressListState toAddressListState(StateEntity stateEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "stateName", source = "statename")
+    StatesList toStatesList(StateEntity stateEntity);
+
+    @Mapping(target = "id", source = "addressEntity.uuid")
+    @Mapping(target = "status", source = "status")
+    SaveAddressResponse toSaveAddressResponse(AddressEntity addressEntity, String status);
+
+    @Mapping(target = "id", source = "addressEntity.uuid")
+    @Mapping(target = "status", source = "status")
+    DeleteAddressResponse toDeleteAddressResponse(AddressEntity addressEntity, String status);
+
+    /**
+     * Maps the addresses of a customer to their list, whose addresses stay null without addresses
+     *
+     * @param addressEntities addresses in the order to list them in
+     *
+     * @return AddressListResponse object
+     */
+    default AddressListResponse toAddressListResponse(final List<AddressEntity> addressEntities) {
+        final AddressListResponse addressListResponse = new AddressListResponse();
+        for (AddressEntity addressEntity : addressEntities) {
+            addressListResponse.addAddressesItem(toAddressList(addressEntity));
+        }
+        return addressListResponse;
+    }
+
+    /**
+     * Maps states to the list of all states, whose states stay null without states
+     *
+     * @param stateEntities states in the order to list them in
+     *
+     * @return StatesListResponse object
+     */
+    default StatesListResponse toStatesListResponse(final List<StateEntity> stateEntities) {
+        final StatesListResponse statesListResponse = new StatesListResponse();
+        for (StateEntity stateEntity : stateEntities) {
+            statesListResponse.addStatesItem(toStatesList(stateEntity));
+        }
+        return statesListResponse;
+    }
+}
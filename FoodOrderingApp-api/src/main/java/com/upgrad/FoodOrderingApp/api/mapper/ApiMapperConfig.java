@@ -0,0 +1,17 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * ApiMapperConfig is the configuration shared by the mappers of this package, which turn entities into the models of
+ * com.upgrad.FoodOrderingApp.api.model.
+ *
+ * The mapper implementations are generated by the MapStruct annotation processor when compiling: plain getter and
+ * setter calls, no reflection, reading every association once and checking it for null before going into it. They are
+ * Spring components. A model property left unmapped fails the build, so a property added to an endpoint's JSON must
+ * be given a source or ignored explicitly.
+ */
+@MapperConfig(componentModel = "spring", uses = ValueMappings.class, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ApiMapperConfig {
+}
@@ -0,0 +1,39 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.upgrad.FoodOrderingApp.api.model.CategoriesListResponse;
+import com.upgrad.FoodOrderingApp.api.model.CategoryDetailsResponse;
+import com.upgrad.FoodOrderingApp.api.model.CategoryListResponse;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * CategoryMapper maps categories to the models of the category endpoints.
+ */
+@Mapper(config = ApiMapperConfig.class, uses = ItemMapper.class)
+public interface CategoryMapper {
+
+    @Mapping(target = "id", source = "uuid")
+    CategoryListResponse toCategoryListResponse(CategoryEntity categoryEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "itemList", source = "items", qualifiedByName = "itemListOfCategory")
+    CategoryDetailsResponse toCategoryDetailsResponse(CategoryEntity categoryEntity);
+
+    /**
+     * Maps categories to the list of all categories, whose categories stay null without categories
+     *
+     * @param categoryEntities categories in the order to list them in
+     *
+     * @return CategoriesListResponse object
+     */
+    default CategoriesListResponse toCategoriesListResponse(final List<CategoryEntity> categoryEntities) {
+        final CategoriesListResponse categoriesListResponse = new CategoriesListResponse();
+        for (CategoryEntity categoryEntity : categoryEntities) {
+            categoriesListResponse.addCategoriesItem(toCategoryListResponse(categoryEntity));
+        }
+        return categoriesListResponse;
+    }
+}
@@ -0,0 +1,40 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * CustomerMapper maps customers to the models of the customer endpoints, together with the status message of the
+ * endpoint.
+ */
+@Mapper(config = ApiMapperConfig.class)
+public interface CustomerMapper {
+
+    @Mapping(target = "id", source = "customerEntity.uuid")
+    @Mapping(target = "status", source = "status")
+    SignupCustomerResponse toSignupCustomerResponse(CustomerEntity customerEntity, String status);
+
+    @Mapping(target = "id", source = "customerEntity.uuid")
+    @Mapping(target = "message", source = "message")
+    @Mapping(target = "firstName", source = "customerEntity.firstName")
+    @Mapping(target = "lastName", source = "customerEntity.lastName")
+    @Mapping(target = "emailAddress", source = "customerEntity.email")
+    @Mapping(target = "contactNumber", source = "customerEntity.contactNumber")
+    LoginResponse toLoginResponse(CustomerEntity customerEntity, String message);
+
+    @Mapping(target = "id", source = "customerEntity.uuid")
+    @Mapping(target = "message", source = "message")
+    LogoutResponse toLogoutResponse(CustomerEntity customerEntity, String message);
+
+    @Mapping(target = "id", source = "customerEntity.uuid")
+    @Mapping(target = "status", source = "status")
+    @Mapping(target = "firstName", source = "customerEntity.firstName")
+    @Mapping(target = "lastName", source = "customerEntity.lastName")
+    UpdateCustomerResponse toUpdateCustomerResponse(CustomerEntity customerEntity, String status);
+
+    @Mapping(target = "id", source = "customerEntity.uuid")
+    @Mapping(target = "status", source = "status")
+    UpdatePasswordResponse toUpdatePasswordResponse(CustomerEntity customerEntity, String status);
+}
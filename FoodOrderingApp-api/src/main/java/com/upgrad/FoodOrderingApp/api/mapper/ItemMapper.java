@@ -0,0 +1,39 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.upgrad.FoodOrderingApp.api.model.ItemList;
+import com.upgrad.FoodOrderingApp.api.model.ItemListResponse;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ItemMapper maps items to the ItemList model, shared by the item, category and restaurant endpoints.
+ */
+@Mapper(config = ApiMapperConfig.class)
+public interface ItemMapper {
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "itemType", source = "type")
+    ItemList toItemList(ItemEntity itemEntity);
+
+    List<ItemList> toItemLists(Collection<ItemEntity> itemEntities);
+
+    ItemListResponse toItemListResponse(List<ItemEntity> itemEntities);
+
+    /**
+     * Maps the items of a category, as the item_list of a category: null rather than empty without items, as the
+     * models leave a list no item was added to, and null for items not loaded, see ValueMappings.hasLoadedElements
+     *
+     * @param itemEntities items of the category
+     *
+     * @return ItemList models, or null
+     */
+    @Named("itemListOfCategory")
+    default List<ItemList> toItemListOfCategory(final Collection<ItemEntity> itemEntities) {
+        return ValueMappings.hasLoadedElements(itemEntities) ? toItemLists(itemEntities) : null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OrderMapper maps orders and coupons to the models of the order endpoints.
+ *
+ * An order is mapped with the associations the order queries fetch with it, coupon, payment, customer and address
+ * with its state, and with its items, which are looked up for all orders of a response at once and handed in.
+ */
+@Mapper(config = ApiMapperConfig.class)
+public interface OrderMapper {
+
+    @Mapping(target = "id", source = "uuid")
+    CouponDetailsResponse toCouponDetailsResponse(CouponEntity couponEntity);
+
+    @Mapping(target = "id", source = "orderEntity.uuid")
+    @Mapping(target = "bill", source = "orderEntity.bill")
+    @Mapping(target = "coupon", source = "orderEntity.coupon")
+    @Mapping(target = "discount", source = "orderEntity.discount")
+    @Mapping(target = "date", source = "orderEntity.date")
+    @Mapping(target = "payment", source = "orderEntity.payment")
+    @Mapping(target = "customer", source = "orderEntity.customer")
+    @Mapping(target = "address", source = "orderEntity.address")
+    @Mapping(target = "itemQuantities", source = "orderItemEntities", qualifiedByName = "itemQuantitiesOfOrder")
+    OrderList toOrderList(OrderEntity orderEntity, List<OrderItemEntity> orderItemEntities);
+
+    @Mapping(target = "id", source = "uuid")
+    OrderListCoupon toOrderListCoupon(CouponEntity couponEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    OrderListPayment toOrderListPayment(PaymentEntity paymentEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "emailAddress", source = "email")
+    OrderListCustomer toOrderListCustomer(CustomerEntity customerEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "flatBuildingName", source = "flatBuilNo")
+    OrderListAddress toOrderListAddress(AddressEntity addressEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "stateName", source = "statename")
+    OrderListAddressState toOrderListAddressState(StateEntity stateEntity);
+
+    ItemQuantityResponse toItemQuantityResponse(OrderItemEntity orderItemEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "itemPrice", source = "price")
+    ItemQuantityResponseItem toItemQuantityResponseItem(ItemEntity itemEntity);
+
+    List<ItemQuantityResponse> toItemQuantityResponses(List<OrderItemEntity> orderItemEntities);
+
+    @Mapping(target = "id", source = "orderEntity.uuid")
+    @Mapping(target = "status", source = "status")
+    SaveOrderResponse toSaveOrderResponse(OrderEntity orderEntity, String status);
+
+    /**
+     * Maps the items of an order, as its item_quantities: null rather than empty without items, as the models leave a
+     * list no item was added to
+     *
+     * @param orderItemEntities items of the order
+     *
+     * @return ItemQuantityResponse models, or null
+     */
+    @Named("itemQuantitiesOfOrder")
+    default List<ItemQuantityResponse> toItemQuantitiesOfOrder(final List<OrderItemEntity> orderItemEntities) {
+        return ValueMappings.hasLoadedElements(orderItemEntities) ? toItemQuantityResponses(orderItemEntities) : null;
+    }
+
+    /**
+     * Maps orders to the order history of a customer, whose orders stay null without orders
+     *
+     * @param orderEntities orders in the order to list them in
+     * @param orderItemEntitiesByOrderId items of the orders by order id, as ItemService.getItemsByOrders returns them
+     *
+     * @return CustomerOrderResponse object
+     */
+    default CustomerOrderResponse toCustomerOrderResponse(final List<OrderEntity> orderEntities,
+                                                          final Map<Integer, List<OrderItemEntity>> orderItemEntitiesByOrderId) {
+        final CustomerOrderResponse customerOrderResponse = new CustomerOrderResponse();
+        for (OrderEntity orderEntity : orderEntities) {
+            customerOrderResponse.addOrdersItem(toOrderList(orderEntity,
+                    orderItemEntitiesByOrderId.getOrDefault(orderEntity.getId(), Collections.emptyList())));
+        }
+        return customerOrderResponse;
+    }
+}
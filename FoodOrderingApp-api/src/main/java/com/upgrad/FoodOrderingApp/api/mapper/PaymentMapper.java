@@ -0,0 +1,34 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.upgrad.FoodOrderingApp.api.model.PaymentListResponse;
+import com.upgrad.FoodOrderingApp.api.model.PaymentResponse;
+import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * PaymentMapper maps payment methods to the models of the payment endpoint.
+ */
+@Mapper(config = ApiMapperConfig.class)
+public interface PaymentMapper {
+
+    @Mapping(target = "id", source = "uuid")
+    PaymentResponse toPaymentResponse(PaymentEntity paymentEntity);
+
+    /**
+     * Maps payment methods to the list of all payment methods, whose paymentMethods stay null without payment methods
+     *
+     * @param paymentEntities payment methods in the order to list them in
+     *
+     * @return PaymentListResponse object
+     */
+    default PaymentListResponse toPaymentListResponse(final List<PaymentEntity> paymentEntities) {
+        final PaymentListResponse paymentListResponse = new PaymentListResponse();
+        for (PaymentEntity paymentEntity : paymentEntities) {
+            paymentListResponse.addPaymentMethodsItem(toPaymentResponse(paymentEntity));
+        }
+        return paymentListResponse;
+    }
+}
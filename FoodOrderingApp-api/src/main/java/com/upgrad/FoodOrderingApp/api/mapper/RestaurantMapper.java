@@ -0,0 +1,90 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * RestaurantMapper maps restaurants to the models of the restaurant endpoints.
+ *
+ * A restaurant is mapped with its address and state, which every restaurant query fetches with it. Its categories and
+ * menu are handed in as the services look them up, in their display order, rather than read from the restaurant's
+ * lazy collections.
+ */
+@Mapper(config = ApiMapperConfig.class, uses = ItemMapper.class)
+public interface RestaurantMapper {
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "photoURL", source = "photoUrl")
+    @Mapping(target = "averagePrice", source = "avgPrice")
+    @Mapping(target = "address.id", source = "addressUuid")
+    @Mapping(target = "address.flatBuildingName", source = "flatBuilNo")
+    @Mapping(target = "address.locality", source = "locality")
+    @Mapping(target = "address.city", source = "city")
+    @Mapping(target = "address.pincode", source = "pincode")
+    @Mapping(target = "address.state.id", source = "stateUuid")
+    @Mapping(target = "address.state.stateName", source = "stateName")
+    RestaurantList toRestaurantList(RestaurantListView restaurantListView);
+
+    @Mapping(target = "id", source = "restaurantEntity.uuid")
+    @Mapping(target = "restaurantName", source = "restaurantEntity.restaurantName")
+    @Mapping(target = "photoURL", source = "restaurantEntity.photoUrl")
+    @Mapping(target = "customerRating", source = "restaurantEntity.customerRating")
+    @Mapping(target = "averagePrice", source = "restaurantEntity.avgPrice")
+    @Mapping(target = "numberCustomersRated", source = "restaurantEntity.numberCustomersRated")
+    @Mapping(target = "address", source = "restaurantEntity.address")
+    @Mapping(target = "categories", source = "categoryEntities", qualifiedByName = "categoryNames")
+    RestaurantList toRestaurantList(RestaurantEntity restaurantEntity, List<CategoryEntity> categoryEntities);
+
+    /**
+     * Maps a restaurant to its details, without its menu, which is added category by category with toCategoryList
+     *
+     * @param restaurantEntity the restaurant
+     *
+     * @return RestaurantDetailsResponse object with no categories
+     */
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "photoURL", source = "photoUrl")
+    @Mapping(target = "averagePrice", source = "avgPrice")
+    @Mapping(target = "categories", ignore = true)
+    RestaurantDetailsResponse toRestaurantDetailsResponse(RestaurantEntity restaurantEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "flatBuildingName", source = "flatBuilNo")
+    RestaurantDetailsResponseAddress toRestaurantDetailsResponseAddress(AddressEntity addressEntity);
+
+    @Mapping(target = "id", source = "uuid")
+    @Mapping(target = "stateName", source = "statename")
+    RestaurantDetailsResponseAddressState toRestaurantDetailsResponseAddressState(StateEntity stateEntity);
+
+    @Mapping(target = "id", source = "categoryEntity.uuid")
+    @Mapping(target = "categoryName", source = "categoryEntity.categoryName")
+    @Mapping(target = "itemList", source = "itemEntities", qualifiedByName = "itemListOfCategory")
+    CategoryList toCategoryList(CategoryEntity categoryEntity, List<ItemEntity> itemEntities);
+
+    @Mapping(target = "id", source = "restaurantEntity.uuid")
+    @Mapping(target = "status", source = "status")
+    RestaurantUpdatedResponse toRestaurantUpdatedResponse(RestaurantEntity restaurantEntity, String status);
+
+    /**
+     * Maps the categories of a restaurant to the comma separated names the restaurant lists show
+     *
+     * @param categoryEntities categories in the order to name them in
+     *
+     * @return the category names separated by ', ', or null without a list of categories
+     */
+    @Named("categoryNames")
+    default String toCategoryNames(final List<CategoryEntity> categoryEntities) {
+        if (categoryEntities == null) {
+            return null;
+        }
+        return categoryEntities.stream()
+                .map(categoryEntity -> String.valueOf(categoryEntity.getCategoryName()))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,51 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * ValueMappings holds the conversions between entity and model values which the generated mappers use, where the
+ * models need a value written as the controllers have always written it.
+ */
+@Component
+public class ValueMappings {
+
+    /**
+     * @return the UUID as text, for the models giving their id as a plain string
+     */
+    public String toString(final UUID uuid) {
+        return uuid == null ? null : uuid.toString();
+    }
+
+    /**
+     * @return the exact value of the double, as new BigDecimal(double) gives it, rather than its shortest decimal text
+     */
+    public BigDecimal toBigDecimal(final Double value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    /**
+     * @return the date as Date.toString writes it, or its subclass Timestamp for dates read from the database
+     */
+    public String toString(final Date date) {
+        return date == null ? null : date.toString();
+    }
+
+    /**
+     * Tells whether a to-many association can be mapped without loading it. The mappers never load a lazy
+     * collection themselves: what a response shows is fetched by the services, and a collection they did not fetch is
+     * left out of the response rather than loaded a row at a time.
+     *
+     * @param collection an entity collection, possibly a lazy one
+     *
+     * @return true if the collection is loaded and has elements, false if it is null, empty or not loaded
+     */
+    public static boolean hasLoadedElements(final Collection<?> collection) {
+        return collection != null && Hibernate.isInitialized(collection) && !collection.isEmpty();
+    }
+}
@@ -0,0 +1,54 @@
+package com.upgrad.FoodOrderingApp.api.config;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// This class contains the test cases regarding the paths of the actuator endpoints
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    //This test case passes when all metrics, including the JVM's, are scraped from /metrics in the Prometheus text
+    // format
+    @Test
+    public void shouldScrapePrometheusMetricsFromMetricsPath() throws Exception {
+        final String response = mockMvc
+                .perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(response.contains("# TYPE jvm_memory_used_bytes gauge"));
+        assertTrue(response.contains("jvm_gc_memory_allocated_bytes_total"));
+    }
+
+    //This test case passes when a single metric is read as JSON from /metrics-json, and the info from /info
+    @Test
+    public void shouldReadMetricAsJsonAndInfoFromRoot() throws Exception {
+        final String response = mockMvc
+                .perform(get("/metrics-json/jvm.memory.used"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(response.contains("\"name\":\"jvm.memory.used\""));
+        mockMvc.perform(get("/info"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isNotFound());
+    }
+}
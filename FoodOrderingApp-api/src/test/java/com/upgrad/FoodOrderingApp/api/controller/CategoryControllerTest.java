@@ -3,6 +3,7 @@ package com.upgrad.FoodOrderingApp.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.upgrad.FoodOrderingApp.api.model.CategoriesListResponse;
 import com.upgrad.FoodOrderingApp.api.model.CategoryDetailsResponse;
+import com.upgrad.FoodOrderingApp.service.business.CatalogSnapshot;
 import com.upgrad.FoodOrderingApp.service.business.CategoryService;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
 import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
@@ -15,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,6 +28,7 @@ import static com.upgrad.FoodOrderingApp.service.common.ItemType.NON_VEG;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,6 +44,9 @@ public class CategoryControllerTest {
     @MockBean
     private CategoryService mockCategoryService;
 
+    @MockBean
+    private CatalogSnapshot mockCatalogSnapshot;
+
     //This test case passes when you have are able to fetch any category by its id.
     @Test
     public void shouldGetCategoryById() throws Exception {
@@ -49,11 +55,11 @@ public class CategoryControllerTest {
         itemEntity.setPrice(200);
         itemEntity.setType(NON_VEG);
         final String itemId = UUID.randomUUID().toString();
-        itemEntity.setUuid(itemId);
+        itemEntity.setUuid(UUID.fromString(itemId));
 
         final CategoryEntity categoryEntity = new CategoryEntity();
         final String categoryEntityId = UUID.randomUUID().toString();
-        categoryEntity.setUuid(categoryEntityId);
+        categoryEntity.setUuid(UUID.fromString(categoryEntityId));
         categoryEntity.setItems(Collections.singletonList(itemEntity));
 
 
@@ -107,7 +113,7 @@ public class CategoryControllerTest {
     public void shouldGetAllCategoryOrderedByName() throws Exception {
         final CategoryEntity categoryEntity = new CategoryEntity();
         final String categoryEntityId = UUID.randomUUID().toString();
-        categoryEntity.setUuid(categoryEntityId);
+        categoryEntity.setUuid(UUID.fromString(categoryEntityId));
         categoryEntity.setCategoryName("sampleCategoryName");
 
         when(mockCategoryService.getAllCategoriesOrderedByName()).thenReturn(Collections.singletonList(categoryEntity));
@@ -139,5 +145,31 @@ public class CategoryControllerTest {
         verify(mockCategoryService, times(1)).getAllCategoriesOrderedByName();
     }
 
+    //This test case passes when a second request for the categories of the same catalog version is answered with 304
+    // without asking the service again.
+    @Test
+    public void shouldNotGetCategoriesAgainIfCatalogVersionIsUnchanged() throws Exception {
+        when(mockCatalogSnapshot.getVersion()).thenReturn(7L);
+        when(mockCatalogSnapshot.getLastModified()).thenReturn(1500000000000L);
+        when(mockCategoryService.getAllCategoriesOrderedByName()).thenReturn(Collections.emptyList());
+
+        final String eTag = mockMvc
+                .perform(get("/category").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc
+                .perform(get("/category").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(mockCategoryService, times(1)).getAllCategoriesOrderedByName();
 
-}
\ No newline at end of file
+        when(mockCatalogSnapshot.getVersion()).thenReturn(8L);
+        mockMvc
+                .perform(get("/category").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        verify(mockCategoryService, times(2)).getAllCategoriesOrderedByName();
+    }
+}
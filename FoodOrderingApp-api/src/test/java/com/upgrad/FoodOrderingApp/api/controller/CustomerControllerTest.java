@@ -45,7 +45,7 @@ public class CustomerControllerTest {
     public void shouldSignUpForValidRequest() throws Exception {
         final CustomerEntity createdCustomerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        createdCustomerEntity.setUuid(customerId);
+        createdCustomerEntity.setUuid(UUID.fromString(customerId));
         when(mockCustomerService.saveCustomer(any())).thenReturn(createdCustomerEntity);
 
         mockMvc
@@ -139,7 +139,7 @@ public class CustomerControllerTest {
         createdCustomerAuthEntity.setAccessToken("accessToken");
         final CustomerEntity customerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
         createdCustomerAuthEntity.setCustomer(customerEntity);
 
         when(mockCustomerService.authenticate("9090909090", "CorrectPassword"))
@@ -204,7 +204,7 @@ public class CustomerControllerTest {
         final CustomerAuthEntity createdCustomerAuthEntity = new CustomerAuthEntity();
         final CustomerEntity customerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
         createdCustomerAuthEntity.setCustomer(customerEntity);
         when(mockCustomerService.logout("access-token")).thenReturn(createdCustomerAuthEntity);
 
@@ -270,14 +270,14 @@ public class CustomerControllerTest {
         final CustomerEntity customerEntity = new CustomerEntity();
         customerEntity.setFirstName("firstname");
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
 
         when(mockCustomerService.getCustomer("auth")).thenReturn(customerEntity);
 
         final CustomerEntity updatedCustomerEntity = new CustomerEntity();
         updatedCustomerEntity.setFirstName("first");
         updatedCustomerEntity.setLastName("last");
-        updatedCustomerEntity.setUuid(customerId);
+        updatedCustomerEntity.setUuid(UUID.fromString(customerId));
         when(mockCustomerService.updateCustomer(customerEntity)).thenReturn(updatedCustomerEntity);
         mockMvc
                 .perform(put("/customer")
@@ -305,6 +305,21 @@ public class CustomerControllerTest {
         verify(mockCustomerService, times(0)).updateCustomer(any());
     }
 
+    //This test case passes when you have handled the exception of trying to update customer details with an
+    // authorization header which is not a bearer token, without looking it up.
+    @Test
+    public void shouldNotUpdateCustomerDetailsIfAuthorizationHeaderIsMalformed() throws Exception {
+        mockMvc
+                .perform(put("/customer")
+                        .contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .header("authorization", "Bearer two tokens")
+                        .content("{\"first_name\":\"first\", \"last_name\":\"last\"}"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("code").value("ATHR-001"));
+        verify(mockCustomerService, times(0)).getCustomer(anyString());
+        verify(mockCustomerService, times(0)).updateCustomer(any());
+    }
+
     //This test case passes when you have handled the exception of trying to update customer details when the customer
     // is not logged in.
     @Test
@@ -366,7 +381,7 @@ public class CustomerControllerTest {
     public void shouldUpdateCustomerPassword() throws Exception {
         final CustomerEntity customerEntity = new CustomerEntity();
         final String customerId = UUID.randomUUID().toString();
-        customerEntity.setUuid(customerId);
+        customerEntity.setUuid(UUID.fromString(customerId));
 
         when(mockCustomerService.getCustomer("auth")).thenReturn(customerEntity);
         when(mockCustomerService.updateCustomerPassword("oldPwd", "newPwd", customerEntity))
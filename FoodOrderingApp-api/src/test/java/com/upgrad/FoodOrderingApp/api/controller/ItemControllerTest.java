@@ -51,7 +51,7 @@ public class ItemControllerTest {
 
         final ItemEntity itemEntity = new ItemEntity();
         final String itemId = UUID.randomUUID().toString();
-        itemEntity.setUuid(itemId);
+        itemEntity.setUuid(UUID.fromString(itemId));
         itemEntity.setType(NON_VEG);
         when(mockItemService.getItemsByPopularity(restaurantEntity))
                 .thenReturn(Collections.singletonList(itemEntity));
@@ -2,6 +2,7 @@ package com.upgrad.FoodOrderingApp.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.upgrad.FoodOrderingApp.api.model.PaymentListResponse;
+import com.upgrad.FoodOrderingApp.service.business.CatalogSnapshot;
 import com.upgrad.FoodOrderingApp.service.business.PaymentService;
 import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
 import org.junit.Test;
@@ -10,16 +11,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 // This class contains all the test cases regarding the payment controller
@@ -34,12 +39,15 @@ public class PaymentControllerTest {
     @MockBean
     private PaymentService mockPaymentService;
 
+    @MockBean
+    private CatalogSnapshot mockCatalogSnapshot;
+
     //This test case passes when you are able to retrieve all payment methods that exist in the database.
     @Test
     public void shouldGetAllPaymentMethods() throws Exception {
         final PaymentEntity paymentEntity = new PaymentEntity();
         final String paymentId = UUID.randomUUID().toString();
-        paymentEntity.setUuid(paymentId);
+        paymentEntity.setUuid(UUID.fromString(paymentId));
         paymentEntity.setPaymentName("samplePaymentName");
 
         when(mockPaymentService.getAllPaymentMethods())
@@ -57,4 +65,45 @@ public class PaymentControllerTest {
         verify(mockPaymentService, times(1)).getAllPaymentMethods();
     }
 
-}
\ No newline at end of file
+    //This test case passes when the payment methods are sent gzip compressed to a client which accepts gzip.
+    @Test
+    public void shouldGetGzipPaymentMethodsIfClientAcceptsGzip() throws Exception {
+        final PaymentEntity paymentEntity = new PaymentEntity();
+        final String paymentId = UUID.randomUUID().toString();
+        paymentEntity.setUuid(UUID.fromString(paymentId));
+        paymentEntity.setPaymentName("samplePaymentName");
+
+        when(mockPaymentService.getAllPaymentMethods())
+                .thenReturn(Collections.singletonList(paymentEntity));
+
+        final byte[] body = mockMvc
+                .perform(get("/payment").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final PaymentListResponse paymentResponses = new ObjectMapper()
+                .readValue(new GZIPInputStream(new ByteArrayInputStream(body)), PaymentListResponse.class);
+        assertEquals(paymentResponses.getPaymentMethods().size(), 1);
+        assertEquals(paymentResponses.getPaymentMethods().get(0).getId().toString(), paymentId);
+        verify(mockPaymentService, times(1)).getAllPaymentMethods();
+    }
+
+    //This test case passes when the payment methods, which are not part of the catalog snapshot, are read again even
+    // though the catalog version has not changed since the client's copy.
+    @Test
+    public void shouldGetPaymentMethodsRegardlessOfCatalogVersion() throws Exception {
+        when(mockCatalogSnapshot.getVersion()).thenReturn(7L);
+        when(mockCatalogSnapshot.getLastModified()).thenReturn(1500000000000L);
+        when(mockPaymentService.getAllPaymentMethods()).thenReturn(Collections.emptyList());
+
+        mockMvc
+                .perform(get("/payment").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Jan 2050 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        verify(mockPaymentService, times(1)).getAllPaymentMethods();
+    }
+
+}
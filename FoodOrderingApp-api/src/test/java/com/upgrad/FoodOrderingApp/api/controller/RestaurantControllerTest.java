@@ -1,6 +1,7 @@
 package com.upgrad.FoodOrderingApp.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantDetailsResponse;
 import com.upgrad.FoodOrderingApp.api.model.RestaurantList;
 import com.upgrad.FoodOrderingApp.api.model.RestaurantListResponse;
 import com.upgrad.FoodOrderingApp.service.business.CategoryService;
@@ -18,12 +19,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static com.upgrad.FoodOrderingApp.service.common.ItemType.NON_VEG;
 import static org.junit.Assert.assertEquals;
@@ -31,6 +35,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -65,24 +70,74 @@ public class RestaurantControllerTest {
                 .thenReturn(restaurantEntity);
 
         final CategoryEntity categoryEntity = getCategoryEntity();
-        when(mockCategoryService.getCategoriesByRestaurant("someRestaurantId"))
+        when(mockCategoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()))
                 .thenReturn(Collections.singletonList(categoryEntity));
 
         final ItemEntity itemEntity = getItemEntity();
-        when(mockItemService.getItemsByCategoryAndRestaurant("someRestaurantId", categoryEntity.getUuid()))
-                .thenReturn(Collections.singletonList(itemEntity));
+        when(mockItemService.getItemsByCategoryForRestaurant(restaurantEntity.getUuid()))
+                .thenReturn(Collections.singletonMap(categoryEntity.getUuid(), Collections.singletonList(itemEntity)));
 
         mockMvc
                 .perform(get("/restaurant/someRestaurantId").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("id").value(restaurantEntity.getUuid()))
+                .andExpect(jsonPath("id").value(restaurantEntity.getUuid().toString()))
                 .andExpect(jsonPath("restaurant_name").value("Famous Restaurant"))
                 .andExpect(jsonPath("customer_rating").value(3.4))
-                .andExpect(jsonPath("number_customers_rated").value(200));
+                .andExpect(jsonPath("number_customers_rated").value(200))
+                .andExpect(jsonPath("categories[0].item_list[0].id").value(itemEntity.getUuid().toString()));
         verify(mockRestaurantService, times(1)).restaurantByUUID("someRestaurantId");
-        verify(mockCategoryService, times(1)).getCategoriesByRestaurant("someRestaurantId");
-        verify(mockItemService, times(1))
-                .getItemsByCategoryAndRestaurant("someRestaurantId", categoryEntity.getUuid());
+        verify(mockCategoryService, times(1)).getCategoriesByRestaurant(restaurantEntity.getUuid());
+        verify(mockItemService, times(1)).getItemsByCategoryForRestaurant(restaurantEntity.getUuid());
+        verify(mockItemService, times(0)).getItemsByCategoryAndRestaurant(any(), any());
+    }
+
+    //This test case passes when the restaurant details are rendered once and then answered with 304 for a matching ETag.
+    @Test
+    public void shouldNotRenderRestaurantDetailsAgainIfETagMatches() throws Exception {
+        final RestaurantEntity restaurantEntity = getRestaurantEntity();
+        when(mockRestaurantService.restaurantByUUID("someRestaurantId"))
+                .thenReturn(restaurantEntity);
+        when(mockCategoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()))
+                .thenReturn(Collections.singletonList(getCategoryEntity()));
+        when(mockItemService.getItemsByCategoryForRestaurant(restaurantEntity.getUuid()))
+                .thenReturn(Collections.emptyMap());
+
+        final String eTag = mockMvc
+                .perform(get("/restaurant/someRestaurantId").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc
+                .perform(get("/restaurant/someRestaurantId").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(mockRestaurantService, times(2)).restaurantByUUID("someRestaurantId");
+        verify(mockCategoryService, times(1)).getCategoriesByRestaurant(restaurantEntity.getUuid());
+        verify(mockItemService, times(1)).getItemsByCategoryForRestaurant(restaurantEntity.getUuid());
+    }
+
+    //This test case passes when the restaurant details are sent gzip compressed to a client which accepts gzip.
+    @Test
+    public void shouldGetGzipRestaurantDetailsIfClientAcceptsGzip() throws Exception {
+        final RestaurantEntity restaurantEntity = getRestaurantEntity();
+        when(mockRestaurantService.restaurantByUUID("someRestaurantId"))
+                .thenReturn(restaurantEntity);
+        when(mockCategoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()))
+                .thenReturn(Collections.singletonList(getCategoryEntity()));
+        when(mockItemService.getItemsByCategoryForRestaurant(restaurantEntity.getUuid()))
+                .thenReturn(Collections.emptyMap());
+
+        final byte[] body = mockMvc
+                .perform(get("/restaurant/someRestaurantId").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        final RestaurantDetailsResponse restaurantDetailsResponse = new ObjectMapper()
+                .readValue(new GZIPInputStream(new ByteArrayInputStream(body)), RestaurantDetailsResponse.class);
+        assertEquals(restaurantEntity.getUuid(), restaurantDetailsResponse.getId());
     }
 
     //This test case passes when you have handled the exception of trying to fetch any restaurant but your restaurant id
@@ -111,8 +166,8 @@ public class RestaurantControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("code").value("RNF-001"));
         verify(mockRestaurantService, times(1)).restaurantByUUID("someRestaurantId");
-        verify(mockCategoryService, times(0)).getCategoriesByRestaurant(anyString());
-        verify(mockItemService, times(0)).getItemsByCategoryAndRestaurant(anyString(), anyString());
+        verify(mockCategoryService, times(0)).getCategoriesByRestaurant(any());
+        verify(mockItemService, times(0)).getItemsByCategoryForRestaurant(any());
     }
 
     // ------------------------------------------ GET /restaurant/name/{restaurant_name} ------------------------------------------
@@ -137,9 +192,9 @@ public class RestaurantControllerTest {
         assertEquals(restaurantListResponse.getRestaurants().size(), 1);
 
         final RestaurantList restaurantList = restaurantListResponse.getRestaurants().get(0);
-        assertEquals(restaurantList.getId().toString(), restaurantEntity.getUuid());
-        assertEquals(restaurantList.getAddress().getId().toString(), restaurantEntity.getAddress().getUuid());
-        assertEquals(restaurantList.getAddress().getState().getId().toString(), restaurantEntity.getAddress().getState().getUuid());
+        assertEquals(restaurantList.getId(), restaurantEntity.getUuid());
+        assertEquals(restaurantList.getAddress().getId(), restaurantEntity.getAddress().getUuid());
+        assertEquals(restaurantList.getAddress().getState().getId(), restaurantEntity.getAddress().getState().getUuid());
 
         verify(mockRestaurantService, times(1)).restaurantsByName("someRestaurantName");
         verify(mockCategoryService, times(1)).getCategoriesByRestaurant(restaurantEntity.getUuid());
@@ -182,9 +237,9 @@ public class RestaurantControllerTest {
         assertEquals(restaurantListResponse.getRestaurants().size(), 1);
 
         final RestaurantList restaurantList = restaurantListResponse.getRestaurants().get(0);
-        assertEquals(restaurantList.getId().toString(), restaurantEntity.getUuid());
-        assertEquals(restaurantList.getAddress().getId().toString(), restaurantEntity.getAddress().getUuid());
-        assertEquals(restaurantList.getAddress().getState().getId().toString(), restaurantEntity.getAddress().getState().getUuid());
+        assertEquals(restaurantList.getId(), restaurantEntity.getUuid());
+        assertEquals(restaurantList.getAddress().getId(), restaurantEntity.getAddress().getUuid());
+        assertEquals(restaurantList.getAddress().getState().getId(), restaurantEntity.getAddress().getState().getUuid());
 
         verify(mockRestaurantService, times(1)).restaurantByCategory("someCategoryId");
         verify(mockCategoryService, times(1)).getCategoriesByRestaurant(restaurantEntity.getUuid());
@@ -225,12 +280,9 @@ public class RestaurantControllerTest {
     @Test
     public void shouldGetAllRestaurantDetails() throws Exception {
         final RestaurantEntity restaurantEntity = getRestaurantEntity();
-        when(mockRestaurantService.restaurantsByRating())
-                .thenReturn(Collections.singletonList(restaurantEntity));
-
-        final CategoryEntity categoryEntity = getCategoryEntity();
-        when(mockCategoryService.getCategoriesByRestaurant(restaurantEntity.getUuid()))
-                .thenReturn(Collections.singletonList(categoryEntity));
+        final RestaurantListView restaurantListView = getRestaurantListView(restaurantEntity, "someCategory");
+        when(mockRestaurantService.restaurantListViewsByRating())
+                .thenReturn(Collections.singletonList(restaurantListView));
 
         final String responseString = mockMvc
                 .perform(get("/restaurant").contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
@@ -241,12 +293,13 @@ public class RestaurantControllerTest {
         assertEquals(restaurantListResponse.getRestaurants().size(), 1);
 
         final RestaurantList restaurantList = restaurantListResponse.getRestaurants().get(0);
-        assertEquals(restaurantList.getId().toString(), restaurantEntity.getUuid());
-        assertEquals(restaurantList.getAddress().getId().toString(), restaurantEntity.getAddress().getUuid());
-        assertEquals(restaurantList.getAddress().getState().getId().toString(), restaurantEntity.getAddress().getState().getUuid());
+        assertEquals(restaurantList.getId(), restaurantEntity.getUuid());
+        assertEquals(restaurantList.getAddress().getId(), restaurantEntity.getAddress().getUuid());
+        assertEquals(restaurantList.getAddress().getState().getId(), restaurantEntity.getAddress().getState().getUuid());
+        assertEquals(restaurantList.getCategories(), "someCategory");
 
-        verify(mockRestaurantService, times(1)).restaurantsByRating();
-        verify(mockCategoryService, times(1)).getCategoriesByRestaurant(restaurantEntity.getUuid());
+        verify(mockRestaurantService, times(1)).restaurantListViewsByRating();
+        verify(mockCategoryService, times(0)).getCategoriesByRestaurant(any());
     }
 
 
@@ -255,12 +308,12 @@ public class RestaurantControllerTest {
     //This test case passes when you are able to update restaurant rating successfully.
     @Test
     public void shouldUpdateRestaurantRating() throws Exception {
-        final String restaurantId = UUID.randomUUID().toString();
+        final RestaurantEntity restaurantEntity = getRestaurantEntity();
+        final String restaurantId = restaurantEntity.getUuid().toString();
 
         when(mockCustomerService.getCustomer("database_accesstoken2"))
                 .thenReturn(new CustomerEntity());
 
-        final RestaurantEntity restaurantEntity = getRestaurantEntity();
         when(mockRestaurantService.restaurantByUUID(restaurantId)).thenReturn(restaurantEntity);
 
         when(mockRestaurantService.updateRestaurantRating(restaurantEntity, 4.5))
@@ -433,7 +486,7 @@ public class RestaurantControllerTest {
 
     private ItemEntity getItemEntity() {
         final ItemEntity itemEntity = new ItemEntity();
-        final String itemId = UUID.randomUUID().toString();
+        final UUID itemId = UUID.randomUUID();
         itemEntity.setUuid(itemId);
         itemEntity.setItemName("someItem");
         itemEntity.setType(NON_VEG);
@@ -443,20 +496,29 @@ public class RestaurantControllerTest {
 
     private CategoryEntity getCategoryEntity() {
         final CategoryEntity categoryEntity = new CategoryEntity();
-        final String categoryId = UUID.randomUUID().toString();
+        final UUID categoryId = UUID.randomUUID();
         categoryEntity.setUuid(categoryId);
         categoryEntity.setCategoryName("someCategory");
         return categoryEntity;
     }
 
+    private RestaurantListView getRestaurantListView(final RestaurantEntity restaurantEntity, final String categories) {
+        final AddressEntity addressEntity = restaurantEntity.getAddress();
+        return new RestaurantListView(restaurantEntity.getUuid(), restaurantEntity.getRestaurantName(),
+                restaurantEntity.getPhotoUrl(), restaurantEntity.getCustomerRating(), restaurantEntity.getAvgPrice(),
+                restaurantEntity.getNumberCustomersRated(), addressEntity.getUuid(), addressEntity.getFlatBuilNo(),
+                addressEntity.getLocality(), addressEntity.getCity(), addressEntity.getPincode(),
+                addressEntity.getState().getUuid(), addressEntity.getState().getStatename(), categories);
+    }
+
     private RestaurantEntity getRestaurantEntity() {
-        final String stateId = UUID.randomUUID().toString();
+        final UUID stateId = UUID.randomUUID();
         final StateEntity stateEntity = new StateEntity(stateId, "someState");
-        final String addressId = UUID.randomUUID().toString();
+        final UUID addressId = UUID.randomUUID();
         final AddressEntity addressEntity = new AddressEntity(addressId, "a/b/c", "someLocality", "someCity", "100000", stateEntity);
 
         final RestaurantEntity restaurantEntity = new RestaurantEntity();
-        final String restaurantId = UUID.randomUUID().toString();
+        final UUID restaurantId = UUID.randomUUID();
         restaurantEntity.setUuid(restaurantId);
         restaurantEntity.setAddress(addressEntity);
         restaurantEntity.setAvgPrice(123);
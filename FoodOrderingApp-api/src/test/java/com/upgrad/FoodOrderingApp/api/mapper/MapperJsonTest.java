@@ -0,0 +1,310 @@
+package com.upgrad.FoodOrderingApp.api.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.common.ItemType;
+import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.hibernate.collection.internal.PersistentBag;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// This class checks that the generated mappers write the same JSON as the hand-written mappings of the controllers they
+// replaced, which are kept below as they were
+@RunWith(SpringRunner.class)
+@ContextConfiguration
+public class MapperJsonTest {
+
+    @Configuration
+    @ComponentScan("com.upgrad.FoodOrderingApp.api.mapper")
+    static class MapperJsonTestConfiguration {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private RestaurantMapper restaurantMapper;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private AddressMapper addressMapper;
+
+    //This test case passes when the details of a restaurant, with its menu by category, are written as before
+    @Test
+    public void shouldWriteRestaurantDetailsAsBefore() throws Exception {
+        final RestaurantEntity restaurantEntity = restaurantEntity();
+        final CategoryEntity starters = categoryEntity("Starters");
+        final CategoryEntity desserts = categoryEntity("Desserts");
+        final List<ItemEntity> startersItems = Arrays.asList(itemEntity("Paneer Tikka", 180, ItemType.VEG),
+                itemEntity("Chicken 65", 220, ItemType.NON_VEG));
+
+        final RestaurantDetailsResponse restaurantDetailsResponse = restaurantMapper.toRestaurantDetailsResponse(restaurantEntity);
+        restaurantDetailsResponse.addCategoriesItem(restaurantMapper.toCategoryList(starters, startersItems));
+        restaurantDetailsResponse.addCategoriesItem(restaurantMapper.toCategoryList(desserts, Collections.emptyList()));
+
+        final String json = objectMapper.writeValueAsString(restaurantDetailsResponse);
+        assertEquals(objectMapper.writeValueAsString(handWrittenRestaurantDetailsResponse(restaurantEntity,
+                Arrays.asList(starters, desserts), Arrays.asList(startersItems, Collections.emptyList()))), json);
+        assertTrue(json.contains("\"customer_rating\":4.2000000000000001776356839400250464677810668945312"));
+        assertTrue(json.contains("\"category_name\":\"Desserts\",\"item_list\":null"));
+    }
+
+    //This test case passes when the details of a restaurant whose categories, items and menu items are lazy
+    // collections not loaded are written without loading them, the items of a category left out as if it had none
+    @Test
+    public void shouldWriteRestaurantDetailsWithoutLoadingLazyCollections() throws Exception {
+        final RestaurantEntity restaurantEntity = restaurantEntity();
+        restaurantEntity.setCategories(new PersistentBag());
+        restaurantEntity.setItems(new PersistentBag());
+        final CategoryEntity starters = categoryEntity("Starters");
+
+        final RestaurantDetailsResponse restaurantDetailsResponse = restaurantMapper.toRestaurantDetailsResponse(restaurantEntity);
+        restaurantDetailsResponse.addCategoriesItem(restaurantMapper.toCategoryList(starters, new PersistentBag()));
+
+        assertEquals(objectMapper.writeValueAsString(handWrittenRestaurantDetailsResponse(restaurantEntity,
+                Collections.singletonList(starters), Collections.singletonList(Collections.emptyList()))),
+                objectMapper.writeValueAsString(restaurantDetailsResponse));
+    }
+
+    //This test case passes when an order, with its coupon, payment, customer, address and items, is written as before
+    @Test
+    public void shouldWriteOrderAsBefore() throws Exception {
+        final OrderEntity orderEntity = orderEntity();
+        final List<OrderItemEntity> orderItemEntities = Arrays.asList(
+                orderItemEntity(orderEntity, itemEntity("Paneer Tikka", 180, ItemType.VEG), 2),
+                orderItemEntity(orderEntity, itemEntity("Chicken 65", 220, ItemType.NON_VEG), 1));
+
+        final String json = objectMapper.writeValueAsString(orderMapper.toOrderList(orderEntity, orderItemEntities));
+
+        assertEquals(objectMapper.writeValueAsString(handWrittenOrderList(orderEntity, orderItemEntities)), json);
+        assertTrue(json.contains("\"date\":\"2018-05-04 12:30:15.0\""));
+    }
+
+    //This test case passes when an order whose items are a lazy collection not loaded is written without loading them,
+    // as an order without items was written before
+    @Test
+    public void shouldWriteOrderWithoutLoadingLazyItems() throws Exception {
+        final OrderEntity orderEntity = orderEntity();
+
+        final String json = objectMapper.writeValueAsString(orderMapper.toOrderList(orderEntity, new PersistentBag()));
+
+        assertEquals(objectMapper.writeValueAsString(handWrittenOrderList(orderEntity, Collections.emptyList())), json);
+        assertTrue(json.contains("\"item_quantities\":null"));
+    }
+
+    //This test case passes when an address, with its state, is written as before
+    @Test
+    public void shouldWriteAddressAsBefore() throws Exception {
+        final AddressEntity addressEntity = addressEntity();
+
+        assertEquals(objectMapper.writeValueAsString(handWrittenAddressList(addressEntity)),
+                objectMapper.writeValueAsString(addressMapper.toAddressList(addressEntity)));
+    }
+
+    //This test case passes when the fields an address leaves null are written as null, as before
+    @Test
+    public void shouldWriteAddressWithNullFieldsAsBefore() throws Exception {
+        final AddressEntity addressEntity = new AddressEntity(UUID.randomUUID(), "12, MG Road", null, "Bengaluru", null,
+                new StateEntity(UUID.randomUUID(), null));
+
+        final String json = objectMapper.writeValueAsString(addressMapper.toAddressList(addressEntity));
+
+        assertEquals(objectMapper.writeValueAsString(handWrittenAddressList(addressEntity)), json);
+        assertTrue(json.contains("\"locality\":null"));
+    }
+
+    /**
+     * The details of a restaurant as MenuDocumentStore built them before RestaurantMapper
+     */
+    private static RestaurantDetailsResponse handWrittenRestaurantDetailsResponse(final RestaurantEntity restaurantEntity,
+                                                                                  final List<CategoryEntity> categoryEntities,
+                                                                                  final List<List<ItemEntity>> itemEntitiesByCategory) {
+        RestaurantDetailsResponseAddressState restaurantDetailsResponseAddressState = new RestaurantDetailsResponseAddressState()
+                .id(restaurantEntity.getAddress().getState().getUuid())
+                .stateName(restaurantEntity.getAddress().getState().getStatename());
+
+        RestaurantDetailsResponseAddress restaurantDetailsResponseAddress = new RestaurantDetailsResponseAddress()
+                .id(restaurantEntity.getAddress().getUuid())
+                .flatBuildingName(restaurantEntity.getAddress().getFlatBuilNo())
+                .locality(restaurantEntity.getAddress().getLocality())
+                .city(restaurantEntity.getAddress().getCity())
+                .pincode(restaurantEntity.getAddress().getPincode())
+                .state(restaurantDetailsResponseAddressState);
+
+        RestaurantDetailsResponse restaurantDetailsResponse = new RestaurantDetailsResponse()
+                .id(restaurantEntity.getUuid())
+                .restaurantName(restaurantEntity.getRestaurantName())
+                .photoURL(restaurantEntity.getPhotoUrl())
+                .customerRating(new BigDecimal(restaurantEntity.getCustomerRating()))
+                .averagePrice(restaurantEntity.getAvgPrice())
+                .numberCustomersRated(restaurantEntity.getNumberCustomersRated())
+                .address(restaurantDetailsResponseAddress);
+
+        for (int i = 0; i < categoryEntities.size(); i++) {
+            CategoryList categoryList = new CategoryList()
+                    .id(categoryEntities.get(i).getUuid())
+                    .categoryName(categoryEntities.get(i).getCategoryName());
+
+            for (ItemEntity itemEntity : itemEntitiesByCategory.get(i)) {
+                ItemList itemList = new ItemList()
+                        .id(itemEntity.getUuid())
+                        .itemName(itemEntity.getItemName())
+                        .price(itemEntity.getPrice())
+                        .itemType(ItemList.ItemTypeEnum.fromValue(itemEntity.getType().getValue()));
+
+                categoryList.addItemListItem(itemList);
+            }
+
+            restaurantDetailsResponse.addCategoriesItem(categoryList);
+        }
+        return restaurantDetailsResponse;
+    }
+
+    /**
+     * The mapping of an order as OrderController built it before OrderMapper
+     */
+    private static OrderList handWrittenOrderList(final OrderEntity orderEntity, final List<OrderItemEntity> orderItemEntityList) {
+        OrderListCoupon orderListCoupon = new OrderListCoupon()
+                .id(orderEntity.getCoupon().getUuid())
+                .couponName(orderEntity.getCoupon().getCouponName())
+                .percent(orderEntity.getCoupon().getPercent());
+
+        OrderListPayment orderListPayment = new OrderListPayment()
+                .id(orderEntity.getPayment().getUuid())
+                .paymentName(orderEntity.getPayment().getPaymentName());
+
+        OrderListCustomer orderListCustomer = new OrderListCustomer()
+                .id(orderEntity.getCustomer().getUuid())
+                .firstName(orderEntity.getCustomer().getFirstName())
+                .lastName(orderEntity.getCustomer().getLastName())
+                .emailAddress(orderEntity.getCustomer().getEmail())
+                .contactNumber(orderEntity.getCustomer().getContactNumber());
+
+        OrderListAddressState orderListAddressState = new OrderListAddressState()
+                .id(orderEntity.getAddress().getState().getUuid())
+                .stateName(orderEntity.getAddress().getState().getStatename());
+
+        OrderListAddress orderListAddress = new OrderListAddress()
+                .id(orderEntity.getAddress().getUuid())
+                .flatBuildingName(orderEntity.getAddress().getFlatBuilNo())
+                .locality(orderEntity.getAddress().getLocality())
+                .city(orderEntity.getAddress().getCity())
+                .pincode(orderEntity.getAddress().getPincode())
+                .state(orderListAddressState);
+
+        OrderList orderList = new OrderList()
+                .id(orderEntity.getUuid())
+                .bill(new BigDecimal(orderEntity.getBill()))
+                .coupon(orderListCoupon)
+                .discount(new BigDecimal(orderEntity.getDiscount()))
+                .date(orderEntity.getDate().toString())
+                .payment(orderListPayment)
+                .customer(orderListCustomer)
+                .address(orderListAddress);
+
+        for (OrderItemEntity orderItemEntity : orderItemEntityList) {
+            ItemQuantityResponseItem itemQuantityResponseItem = new ItemQuantityResponseItem()
+                    .id(orderItemEntity.getItem().getUuid())
+                    .itemName(orderItemEntity.getItem().getItemName())
+                    .itemPrice(orderItemEntity.getItem().getPrice())
+                    .type(ItemQuantityResponseItem.TypeEnum.fromValue(orderItemEntity.getItem().getType().getValue()));
+
+            ItemQuantityResponse itemQuantityResponse = new ItemQuantityResponse()
+                    .item(itemQuantityResponseItem)
+                    .quantity(orderItemEntity.getQuantity())
+                    .price(orderItemEntity.getPrice());
+
+            orderList.addItemQuantitiesItem(itemQuantityResponse);
+        }
+
+        return orderList;
+    }
+
+    /**
+     * The mapping of an address as AddressController built it before AddressMapper
+     */
+    private static AddressList handWrittenAddressList(final AddressEntity addressEntity) {
+        return new AddressList()
+                .id(addressEntity.getUuid())
+                .flatBuildingName(addressEntity.getFlatBuilNo())
+                .locality(addressEntity.getLocality())
+                .city(addressEntity.getCity())
+                .pincode(addressEntity.getPincode())
+                .state(new AddressListState().id(addressEntity.getState().getUuid())
+                        .stateName(addressEntity.getState().getStatename()));
+    }
+
+    private static AddressEntity addressEntity() {
+        return new AddressEntity(UUID.randomUUID(), "12, MG Road", "Indiranagar", "Bengaluru", "560038",
+                new StateEntity(UUID.randomUUID(), "Karnataka"));
+    }
+
+    private static RestaurantEntity restaurantEntity() {
+        final RestaurantEntity restaurantEntity = new RestaurantEntity();
+        restaurantEntity.setUuid(UUID.randomUUID());
+        restaurantEntity.setRestaurantName("Spice Route");
+        restaurantEntity.setPhotoUrl("https://example.com/spice-route.jpg");
+        restaurantEntity.setCustomerRating(4.2);
+        restaurantEntity.setAvgPrice(450);
+        restaurantEntity.setNumberCustomersRated(87);
+        restaurantEntity.setAddress(addressEntity());
+        return restaurantEntity;
+    }
+
+    private static CategoryEntity categoryEntity(final String categoryName) {
+        final CategoryEntity categoryEntity = new CategoryEntity();
+        categoryEntity.setUuid(UUID.randomUUID());
+        categoryEntity.setCategoryName(categoryName);
+        return categoryEntity;
+    }
+
+    private static ItemEntity itemEntity(final String itemName, final int price, final ItemType itemType) {
+        final ItemEntity itemEntity = new ItemEntity();
+        itemEntity.setUuid(UUID.randomUUID());
+        itemEntity.setItemName(itemName);
+        itemEntity.setPrice(price);
+        itemEntity.setType(itemType);
+        return itemEntity;
+    }
+
+    private static OrderEntity orderEntity() {
+        final CustomerEntity customerEntity = new CustomerEntity();
+        customerEntity.setUuid(UUID.randomUUID());
+        customerEntity.setFirstName("Asha");
+        customerEntity.setLastName("Rao");
+        customerEntity.setEmail("asha@example.com");
+        customerEntity.setContactNumber("9800000000");
+
+        // as read from the database, a Timestamp rather than a Date
+        final OrderEntity orderEntity = new OrderEntity(UUID.randomUUID(), 580.3, new CouponEntity(UUID.randomUUID(), "FLAT10", 10),
+                58.03, Timestamp.valueOf("2018-05-04 12:30:15"), new PaymentEntity(UUID.randomUUID(), "Credit Card"),
+                customerEntity, addressEntity(), null);
+        orderEntity.setId(1);
+        return orderEntity;
+    }
+
+    private static OrderItemEntity orderItemEntity(final OrderEntity orderEntity, final ItemEntity itemEntity, final int quantity) {
+        final OrderItemEntity orderItemEntity = new OrderItemEntity();
+        orderItemEntity.setOrder(orderEntity);
+        orderItemEntity.setItem(itemEntity);
+        orderItemEntity.setQuantity(quantity);
+        orderItemEntity.setPrice(quantity * itemEntity.getPrice());
+        return orderItemEntity;
+    }
+}
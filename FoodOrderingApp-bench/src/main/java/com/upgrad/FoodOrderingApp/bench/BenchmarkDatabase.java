@@ -0,0 +1,118 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.ServiceConfiguration;
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BenchmarkDatabase starts the service layer against an embedded H2 database in PostgreSQL mode.
+ *
+ * The database is created by the application's own migrations of FoodOrderingApp-db, and is then grown by the
+ * SyntheticDataGenerator. Only after that is the Spring context started, so that the catalog snapshot and the other
+ * caches warm up from the full data set, as they would in production.
+ */
+public final class BenchmarkDatabase {
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @Import(ServiceConfiguration.class)
+    static class BenchmarkConfiguration {
+    }
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Creates and seeds a database and starts the service layer on it
+     *
+     * @param scale Multiplier of the synthetic data, 0 for the seed data only
+     *
+     * @return the started application context, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext start(final int scale) throws SQLException {
+        return start(scale, new String[0]);
+    }
+
+    /**
+     * Creates and seeds a database and starts the service layer on it with more application properties
+     *
+     * @param scale Multiplier of the synthetic data, 0 for the seed data only
+     * @param properties Application properties as name=value, overriding the defaults of the benchmarks
+     *
+     * @return the started application context, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext start(final int scale, final String... properties) throws SQLException {
+        // a new database every time, for the trials run in the same JVM
+        final String url = "jdbc:h2:mem:bench" + scale + "-" + DATABASES.incrementAndGet() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        final Flyway flyway = new Flyway();
+        flyway.setDataSource(url, "sa", "");
+        flyway.setLocations("classpath:db/migration");
+        // H2 has no ALTER COLUMN ... USING, and converts text to uuid by itself
+        flyway.setPlaceholders(Collections.singletonMap("uuid_column_type", "UUID NOT NULL"));
+        flyway.migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            new SyntheticDataGenerator(connection, 42L).generate(scale);
+        }
+
+        final Map<String, Object> benchmarkProperties = new LinkedHashMap<>();
+        benchmarkProperties.put("spring.datasource.driverClassName", "org.h2.Driver");
+        benchmarkProperties.put("spring.datasource.url", url);
+        benchmarkProperties.put("spring.datasource.username", "sa");
+        benchmarkProperties.put("spring.datasource.password", "");
+        benchmarkProperties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        benchmarkProperties.put("spring.jpa.hibernate.ddl-auto", "none");
+        benchmarkProperties.put("spring.flyway.enabled", "false");
+        benchmarkProperties.put("spring.jpa.open-in-view", "false");
+        benchmarkProperties.put("logging.level.root", "WARN");
+        for (String property : properties) {
+            final int equals = property.indexOf('=');
+            benchmarkProperties.put(property.substring(0, equals), property.substring(equals + 1));
+        }
+
+        // added first, so that they override the application.yaml of FoodOrderingApp-api, which is on the classpath
+        // for the mappers
+        return new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .initializers(applicationContext -> applicationContext.getEnvironment().getPropertySources()
+                        .addFirst(new MapPropertySource("benchmark", benchmarkProperties)))
+                .run();
+    }
+
+    /**
+     * Returns the restaurants of the catalog snapshot, highest rated first, for the benchmarks picking restaurants at
+     * random
+     *
+     * @param applicationContext Context started by start
+     *
+     * @return List<RestaurantEntity> of all restaurants
+     *
+     * @throws IllegalStateException If the catalog snapshot has no restaurant, as when it failed to load
+     */
+    public static List<RestaurantEntity> restaurantsByRating(final ConfigurableApplicationContext applicationContext) {
+        final List<RestaurantEntity> restaurantEntities = applicationContext.getBean(RestaurantService.class).restaurantsByRating();
+        if (restaurantEntities.isEmpty()) {
+            throw new IllegalStateException("The catalog snapshot has no restaurant, see the log for why it failed to load");
+        }
+        return restaurantEntities;
+    }
+}
@@ -0,0 +1,24 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks like the JMH launcher does, and writes the results as JSON to jmh-result.json unless a result
+ * format or file is given on the command line, so that runs can be compared to track regressions.
+ */
+public class BenchmarkMain {
+
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    public static void main(final String[] args) throws Exception {
+        final List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        if (!arguments.contains("-rf") && !arguments.contains("-rff")) {
+            arguments.addAll(Arrays.asList("-rf", "json", "-rff", RESULT_FILE));
+        }
+        Main.main(arguments.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,135 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.document.CatalogDocument;
+import com.upgrad.FoodOrderingApp.api.document.CatalogDocumentStore;
+import com.upgrad.FoodOrderingApp.api.document.JsonListWriter;
+import com.upgrad.FoodOrderingApp.api.mapper.RestaurantMapper;
+import com.upgrad.FoodOrderingApp.api.model.RestaurantList;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantListView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the work of a GET /restaurant request for the response body, as the CPU time of a request in a single
+ * thread: the list serialized on every request and sent as is, serialized and gzip compressed on every request at the
+ * default level, as Tomcat compresses the other JSON responses, and taken from CatalogDocumentStore, serialized and
+ * compressed once per catalog version.
+ *
+ * The sizes of the plain and compressed bodies are printed per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class CatalogCompressionBenchmark {
+
+    @Param({"100", "2000"})
+    private int restaurants;
+
+    private AnnotationConfigApplicationContext applicationContext;
+
+    private RestaurantMapper restaurantMapper;
+
+    private JsonListWriter jsonListWriter;
+
+    private CatalogDocumentStore catalogDocumentStore;
+
+    private List<RestaurantListView> restaurantListViews;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        applicationContext.register(JsonListWriter.class, CatalogDocumentStore.class);
+        applicationContext.scan("com.upgrad.FoodOrderingApp.api.mapper");
+        applicationContext.refresh();
+        restaurantMapper = applicationContext.getBean(RestaurantMapper.class);
+        jsonListWriter = applicationContext.getBean(JsonListWriter.class);
+        catalogDocumentStore = applicationContext.getBean(CatalogDocumentStore.class);
+
+        restaurantListViews = restaurantListViews(restaurants);
+
+        final CatalogDocument catalogDocument = catalogDocument();
+        System.out.println(String.format("%n%d restaurants: JSON %d bytes, gzip per request %d bytes, precompressed gzip %d bytes",
+                restaurants, catalogDocument.getJson().length, serializedGzip(), catalogDocument.getGzip().length));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public int serialized() throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        writeRestaurants(byteArrayOutputStream);
+        return byteArrayOutputStream.size();
+    }
+
+    @Benchmark
+    public int serializedGzip() throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+            writeRestaurants(gzipOutputStream);
+        }
+        return byteArrayOutputStream.size();
+    }
+
+    @Benchmark
+    public int precompressed() {
+        return catalogDocument().getGzip().length;
+    }
+
+    private CatalogDocument catalogDocument() {
+        return catalogDocumentStore.getCatalogDocument("/restaurant", () -> restaurantListViews,
+                (restaurantListViews, outputStream) -> writeRestaurants(outputStream));
+    }
+
+    private void writeRestaurants(final OutputStream outputStream) throws IOException {
+        final JsonListWriter.JsonList<RestaurantList> restaurantList = jsonListWriter.open(outputStream, "restaurants", RestaurantList.class);
+        for (RestaurantListView restaurantListView : restaurantListViews) {
+            restaurantList.write(restaurantMapper.toRestaurantList(restaurantListView));
+        }
+        restaurantList.end();
+    }
+
+    /**
+     * Builds the restaurant list as the catalog snapshot holds it, ordered by rating, with three categories each
+     *
+     * @param restaurants number of restaurants
+     *
+     * @return the restaurants, as an unmodifiable list
+     */
+    private static List<RestaurantListView> restaurantListViews(final int restaurants) {
+        final Random random = new Random(42);
+        final String[] cities = {"Mumbai", "Bangalore", "Chennai", "Delhi", "Hyderabad"};
+        final String[] categories = {"Chinese", "Drinks", "Indian", "Italian", "Snacks", "Sweet Dish"};
+        final UUID stateUuid = new UUID(random.nextLong(), random.nextLong());
+        final List<RestaurantListView> restaurantListViews = new ArrayList<>(restaurants);
+        for (int i = 0; i < restaurants; i++) {
+            final int category = random.nextInt(categories.length - 2);
+            restaurantListViews.add(new RestaurantListView(new UUID(random.nextLong(), random.nextLong()),
+                    "Restaurant " + i, "https://images.example.com/restaurants/" + i + ".jpg",
+                    5.0 - i * 4.0 / restaurants, 100 + random.nextInt(900), random.nextInt(5000),
+                    new UUID(random.nextLong(), random.nextLong()), String.valueOf(1 + random.nextInt(200)),
+                    "Locality " + random.nextInt(100), cities[random.nextInt(cities.length)],
+                    String.valueOf(400000 + random.nextInt(100000)), stateUuid, "Maharashtra",
+                    categories[category] + ", " + categories[category + 1] + ", " + categories[category + 2]));
+        }
+        return Collections.unmodifiableList(restaurantListViews);
+    }
+}
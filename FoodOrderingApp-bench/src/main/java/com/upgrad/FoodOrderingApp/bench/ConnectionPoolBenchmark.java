@@ -0,0 +1,166 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.business.ItemService;
+import com.upgrad.FoodOrderingApp.service.business.OrderService;
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerAuthEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.InvalidPageRequestException;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the connection pool: 48 threads run a mix of the busiest endpoints' service calls against pools smaller
+ * than, and up to about half of, the number of threads, so that requests queue for connections.
+ *
+ * authorize is the access token lookup of every authorized request, orderHistory the first page of a customer's
+ * orders and their items, and restaurantDetails a catalog read that needs no connection and shows how much the
+ * database bound calls slow down the rest. Besides the throughput of every call, the time to acquire a connection is
+ * printed per trial as percentiles of the 'hikaricp.connections.acquire' timer, with the connection timeouts. The
+ * timer is the one the actuator binds to the pool, read from the meter registry of the context, and a call whose
+ * connection times out is not an error of the benchmark.
+ *
+ * The benchmark runs on the embedded H2 database, so it measures the pool only: the PostgreSQL driver settings of
+ * application-prod.yaml (prepareThreshold, preparedStatementCacheQueries, preparedStatementCacheSizeMiB and
+ * reWriteBatchedInserts) have no effect here and are untested by it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ConnectionPoolBenchmark {
+
+    private static final int ORDERS_PER_PAGE = 10;
+
+    @Param({"10"})
+    private int scale;
+
+    @Param({"5", "10", "20"})
+    private int poolSize;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private MeterRegistry meterRegistry;
+
+    private CustomerDao customerDao;
+
+    private OrderService orderService;
+
+    private ItemService itemService;
+
+    private RestaurantService restaurantService;
+
+    private List<String> accessTokens;
+
+    private List<UUID> customerUuids;
+
+    private List<RestaurantEntity> restaurantEntities;
+
+    @State(Scope.Thread)
+    public static class RandomState {
+
+        private final Random random = new Random(42);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        applicationContext = BenchmarkDatabase.start(scale,
+                "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "spring.datasource.hikari.minimum-idle=" + poolSize,
+                "spring.datasource.hikari.connection-timeout=2000",
+                "management.metrics.distribution.percentiles.hikaricp.connections.acquire=0.5,0.95,0.99,0.999");
+        customerDao = applicationContext.getBean(CustomerDao.class);
+        orderService = applicationContext.getBean(OrderService.class);
+        itemService = applicationContext.getBean(ItemService.class);
+        restaurantService = applicationContext.getBean(RestaurantService.class);
+        restaurantEntities = BenchmarkDatabase.restaurantsByRating(applicationContext);
+        // the registry the actuator binds the pool metrics to
+        meterRegistry = applicationContext.getBean(MeterRegistry.class);
+
+        final HikariDataSource dataSource = applicationContext.getBean(HikariDataSource.class);
+        try (Connection connection = dataSource.getConnection()) {
+            accessTokens = strings(connection, "SELECT access_token FROM customer_auth WHERE access_token IS NOT NULL");
+            customerUuids = new ArrayList<>();
+            for (String customerUuid : strings(connection, "SELECT uuid FROM customer")) {
+                customerUuids.add(UUID.fromString(customerUuid));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        final Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        final StringBuilder report = new StringBuilder("\nPool of ").append(poolSize).append(": ")
+                .append(acquire.count()).append(" connections acquired");
+        for (ValueAtPercentile valueAtPercentile : acquire.takeSnapshot().percentileValues()) {
+            report.append(String.format(", p%s %.3f ms", valueAtPercentile.percentile() * 100, valueAtPercentile.value(TimeUnit.MILLISECONDS)));
+        }
+        report.append(String.format(", max %.3f ms, %.0f timeouts", acquire.max(TimeUnit.MILLISECONDS),
+                meterRegistry.get("hikaricp.connections.timeout").counter().count()));
+        System.out.println(report);
+        applicationContext.close();
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(16)
+    public CustomerAuthEntity authorize(final RandomState randomState) {
+        try {
+            return customerDao.getCustomerAuthByAccessToken(accessTokens.get(randomState.random.nextInt(accessTokens.size())));
+        } catch (DataAccessResourceFailureException e) {
+            // a connection timeout, counted by the pool and reported with the trial
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(16)
+    public Map<Integer, List<OrderItemEntity>> orderHistory(final RandomState randomState) throws InvalidPageRequestException {
+        final UUID customerUuid = customerUuids.get(randomState.random.nextInt(customerUuids.size()));
+        try {
+            return itemService.getItemsByOrders(orderService.getOrdersByCustomers(customerUuid, null, ORDERS_PER_PAGE).getOrders());
+        } catch (DataAccessResourceFailureException e) {
+            // a connection timeout, counted by the pool and reported with the trial
+            return null;
+        }
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(16)
+    public RestaurantEntity restaurantDetails(final RandomState randomState) throws RestaurantNotFoundException {
+        return restaurantService.restaurantByUUID(restaurantEntities.get(randomState.random.nextInt(restaurantEntities.size())).getUuid().toString());
+    }
+
+    private List<String> strings(final Connection connection, final String sql) throws SQLException {
+        final List<String> strings = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                strings.add(resultSet.getString(1));
+            }
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,87 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.business.RestaurantService;
+import com.upgrad.FoodOrderingApp.service.common.OperationMetricsAspect;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.InvalidRatingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.framework.Advised;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the metrics of OperationMetricsAspect on one of the cheapest timed operations, rating a
+ * restaurant, which only validates the rating and adds it to the in-memory accumulator.
+ *
+ * direct calls the RestaurantService itself, bypassing every proxy, and proxied calls it through its Spring proxy, as
+ * the controllers do. With registry=none the aspect is not bound to a registry and only passes calls on, so the
+ * difference to direct is the proxy; with simple and prometheus it records every call to a timer, and the difference
+ * to none is the cost of the metrics. Run with -t N to see the timers under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class InstrumentationBenchmark {
+
+    @Param({"none", "simple", "prometheus"})
+    private String registry;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private RestaurantService proxiedRestaurantService;
+
+    private RestaurantService restaurantService;
+
+    private List<RestaurantEntity> restaurantEntities;
+
+    @State(Scope.Thread)
+    public static class RandomState {
+
+        private final Random random = new Random(42);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // without the meter registry of the actuator, so that the aspect is only bound to the registry of the trial
+        applicationContext = BenchmarkDatabase.start(0, "spring.autoconfigure.exclude=" + MetricsAutoConfiguration.class.getName());
+        proxiedRestaurantService = applicationContext.getBean(RestaurantService.class);
+        restaurantService = (RestaurantService) ((Advised) proxiedRestaurantService).getTargetSource().getTarget();
+        restaurantEntities = BenchmarkDatabase.restaurantsByRating(applicationContext);
+
+        final OperationMetricsAspect operationMetricsAspect = applicationContext.getBean(OperationMetricsAspect.class);
+        if ("simple".equals(registry)) {
+            operationMetricsAspect.bindTo(new SimpleMeterRegistry());
+        } else if ("prometheus".equals(registry)) {
+            operationMetricsAspect.bindTo(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public RestaurantEntity direct(final RandomState randomState) throws InvalidRatingException {
+        return restaurantService.updateRestaurantRating(randomRestaurant(randomState), 1.0 + randomState.random.nextInt(5));
+    }
+
+    @Benchmark
+    public RestaurantEntity proxied(final RandomState randomState) throws InvalidRatingException {
+        return proxiedRestaurantService.updateRestaurantRating(randomRestaurant(randomState), 1.0 + randomState.random.nextInt(5));
+    }
+
+    private RestaurantEntity randomRestaurant(final RandomState randomState) {
+        return restaurantEntities.get(randomState.random.nextInt(restaurantEntities.size()));
+    }
+}
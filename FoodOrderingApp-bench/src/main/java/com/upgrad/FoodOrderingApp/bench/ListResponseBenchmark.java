@@ -0,0 +1,156 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upgrad.FoodOrderingApp.api.document.JsonListWriter;
+import com.upgrad.FoodOrderingApp.api.mapper.OrderMapper;
+import com.upgrad.FoodOrderingApp.api.model.OrderList;
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing the order history of GET /order as it was, the whole CustomerOrderResponse built and then
+ * serialized, with writing it an order at a time through JsonListWriter, as OrderController does.
+ *
+ * whole* write the complete response to a stream discarding the bytes; run with -prof gc for the allocation per
+ * response. firstByte* stop at the first bytes reaching the stream, the time to first byte of the response apart from
+ * the database. The bytes of both are checked to be the same before measuring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ListResponseBenchmark {
+
+    private static final FirstByteException FIRST_BYTE = new FirstByteException();
+
+    @Param({"1000", "100000"})
+    private int orders;
+
+    private AnnotationConfigApplicationContext applicationContext;
+
+    private ObjectMapper objectMapper;
+
+    private OrderMapper orderMapper;
+
+    private JsonListWriter jsonListWriter;
+
+    private List<OrderEntity> orderEntities;
+
+    private Map<Integer, List<OrderItemEntity>> orderItemEntitiesByOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        applicationContext.register(JsonListWriter.class);
+        applicationContext.scan("com.upgrad.FoodOrderingApp.api.mapper");
+        applicationContext.refresh();
+        objectMapper = applicationContext.getBean(ObjectMapper.class);
+        orderMapper = applicationContext.getBean(OrderMapper.class);
+        jsonListWriter = applicationContext.getBean(JsonListWriter.class);
+
+        orderItemEntitiesByOrderId = new HashMap<>();
+        orderEntities = MappingBenchmark.orderEntities(orders, orderItemEntitiesByOrderId);
+
+        final ByteArrayOutputStream responseObjectBytes = new ByteArrayOutputStream();
+        writeResponseObject(responseObjectBytes);
+        final ByteArrayOutputStream streamedBytes = new ByteArrayOutputStream();
+        writeStreamed(streamedBytes);
+        if (!Arrays.equals(responseObjectBytes.toByteArray(), streamedBytes.toByteArray())) {
+            throw new IllegalStateException("The streamed response differs from the serialized response object");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public long wholeResponseObject() throws IOException {
+        final CountingOutputStream outputStream = new CountingOutputStream(false);
+        writeResponseObject(outputStream);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long wholeStreamed() throws IOException {
+        final CountingOutputStream outputStream = new CountingOutputStream(false);
+        writeStreamed(outputStream);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public boolean firstByteResponseObject() throws IOException {
+        try {
+            writeResponseObject(new CountingOutputStream(true));
+            return false;
+        } catch (FirstByteException e) {
+            return true;
+        }
+    }
+
+    @Benchmark
+    public boolean firstByteStreamed() throws IOException {
+        try {
+            writeStreamed(new CountingOutputStream(true));
+            return false;
+        } catch (FirstByteException e) {
+            return true;
+        }
+    }
+
+    private void writeResponseObject(final OutputStream outputStream) throws IOException {
+        objectMapper.writeValue(outputStream, orderMapper.toCustomerOrderResponse(orderEntities, orderItemEntitiesByOrderId));
+    }
+
+    private void writeStreamed(final OutputStream outputStream) throws IOException {
+        final JsonListWriter.JsonList<OrderList> ordersList = jsonListWriter.open(outputStream, "orders", OrderList.class);
+        for (OrderEntity orderEntity : orderEntities) {
+            ordersList.write(orderMapper.toOrderList(orderEntity,
+                    orderItemEntitiesByOrderId.getOrDefault(orderEntity.getId(), Collections.emptyList())));
+        }
+        ordersList.end();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final boolean stopAtFirstByte;
+
+        private long count;
+
+        private CountingOutputStream(final boolean stopAtFirstByte) {
+            this.stopAtFirstByte = stopAtFirstByte;
+        }
+
+        @Override
+        public void write(final int b) {
+            write(null, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            if (stopAtFirstByte) {
+                throw FIRST_BYTE;
+            }
+            count += len;
+        }
+    }
+
+    private static final class FirstByteException extends RuntimeException {
+
+        private FirstByteException() {
+            super(null, null, false, false);
+        }
+    }
+}
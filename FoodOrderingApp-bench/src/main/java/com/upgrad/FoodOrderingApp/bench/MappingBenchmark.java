@@ -0,0 +1,189 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.api.mapper.OrderMapper;
+import com.upgrad.FoodOrderingApp.api.model.*;
+import com.upgrad.FoodOrderingApp.service.common.ItemType;
+import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated OrderMapper with the hand-written mapping of OrderController it replaced, on the order history
+ * of GET /order: every order mapped with its coupon, payment, customer, address, state and items, six nested models
+ * and two per item.
+ *
+ * The mappers are taken from a Spring context holding only the mapper package, as the controllers are handed them.
+ * Entities are built in memory, so only the mapping is measured, not loading the orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class MappingBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Param({"1000", "100000"})
+    private int orders;
+
+    private AnnotationConfigApplicationContext applicationContext;
+
+    private OrderMapper orderMapper;
+
+    private List<OrderEntity> orderEntities;
+
+    private Map<Integer, List<OrderItemEntity>> orderItemEntitiesByOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new AnnotationConfigApplicationContext("com.upgrad.FoodOrderingApp.api.mapper");
+        orderMapper = applicationContext.getBean(OrderMapper.class);
+
+        orderItemEntitiesByOrderId = new HashMap<>();
+        orderEntities = orderEntities(orders, orderItemEntitiesByOrderId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public CustomerOrderResponse handWritten() {
+        final CustomerOrderResponse customerOrderResponse = new CustomerOrderResponse();
+        for (OrderEntity orderEntity : orderEntities) {
+            customerOrderResponse.addOrdersItem(toOrderList(orderEntity,
+                    orderItemEntitiesByOrderId.getOrDefault(orderEntity.getId(), Collections.emptyList())));
+        }
+        return customerOrderResponse;
+    }
+
+    @Benchmark
+    public CustomerOrderResponse generated() {
+        return orderMapper.toCustomerOrderResponse(orderEntities, orderItemEntitiesByOrderId);
+    }
+
+    /**
+     * The mapping of an order as OrderController built it before OrderMapper
+     */
+    private static OrderList toOrderList(final OrderEntity orderEntity, final List<OrderItemEntity> orderItemEntityList) {
+        OrderListCoupon orderListCoupon = new OrderListCoupon()
+                .id(orderEntity.getCoupon().getUuid())
+                .couponName(orderEntity.getCoupon().getCouponName())
+                .percent(orderEntity.getCoupon().getPercent());
+
+        OrderListPayment orderListPayment = new OrderListPayment()
+                .id(orderEntity.getPayment().getUuid())
+                .paymentName(orderEntity.getPayment().getPaymentName());
+
+        OrderListCustomer orderListCustomer = new OrderListCustomer()
+                .id(orderEntity.getCustomer().getUuid())
+                .firstName(orderEntity.getCustomer().getFirstName())
+                .lastName(orderEntity.getCustomer().getLastName())
+                .emailAddress(orderEntity.getCustomer().getEmail())
+                .contactNumber(orderEntity.getCustomer().getContactNumber());
+
+        OrderListAddressState orderListAddressState = new OrderListAddressState()
+                .id(orderEntity.getAddress().getState().getUuid())
+                .stateName(orderEntity.getAddress().getState().getStatename());
+
+        OrderListAddress orderListAddress = new OrderListAddress()
+                .id(orderEntity.getAddress().getUuid())
+                .flatBuildingName(orderEntity.getAddress().getFlatBuilNo())
+                .locality(orderEntity.getAddress().getLocality())
+                .city(orderEntity.getAddress().getCity())
+                .pincode(orderEntity.getAddress().getPincode())
+                .state(orderListAddressState);
+
+        OrderList orderList = new OrderList()
+                .id(orderEntity.getUuid())
+                .bill(new BigDecimal(orderEntity.getBill()))
+                .coupon(orderListCoupon)
+                .discount(new BigDecimal(orderEntity.getDiscount()))
+                .date(orderEntity.getDate().toString())
+                .payment(orderListPayment)
+                .customer(orderListCustomer)
+                .address(orderListAddress);
+
+        for (OrderItemEntity orderItemEntity : orderItemEntityList) {
+            ItemQuantityResponseItem itemQuantityResponseItem = new ItemQuantityResponseItem()
+                    .id(orderItemEntity.getItem().getUuid())
+                    .itemName(orderItemEntity.getItem().getItemName())
+                    .itemPrice(orderItemEntity.getItem().getPrice())
+                    .type(ItemQuantityResponseItem.TypeEnum.fromValue(orderItemEntity.getItem().getType().getValue()));
+
+            ItemQuantityResponse itemQuantityResponse = new ItemQuantityResponse()
+                    .item(itemQuantityResponseItem)
+                    .quantity(orderItemEntity.getQuantity())
+                    .price(orderItemEntity.getPrice());
+
+            orderList.addItemQuantitiesItem(itemQuantityResponse);
+        }
+
+        return orderList;
+    }
+
+    /**
+     * Builds orders as the order queries return them, with coupon, payment, customer, address and state, and three
+     * items each
+     *
+     * @param orders number of orders
+     * @param orderItemEntitiesByOrderId receives the items of the orders by order id
+     *
+     * @return the orders
+     */
+    static List<OrderEntity> orderEntities(final int orders, final Map<Integer, List<OrderItemEntity>> orderItemEntitiesByOrderId) {
+        final Random random = new Random(42);
+        final StateEntity stateEntity = new StateEntity(uuid(random), "Maharashtra");
+        final PaymentEntity paymentEntity = new PaymentEntity(uuid(random), "Credit Card");
+        final CouponEntity couponEntity = new CouponEntity(uuid(random), "FLAT10", 10);
+        final List<ItemEntity> itemEntities = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final ItemEntity itemEntity = new ItemEntity();
+            itemEntity.setUuid(uuid(random));
+            itemEntity.setItemName("Item " + i);
+            itemEntity.setPrice(100 + random.nextInt(400));
+            itemEntity.setType(random.nextBoolean() ? ItemType.VEG : ItemType.NON_VEG);
+            itemEntities.add(itemEntity);
+        }
+
+        final List<OrderEntity> orderEntities = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            final CustomerEntity customerEntity = new CustomerEntity();
+            customerEntity.setUuid(uuid(random));
+            customerEntity.setFirstName("First" + i);
+            customerEntity.setLastName("Last" + i);
+            customerEntity.setEmail("customer" + i + "@example.com");
+            customerEntity.setContactNumber(String.valueOf(9000000000L + i));
+            final AddressEntity addressEntity = new AddressEntity(uuid(random), i + ", Main Road", "Andheri", "Mumbai",
+                    "400053", stateEntity);
+
+            final OrderEntity orderEntity = new OrderEntity(uuid(random), 100.0 + random.nextInt(2000), couponEntity,
+                    10.0 * random.nextInt(20), new Date(), paymentEntity, customerEntity, addressEntity, null);
+            orderEntity.setId(i + 1);
+            orderEntities.add(orderEntity);
+
+            final List<OrderItemEntity> orderItemEntities = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                final OrderItemEntity orderItemEntity = new OrderItemEntity();
+                orderItemEntity.setOrder(orderEntity);
+                orderItemEntity.setItem(itemEntities.get(random.nextInt(itemEntities.size())));
+                orderItemEntity.setQuantity(1 + random.nextInt(3));
+                orderItemEntity.setPrice(orderItemEntity.getQuantity() * orderItemEntity.getItem().getPrice());
+                orderItemEntities.add(orderItemEntity);
+            }
+            orderItemEntitiesByOrderId.put(orderEntity.getId(), orderItemEntities);
+        }
+        return orderEntities;
+    }
+
+    private static UUID uuid(final Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,79 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.business.PasswordCryptographyProvider;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures PBKDF2 password hashes per second on one core, for the iteration counts 'password.hashing.iterations' is
+ * likely to be set to.
+ *
+ * lookupPerHash is the previous hashing, which looked up a SecretKeyFactory for every hash, cachedFactory hashes with a
+ * factory cached per thread, and bounded goes through PasswordCryptographyProvider and its single hashing permit, so
+ * its difference to cachedFactory is the cost of the bound. Run with -t N and a provider of N threads to see how
+ * hashing scales over cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Passw0rd#123";
+
+    @Param({"1000", "10000", "210000"})
+    private int iterations;
+
+    private byte[] saltBytes;
+
+    private String salt;
+
+    private String hashedPassword;
+
+    private PasswordCryptographyProvider passwordCryptographyProvider;
+
+    @State(Scope.Thread)
+    public static class ThreadFactoryState {
+
+        private SecretKeyFactory secretKeyFactory;
+
+        @Setup
+        public void setUp() throws GeneralSecurityException {
+            secretKeyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        passwordCryptographyProvider = new PasswordCryptographyProvider(iterations, 1, 1000, 60000);
+        final String[] encrypted = passwordCryptographyProvider.encrypt(PASSWORD);
+        salt = encrypted[0];
+        hashedPassword = encrypted[1];
+        saltBytes = new byte[32];
+        new Random(42).nextBytes(saltBytes);
+    }
+
+    @Benchmark
+    public byte[] lookupPerHash() throws GeneralSecurityException {
+        final SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512");
+        return secretKeyFactory.generateSecret(new PBEKeySpec(PASSWORD.toCharArray(), saltBytes, iterations, 64)).getEncoded();
+    }
+
+    @Benchmark
+    public byte[] cachedFactory(final ThreadFactoryState threadFactoryState) throws GeneralSecurityException {
+        return threadFactoryState.secretKeyFactory.generateSecret(new PBEKeySpec(PASSWORD.toCharArray(), saltBytes, iterations, 64)).getEncoded();
+    }
+
+    @Benchmark
+    public boolean bounded() {
+        return passwordCryptographyProvider.matches(PASSWORD, salt, hashedPassword);
+    }
+}
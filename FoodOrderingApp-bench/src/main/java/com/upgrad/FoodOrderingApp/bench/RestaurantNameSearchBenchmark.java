@@ -0,0 +1,82 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.business.RestaurantNameIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the trigram RestaurantNameIndex with the linear toLowerCase().contains() scan it replaced in
+ * RestaurantService.restaurantsByName, over synthetic restaurant names.
+ *
+ * Both sides return matches in alphabetical order of restaurant name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class RestaurantNameSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"Golden", "Royal", "Spicy", "Little", "Grand", "Happy", "Urban", "Rustic",
+            "Blue", "Green", "Red", "Silver", "Hungry", "Lazy", "Classic", "Fresh"};
+
+    private static final String[] CUISINES = {"Dragon", "Curry", "Tandoor", "Pizza", "Burger", "Sushi", "Taco", "Biryani",
+            "Dosa", "Noodle", "Grill", "Bakery", "Kebab", "Thali", "Momo", "Waffle"};
+
+    private static final String[] NOUNS = {"House", "Kitchen", "Palace", "Corner", "Express", "Point", "Hub", "Cafe",
+            "Diner", "Bistro", "Garden", "Junction"};
+
+    @Param({"1000", "100000", "1000000"})
+    private int restaurants;
+
+    /**
+     * common: matches about 1 in 16 names, rare: about 1 in 1000, none: no match, short: below the trigram length
+     */
+    @Param({"spicy", "n curry pal", "qzx", "ri"})
+    private String query;
+
+    private UUID[] uuids;
+
+    private String[] names;
+
+    private RestaurantNameIndex restaurantNameIndex;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        uuids = new UUID[restaurants];
+        names = new String[restaurants];
+        final Map<UUID, String> namesByUuid = new HashMap<>();
+        for (int i = 0; i < restaurants; i++) {
+            uuids[i] = new UUID(random.nextLong(), random.nextLong());
+            names[i] = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + CUISINES[random.nextInt(CUISINES.length)]
+                    + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + random.nextInt(1000);
+            namesByUuid.put(uuids[i], names[i]);
+        }
+        restaurantNameIndex = new RestaurantNameIndex(namesByUuid);
+    }
+
+    @Benchmark
+    public List<UUID> linearScan() {
+        final List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].toLowerCase().contains(query.toLowerCase())) {
+                matches.add(i);
+            }
+        }
+        matches.sort(Comparator.comparing((Integer i) -> names[i]).thenComparing(i -> uuids[i]));
+        final List<UUID> matchingUuids = new ArrayList<>(matches.size());
+        for (int i : matches) {
+            matchingUuids.add(uuids[i]);
+        }
+        return matchingUuids;
+    }
+
+    @Benchmark
+    public List<UUID> trigramIndex() {
+        return restaurantNameIndex.search(query);
+    }
+}
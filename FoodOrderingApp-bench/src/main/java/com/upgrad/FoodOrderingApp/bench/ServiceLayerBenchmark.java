@@ -0,0 +1,105 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.business.*;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the service layer operations behind the busiest endpoints, with the services wired by Spring against an
+ * embedded database of the seed data (scale 0) or of the seed data grown by the SyntheticDataGenerator.
+ *
+ * Restaurants and categories are picked at random from the catalog per invocation, so that the results do not depend
+ * on a single, possibly cached, restaurant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ServiceLayerBenchmark {
+
+    // the customer of the seed data migration
+    private static final String CUSTOMER_UUID = "7d174a25-ba31-45a8-85b4-b06ffc9d5f8f";
+
+    @Param({"0", "10", "100"})
+    private int scale;
+
+    @Param({"house"})
+    private String restaurantName;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private RestaurantService restaurantService;
+
+    private ItemService itemService;
+
+    private PasswordCryptographyProvider passwordCryptographyProvider;
+
+    private JwtKeyRing jwtKeyRing;
+
+    private List<RestaurantEntity> restaurantEntities;
+
+    @State(Scope.Thread)
+    public static class RandomState {
+
+        private final Random random = new Random(42);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        applicationContext = BenchmarkDatabase.start(scale);
+        restaurantService = applicationContext.getBean(RestaurantService.class);
+        itemService = applicationContext.getBean(ItemService.class);
+        passwordCryptographyProvider = applicationContext.getBean(PasswordCryptographyProvider.class);
+        jwtKeyRing = applicationContext.getBean(JwtKeyRing.class);
+        restaurantEntities = BenchmarkDatabase.restaurantsByRating(applicationContext);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public List<RestaurantEntity> restaurantsByName() throws RestaurantNotFoundException {
+        return restaurantService.restaurantsByName(restaurantName);
+    }
+
+    @Benchmark
+    public List<ItemEntity> getItemsByPopularity(final RandomState randomState) {
+        return itemService.getItemsByPopularity(randomRestaurant(randomState));
+    }
+
+    @Benchmark
+    public List<ItemEntity> getItemsByCategoryAndRestaurant(final RandomState randomState) {
+        final RestaurantEntity restaurantEntity = randomRestaurant(randomState);
+        final List<CategoryEntity> categoryEntities = restaurantEntity.getCategories();
+        final CategoryEntity categoryEntity = categoryEntities.get(randomState.random.nextInt(categoryEntities.size()));
+        return itemService.getItemsByCategoryAndRestaurant(restaurantEntity.getUuid(), categoryEntity.getUuid());
+    }
+
+    @Benchmark
+    public String[] encrypt() {
+        return passwordCryptographyProvider.encrypt("Passw0rd#123");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        final ZonedDateTime now = ZonedDateTime.now();
+        return jwtKeyRing.getActiveProvider().generateToken(CUSTOMER_UUID, 1, now, now.plusHours(8));
+    }
+
+    private RestaurantEntity randomRestaurant(final RandomState randomState) {
+        return restaurantEntities.get(randomState.random.nextInt(restaurantEntities.size()));
+    }
+}
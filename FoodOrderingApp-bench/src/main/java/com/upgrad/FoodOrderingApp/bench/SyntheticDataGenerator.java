@@ -0,0 +1,250 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import java.sql.*;
+import java.util.Base64;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * SyntheticDataGenerator grows the seed data migration with generated restaurants, items, customers and orders.
+ *
+ * Every unit of scale adds 100 restaurants with 20 items each, 100 customers with an address and a login each and
+ * 1000 orders of 3 items each, about 10,000 rows, so a scale of 100 gives a database of a million rows. Ids are assigned explicitly
+ * after the seed data and the id generators are moved past them afterwards. Rows are inserted in JDBC batches, each
+ * committed on its own. The same seed gives the same data.
+ */
+public class SyntheticDataGenerator {
+
+    static final int RESTAURANTS_PER_SCALE = 100;
+
+    static final int ITEMS_PER_RESTAURANT = 20;
+
+    static final int CATEGORIES_PER_RESTAURANT = 3;
+
+    static final int CUSTOMERS_PER_SCALE = 100;
+
+    static final int ORDERS_PER_SCALE = 1000;
+
+    static final int ITEMS_PER_ORDER = 3;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] ADJECTIVES = {"Golden", "Royal", "Spicy", "Little", "Grand", "Happy", "Urban", "Rustic",
+            "Blue", "Green", "Red", "Silver", "Hungry", "Lazy", "Classic", "Fresh"};
+
+    private static final String[] CUISINES = {"Dragon", "Curry", "Tandoor", "Pizza", "Burger", "Sushi", "Taco", "Biryani",
+            "Dosa", "Noodle", "Grill", "Bakery", "Kebab", "Thali", "Momo", "Waffle"};
+
+    private static final String[] NOUNS = {"House", "Kitchen", "Palace", "Corner", "Express", "Point", "Hub", "Cafe",
+            "Diner", "Bistro", "Garden", "Junction"};
+
+    private final Connection connection;
+
+    private final Random random;
+
+    public SyntheticDataGenerator(final Connection connection, final long seed) {
+        this.connection = connection;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates the data for a scale
+     *
+     * @param scale Number of units of data to generate
+     */
+    public void generate(final int scale) throws SQLException {
+        if (scale <= 0) {
+            return;
+        }
+        final int states = count("state");
+        final int categoryBase = maxId("category");
+        final int categories = count("category");
+        final int couponBase = maxId("coupon") - count("coupon");
+        final int coupons = count("coupon");
+        final int paymentBase = maxId("payment") - count("payment");
+        final int payments = count("payment");
+
+        final int restaurants = scale * RESTAURANTS_PER_SCALE;
+        final int customers = scale * CUSTOMERS_PER_SCALE;
+        final int orders = scale * ORDERS_PER_SCALE;
+
+        final int addressBase = maxId("address");
+        final int restaurantBase = maxId("restaurant");
+        final int itemBase = maxId("item");
+        final int customerBase = maxId("customer");
+        final int customerAuthBase = maxId("customer_auth");
+        final int orderBase = maxId("orders");
+        final int orderItemBase = maxId("order_item");
+
+        // one address per restaurant followed by one per customer
+        try (Batch address = new Batch("INSERT INTO address(id,uuid,flat_buil_number,locality,city,pincode,state_id,active) VALUES(?,?,?,?,?,?,?,1)")) {
+            for (int i = 1; i <= restaurants + customers; i++) {
+                address.add(addressBase + i, uuid(), random.nextInt(500) + " Main Road", "Locality " + random.nextInt(1000),
+                        "City " + random.nextInt(100), String.valueOf(400000 + random.nextInt(100000)), 1 + random.nextInt(states));
+            }
+        }
+
+        // every table is written before the rows referring to it, as batches of different tables fill up, and are
+        // closed, at different times
+        final int[] firstCategories = new int[restaurants + 1];
+        try (Batch restaurant = new Batch("INSERT INTO restaurant(id,uuid,restaurant_name,photo_url,customer_rating,customer_rating_sum,average_price_for_two,number_of_customers_rated,address_id) VALUES(?,?,?,?,?,?,?,?,?)")) {
+            for (int r = 1; r <= restaurants; r++) {
+                final int restaurantId = restaurantBase + r;
+                final double rating = 1 + random.nextInt(40) / 10.0;
+                final int ratings = random.nextInt(2000);
+                restaurant.add(restaurantId, uuid(), restaurantName(), "https://example.com/" + restaurantId + ".jpg",
+                        rating, rating * ratings, 100 * (1 + random.nextInt(30)), ratings, addressBase + r);
+                firstCategories[r] = random.nextInt(categories);
+            }
+        }
+
+        try (Batch item = new Batch("INSERT INTO item(id,uuid,item_name,price,type) VALUES(?,?,?,?,?)")) {
+            for (int i = 1; i <= restaurants * ITEMS_PER_RESTAURANT; i++) {
+                item.add(itemBase + i, uuid(), CUISINES[random.nextInt(CUISINES.length)] + " special " + ((i - 1) % ITEMS_PER_RESTAURANT + 1),
+                        50 + random.nextInt(500), String.valueOf(random.nextInt(2)));
+            }
+        }
+
+        try (Batch restaurantCategory = new Batch("INSERT INTO restaurant_category(restaurant_id,category_id) VALUES(?,?)");
+             Batch restaurantItem = new Batch("INSERT INTO restaurant_item(item_id,restaurant_id) VALUES(?,?)");
+             Batch categoryItem = new Batch("INSERT INTO category_item(item_id,category_id) VALUES(?,?)")) {
+            for (int r = 1; r <= restaurants; r++) {
+                final int restaurantId = restaurantBase + r;
+                final int firstCategory = firstCategories[r];
+                for (int c = 0; c < Math.min(CATEGORIES_PER_RESTAURANT, categories); c++) {
+                    restaurantCategory.add(restaurantId, categoryBase - categories + 1 + (firstCategory + c) % categories);
+                }
+                for (int i = 1; i <= ITEMS_PER_RESTAURANT; i++) {
+                    final int itemId = itemBase + (r - 1) * ITEMS_PER_RESTAURANT + i;
+                    restaurantItem.add(itemId, restaurantId);
+                    categoryItem.add(itemId, categoryBase - categories + 1 + (firstCategory + random.nextInt(CATEGORIES_PER_RESTAURANT)) % categories);
+                }
+            }
+        }
+
+        try (Batch customer = new Batch("INSERT INTO customer(id,uuid,firstname,lastname,email,contact_number,password,salt) VALUES(?,?,?,?,?,?,?,?)")) {
+            for (int c = 1; c <= customers; c++) {
+                final int customerId = customerBase + c;
+                customer.add(customerId, uuid(), "first" + c, "last" + c, "customer" + c + "@example.com",
+                        String.valueOf(7000000000L + customerId), "00", "1000$" + salt());
+            }
+        }
+
+        try (Batch customerAddress = new Batch("INSERT INTO customer_address(customer_id,address_id) VALUES(?,?)");
+             Batch customerAuth = new Batch("INSERT INTO customer_auth(id,uuid,customer_id,access_token,login_at,logout_at,expires_at) VALUES(?,?,?,?,?,?,?)")) {
+            final long now = System.currentTimeMillis();
+            for (int c = 1; c <= customers; c++) {
+                final int customerId = customerBase + c;
+                customerAddress.add(customerId, addressBase + restaurants + c);
+                final Timestamp loginAt = new Timestamp(now - random.nextInt(30 * 24 * 3600) * 1000L);
+                customerAuth.add(customerAuthBase + c, uuid(), customerId, "token-" + uuid(), loginAt, null,
+                        new Timestamp(loginAt.getTime() + 8 * 3600 * 1000L));
+            }
+        }
+
+        final int[] orderRestaurants = new int[orders + 1];
+        try (Batch order = new Batch("INSERT INTO orders(id,uuid,bill,coupon_id,discount,date,payment_id,customer_id,address_id,restaurant_id) VALUES(?,?,?,?,?,?,?,?,?,?)")) {
+            final long now = System.currentTimeMillis();
+            for (int o = 1; o <= orders; o++) {
+                final int c = 1 + random.nextInt(customers);
+                final int r = 1 + random.nextInt(restaurants);
+                order.add(orderBase + o, uuid(), 100 + random.nextInt(2000), couponBase + 1 + random.nextInt(coupons), random.nextInt(100),
+                        new Timestamp(now - random.nextInt(365 * 24 * 3600) * 1000L), paymentBase + 1 + random.nextInt(payments),
+                        customerBase + c, addressBase + restaurants + c, restaurantBase + r);
+                orderRestaurants[o] = r;
+            }
+        }
+
+        try (Batch orderItem = new Batch("INSERT INTO order_item(id,order_id,item_id,quantity,price) VALUES(?,?,?,?,?)")) {
+            for (int o = 1; o <= orders; o++) {
+                for (int i = 1; i <= ITEMS_PER_ORDER; i++) {
+                    orderItem.add(orderItemBase + (o - 1) * ITEMS_PER_ORDER + i, orderBase + o,
+                            itemBase + (orderRestaurants[o] - 1) * ITEMS_PER_RESTAURANT + 1 + random.nextInt(ITEMS_PER_RESTAURANT), 1 + random.nextInt(3), 50 + random.nextInt(500));
+                }
+            }
+        }
+
+        restartIdentity("address", addressBase + restaurants + customers + 1);
+        restartIdentity("restaurant", restaurantBase + restaurants + 1);
+        restartIdentity("item", itemBase + restaurants * ITEMS_PER_RESTAURANT + 1);
+        restartIdentity("customer", customerBase + customers + 1);
+        restartIdentity("customer_auth", customerAuthBase + customers + 1);
+        restartSequence("orders_id_seq", orderBase + orders + 1);
+        restartSequence("order_item_id_seq", orderItemBase + orders * ITEMS_PER_ORDER + 1);
+    }
+
+    private String restaurantName() {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + CUISINES[random.nextInt(CUISINES.length)]
+                + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + random.nextInt(1000);
+    }
+
+    private String salt() {
+        final byte[] salt = new byte[32];
+        random.nextBytes(salt);
+        return Base64.getEncoder().encodeToString(salt);
+    }
+
+    private UUID uuid() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private int count(final String table) throws SQLException {
+        return queryInt("SELECT COUNT(*) FROM " + table);
+    }
+
+    private int maxId(final String table) throws SQLException {
+        return queryInt("SELECT COALESCE(MAX(id), 0) FROM " + table);
+    }
+
+    private int queryInt(final String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private void restartIdentity(final String table, final int next) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private void restartSequence(final String sequence, final int next) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+        }
+    }
+
+    /**
+     * Prepared insert executed every BATCH_SIZE rows and once more when closed
+     */
+    private final class Batch implements AutoCloseable {
+
+        private final PreparedStatement preparedStatement;
+
+        private int rows;
+
+        private Batch(final String sql) throws SQLException {
+            this.preparedStatement = connection.prepareStatement(sql);
+        }
+
+        private void add(final Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                preparedStatement.setObject(i + 1, values[i]);
+            }
+            preparedStatement.addBatch();
+            if (++rows % BATCH_SIZE == 0) {
+                preparedStatement.executeBatch();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                preparedStatement.executeBatch();
+            } finally {
+                preparedStatement.close();
+            }
+        }
+    }
+}
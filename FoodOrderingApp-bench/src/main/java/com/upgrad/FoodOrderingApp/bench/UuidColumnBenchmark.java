@@ -0,0 +1,121 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the uuid columns as they were, VARCHAR(200) holding the text of the UUIDs, with the UUID columns of
+ * V5__uuid_columns.sql: the latency of a lookup by uuid through the UNIQUE index, as every restaurant, item, address
+ * and order of a request is looked up, and the size of that index.
+ *
+ * The size is printed per trial as the growth of the H2 database file when the index is built, the rows having been
+ * written before. It is approximate, as the file grows by whole blocks, but comparable between the two column types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class UuidColumnBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"VARCHAR(200)", "UUID"})
+    private String columnType;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private Path directory;
+
+    private Connection connection;
+
+    private PreparedStatement lookup;
+
+    /**
+     * the uuids of the rows, as the JDBC driver is given them: as text for VARCHAR(200), as UUID for UUID
+     */
+    private Object[] keys;
+
+    @State(Scope.Thread)
+    public static class RandomState {
+
+        private final Random random = new Random(42);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("uuid-column-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("bench") + ";MODE=PostgreSQL;RETENTION_TIME=0", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE uuid_lookup(id INTEGER PRIMARY KEY, uuid " + columnType + " NOT NULL)");
+        }
+
+        final Random random = new Random(42);
+        keys = new Object[rows];
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO uuid_lookup(id, uuid) VALUES(?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                final UUID uuid = new UUID(random.nextLong(), random.nextLong());
+                keys[i] = "UUID".equals(columnType) ? uuid : uuid.toString();
+                insert.setInt(1, i + 1);
+                insert.setObject(2, keys[i]);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        final long tableBytes = databaseBytes();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE UNIQUE INDEX uuid_lookup_uuid_key ON uuid_lookup(uuid)");
+        }
+        final long indexBytes = databaseBytes() - tableBytes;
+        System.out.println(String.format("%n%s column, %d rows: table %.1f MB, uuid index %.1f MB, %.1f bytes per row",
+                columnType, rows, tableBytes / 1e6, indexBytes / 1e6, (double) indexBytes / rows));
+
+        lookup = connection.prepareStatement("SELECT id FROM uuid_lookup WHERE uuid = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        lookup.close();
+        connection.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public int lookupByUuid(final RandomState randomState) throws SQLException {
+        lookup.setObject(1, keys[randomState.random.nextInt(keys.length)]);
+        try (ResultSet resultSet = lookup.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * @return the size of the database file once everything written so far is in it
+     */
+    private long databaseBytes() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CHECKPOINT SYNC");
+        }
+        return directory.resolve("bench.mv.db").toFile().length();
+    }
+}
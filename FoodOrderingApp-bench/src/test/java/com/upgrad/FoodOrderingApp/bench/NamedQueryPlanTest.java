@@ -0,0 +1,200 @@
+package com.upgrad.FoodOrderingApp.bench;
+
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantListView;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NamedNativeQueries;
+import javax.persistence.NamedNativeQuery;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.metamodel.EntityType;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// This class checks that no named query of the entities reads a whole table to find its rows, by explaining the plan
+// of each of them on the embedded database of the benchmarks, grown to a scale of 1
+public class NamedQueryPlanTest {
+
+    // tables up to this size are read whole by the optimizer whether they have an index or not
+    private static final int SMALL_TABLE_ROWS = 50;
+
+    // reference data of the seed migration, which does not grow with the scale and stays below SMALL_TABLE_ROWS, so
+    // their scans say nothing about their indexes; the all* queries of these tables need no entry in READ_ALL_ROWS
+    private static final List<String> REFERENCE_TABLES = Arrays.asList("STATE", "PAYMENT", "COUPON", "CATEGORY");
+
+    // queries which read every row of one table by design, with that table; the tables they join to it must still be
+    // found by an index
+    private static final Map<String, String> READ_ALL_ROWS = new HashMap<>();
+
+    static {
+        // the restaurant list, read whole by the catalog snapshot and by the native list query
+        READ_ALL_ROWS.put("allRestaurantsByRating", "RESTAURANT");
+        READ_ALL_ROWS.put("allRestaurantsWithCategories", "RESTAURANT");
+        READ_ALL_ROWS.put("allRestaurantsWithItems", "RESTAURANT");
+        READ_ALL_ROWS.put("restaurantListRowsByRating", "RESTAURANT");
+        // every item of the catalog snapshot
+        READ_ALL_ROWS.put("allItems", "ITEM");
+        // not called by any dao, kept from the original AddressEntity
+        READ_ALL_ROWS.put("allAddresses", "ADDRESS");
+    }
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* PUBLIC\\.(\\w+)\\.tableScan");
+
+    private static final Pattern TABLE = Pattern.compile("(?:FROM|JOIN|UPDATE)\\s+PUBLIC\\.(\\w+)");
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):\\w+");
+
+    private static ConfigurableApplicationContext applicationContext;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        applicationContext = BenchmarkDatabase.start(1);
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        applicationContext.close();
+    }
+
+    //This test case passes when every table a named query reads, other than the reference tables, is large enough at
+    // this scale for the optimizer to prefer an index to a scan, so that a missing index shows as a scan
+    @Test
+    public void shouldReadTablesAboveSmallTableRows() throws SQLException {
+        final List<String> smallTables = new ArrayList<>();
+        try (Connection connection = applicationContext.getBean(DataSource.class).getConnection()) {
+            for (String sql : namedQueriesAsSql().values()) {
+                final Matcher table = TABLE.matcher(explain(connection, sql));
+                while (table.find()) {
+                    final String tableName = table.group(1);
+                    if (!REFERENCE_TABLES.contains(tableName) && !smallTables.contains(tableName)
+                            && count(connection, tableName) <= SMALL_TABLE_ROWS) {
+                        smallTables.add(tableName);
+                    }
+                }
+            }
+        }
+        assertTrue(String.join(", ", smallTables), smallTables.isEmpty());
+    }
+
+    //This test case passes when every named query finds its rows by an index, except for the scans of reference tables
+    // and of the one table a query reads whole on purpose
+    @Test
+    public void shouldNotScanLargeTablesInNamedQueries() throws SQLException {
+        final List<String> tableScans = new ArrayList<>();
+        try (Connection connection = applicationContext.getBean(DataSource.class).getConnection()) {
+            for (Map.Entry<String, String> namedQuery : namedQueriesAsSql().entrySet()) {
+                final String plan = explain(connection, namedQuery.getValue());
+                final Matcher tableScan = TABLE_SCAN.matcher(plan);
+                while (tableScan.find()) {
+                    final String tableName = tableScan.group(1);
+                    if (!REFERENCE_TABLES.contains(tableName) && !tableName.equals(READ_ALL_ROWS.get(namedQuery.getKey()))) {
+                        tableScans.add(namedQuery.getKey() + " scans " + tableName + ": " + plan);
+                    }
+                }
+            }
+        }
+        assertTrue(String.join("\n", tableScans), tableScans.isEmpty());
+    }
+
+    //This test case passes when the restaurant list is read from the embedded database, with the sorted category names
+    // of every restaurant
+    @Test
+    public void shouldReadRestaurantListViewsWithSortedCategories() {
+        final RestaurantDao restaurantDao = applicationContext.getBean(RestaurantDao.class);
+        final Map<UUID, String> categoryNamesByRestaurantUuid = new HashMap<>();
+        for (RestaurantEntity restaurantEntity : restaurantDao.getAllRestaurantsWithCategoriesAndItems()) {
+            final List<String> categoryNames = new ArrayList<>();
+            for (CategoryEntity categoryEntity : restaurantEntity.getCategories()) {
+                categoryNames.add(categoryEntity.getCategoryName());
+            }
+            Collections.sort(categoryNames);
+            categoryNamesByRestaurantUuid.put(restaurantEntity.getUuid(), String.join(", ", categoryNames));
+        }
+
+        final List<RestaurantListView> restaurantListViews = restaurantDao.restaurantListViewsByRating();
+        assertEquals(categoryNamesByRestaurantUuid.size(), restaurantListViews.size());
+        for (RestaurantListView restaurantListView : restaurantListViews) {
+            assertEquals(categoryNamesByRestaurantUuid.get(restaurantListView.getUuid()), restaurantListView.getCategories());
+        }
+    }
+
+    private Map<String, String> namedQueriesAsSql() {
+        final SessionFactoryImplementor sessionFactory = applicationContext.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactoryImplementor.class);
+        final Map<String, String> sqlByName = new LinkedHashMap<>();
+        for (EntityType<?> entityType : sessionFactory.getMetamodel().getEntities()) {
+            final Class<?> entityClass = entityType.getJavaType();
+            final List<NamedQuery> namedQueries = new ArrayList<>();
+            if (entityClass.isAnnotationPresent(NamedQueries.class)) {
+                namedQueries.addAll(Arrays.asList(entityClass.getAnnotation(NamedQueries.class).value()));
+            }
+            if (entityClass.isAnnotationPresent(NamedQuery.class)) {
+                namedQueries.add(entityClass.getAnnotation(NamedQuery.class));
+            }
+            for (NamedQuery namedQuery : namedQueries) {
+                sqlByName.put(namedQuery.name(), sessionFactory.getQueryPlanCache()
+                        .getHQLQueryPlan(namedQuery.query(), false, Collections.emptyMap()).getSqlStrings()[0]);
+            }
+
+            final List<NamedNativeQuery> namedNativeQueries = new ArrayList<>();
+            if (entityClass.isAnnotationPresent(NamedNativeQueries.class)) {
+                namedNativeQueries.addAll(Arrays.asList(entityClass.getAnnotation(NamedNativeQueries.class).value()));
+            }
+            if (entityClass.isAnnotationPresent(NamedNativeQuery.class)) {
+                namedNativeQueries.add(entityClass.getAnnotation(NamedNativeQuery.class));
+            }
+            for (NamedNativeQuery namedNativeQuery : namedNativeQueries) {
+                sqlByName.put(namedNativeQuery.name(), NAMED_PARAMETER.matcher(namedNativeQuery.query()).replaceAll("?"));
+            }
+        }
+        return sqlByName;
+    }
+
+    private String explain(final Connection connection, final String sql) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // the plan is chosen when the statement is prepared, the values only have to be set
+            for (int i = 1; i <= preparedStatement.getParameterMetaData().getParameterCount(); i++) {
+                preparedStatement.setObject(i, null);
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                final StringBuilder plan = new StringBuilder();
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    private int count(final Connection connection, final String table) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) FROM " + table);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- order and order item ids are taken 50 at a time by Hibernate, so their sequences move 50 at a time too;
+-- the sequences already exist on Postgres, where SERIAL creates them, the CREATE is for databases where it does not
+CREATE SEQUENCE IF NOT EXISTS orders_id_seq;
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_item_id_seq;
+ALTER SEQUENCE order_item_id_seq INCREMENT BY 50;
+
+-- sum of all ratings given to a restaurant, customer_rating is this divided by number_of_customers_rated
+ALTER TABLE RESTAURANT ADD COLUMN IF NOT EXISTS customer_rating_sum DECIMAL NOT NULL DEFAULT 0;
+UPDATE RESTAURANT SET customer_rating_sum = customer_rating * number_of_customers_rated WHERE customer_rating_sum = 0;
@@ -0,0 +1,28 @@
+-- indexes for the lookups of the named queries in FoodOrderingApp-service's entity package, the uuid columns,
+-- customer.contact_number and the primary keys are indexed by their UNIQUE and PRIMARY KEY constraints already
+
+-- customerAuthByAccessToken, on every authorized request
+CREATE INDEX IF NOT EXISTS customer_auth_access_token_idx ON CUSTOMER_AUTH(access_token);
+CREATE INDEX IF NOT EXISTS customer_auth_customer_id_idx ON CUSTOMER_AUTH(customer_id);
+-- the revocation sync of 'auth.verification: jwt' reads the logouts since its previous read
+CREATE INDEX IF NOT EXISTS customer_auth_logout_at_idx ON CUSTOMER_AUTH(logout_at);
+
+-- ordersByCustomer and ordersWithDetailsByCustomer(After), in the order and at the keyset of the order history pages
+CREATE INDEX IF NOT EXISTS orders_customer_id_date_id_idx ON ORDERS(customer_id, date DESC, id DESC);
+-- ordersByRestaurant and itemCountsByRestaurant
+CREATE INDEX IF NOT EXISTS orders_restaurant_id_idx ON ORDERS(restaurant_id);
+-- ordersByAddress
+CREATE INDEX IF NOT EXISTS orders_address_id_idx ON ORDERS(address_id);
+
+-- itemsByOrder, itemsByOrders and itemCountsByRestaurant, which reads item_id from the index alone
+CREATE INDEX IF NOT EXISTS order_item_order_id_item_id_idx ON ORDER_ITEM(order_id, item_id);
+
+-- couponByCouponName
+CREATE INDEX IF NOT EXISTS coupon_coupon_name_idx ON COUPON(coupon_name);
+
+-- the join tables are read from both of their sides; their unique indexes on the pairs follow in
+-- V6__remove_duplicate_links, which first sets aside the rows relating a pair more than once
+CREATE INDEX IF NOT EXISTS restaurant_item_item_id_idx ON RESTAURANT_ITEM(item_id);
+CREATE INDEX IF NOT EXISTS category_item_item_id_idx ON CATEGORY_ITEM(item_id);
+CREATE INDEX IF NOT EXISTS restaurant_category_category_id_idx ON RESTAURANT_CATEGORY(category_id);
+CREATE INDEX IF NOT EXISTS customer_address_customer_id_idx ON CUSTOMER_ADDRESS(customer_id);
@@ -0,0 +1,15 @@
+-- the uuid columns hold their UUIDs as the 16 bytes of the uuid type rather than as 36 characters of text, which
+-- makes them and their UNIQUE indexes less than half the size, and compares them as two numbers instead of as text;
+-- the UNIQUE constraints stay as they are and have their indexes rebuilt with the column.
+-- ${uuid_column_type} is how the database converts a column: 'TYPE UUID USING uuid::uuid' on Postgres,
+-- see the flyway-maven-plugin configuration, 'UUID NOT NULL' on H2, see the bench module's BenchmarkDatabase
+ALTER TABLE CUSTOMER ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE CATEGORY ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE COUPON ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE PAYMENT ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE STATE ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE ADDRESS ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE ITEM ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE RESTAURANT ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE ORDERS ALTER COLUMN uuid ${uuid_column_type};
+ALTER TABLE CUSTOMER_AUTH ALTER COLUMN uuid ${uuid_column_type};
@@ -0,0 +1,24 @@
+-- data fix: a restaurant/item, category/item or restaurant/category pair may only be related once, and an address
+-- belongs to a single customer, which the unique indexes at the end enforce. Rows breaking that would make those
+-- indexes fail, so of every such pair only its first row, the one of lowest id, is kept, and an address linked to
+-- more than one customer stays with the first of them.
+-- Nothing is lost: every removed row is copied to a removed_* table of the same columns first. Check them after the
+-- migration, put back any row that was wanted in place of the kept one, and drop them once done.
+CREATE TABLE removed_restaurant_item AS
+    SELECT * FROM RESTAURANT_ITEM WHERE id NOT IN (SELECT MIN(id) FROM RESTAURANT_ITEM GROUP BY restaurant_id, item_id);
+CREATE TABLE removed_category_item AS
+    SELECT * FROM CATEGORY_ITEM WHERE id NOT IN (SELECT MIN(id) FROM CATEGORY_ITEM GROUP BY category_id, item_id);
+CREATE TABLE removed_restaurant_category AS
+    SELECT * FROM RESTAURANT_CATEGORY WHERE id NOT IN (SELECT MIN(id) FROM RESTAURANT_CATEGORY GROUP BY restaurant_id, category_id);
+CREATE TABLE removed_customer_address AS
+    SELECT * FROM CUSTOMER_ADDRESS WHERE id NOT IN (SELECT MIN(id) FROM CUSTOMER_ADDRESS GROUP BY address_id);
+
+DELETE FROM RESTAURANT_ITEM WHERE id IN (SELECT id FROM removed_restaurant_item);
+DELETE FROM CATEGORY_ITEM WHERE id IN (SELECT id FROM removed_category_item);
+DELETE FROM RESTAURANT_CATEGORY WHERE id IN (SELECT id FROM removed_restaurant_category);
+DELETE FROM CUSTOMER_ADDRESS WHERE id IN (SELECT id FROM removed_customer_address);
+
+CREATE UNIQUE INDEX IF NOT EXISTS restaurant_item_restaurant_id_item_id_key ON RESTAURANT_ITEM(restaurant_id, item_id);
+CREATE UNIQUE INDEX IF NOT EXISTS category_item_category_id_item_id_key ON CATEGORY_ITEM(category_id, item_id);
+CREATE UNIQUE INDEX IF NOT EXISTS restaurant_category_restaurant_id_category_id_key ON RESTAURANT_CATEGORY(restaurant_id, category_id);
+CREATE UNIQUE INDEX IF NOT EXISTS customer_address_address_id_key ON CUSTOMER_ADDRESS(address_id);
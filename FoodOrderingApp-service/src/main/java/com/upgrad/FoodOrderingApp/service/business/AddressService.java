@@ -1,5 +1,6 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.AddressDao;
 import com.upgrad.FoodOrderingApp.service.dao.CustomerAddressDao;
 import com.upgrad.FoodOrderingApp.service.dao.OrderDao;
@@ -8,6 +9,7 @@ import com.upgrad.FoodOrderingApp.service.entity.*;
 import com.upgrad.FoodOrderingApp.service.exception.AddressNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
 import com.upgrad.FoodOrderingApp.service.exception.SaveAddressException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -44,6 +46,7 @@ public class AddressService {
      */
 
     @Transactional(propagation = Propagation.REQUIRED)
+    @Timed("address.save")
     public AddressEntity saveAddress(AddressEntity addressEntity, CustomerEntity customerEntity) throws SaveAddressException {
 
         // Validation for required fields
@@ -89,7 +92,7 @@ public class AddressService {
      */
 
     public StateEntity getStateByUUID(String stateUUID) throws AddressNotFoundException {
-        StateEntity stateEntity = stateDao.getStateByUUID(stateUUID);
+        StateEntity stateEntity = stateDao.getStateByUUID(UuidParser.parse(stateUUID));
         if (stateEntity == null) {
             throw new AddressNotFoundException("ANF-002", "No state by this state id");
         }
@@ -133,7 +136,7 @@ public class AddressService {
      */
 
     public AddressEntity getAddressByUUID(String addressUUID, CustomerEntity customerEntity) throws AddressNotFoundException, AuthorizationFailedException {
-        AddressEntity addressEntity = addressDao.getAddressByUUID(addressUUID);
+        AddressEntity addressEntity = addressDao.getAddressByUUID(UuidParser.parse(addressUUID));
 
         if (addressEntity == null) {
             throw new AddressNotFoundException("ANF-003", "No address by this id");
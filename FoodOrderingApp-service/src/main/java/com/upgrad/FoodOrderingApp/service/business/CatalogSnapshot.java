@@ -0,0 +1,367 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
+import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
+import com.upgrad.FoodOrderingApp.service.dao.ItemDao;
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.entity.AddressEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantListView;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * CatalogSnapshot keeps an immutable, indexed in-memory copy of the catalog: restaurants, categories, items and the
+ * restaurant_category, restaurant_item and category_item relations between them.
+ *
+ * A new version is built at startup and every 'catalog.snapshot.refresh-interval' milliseconds, and is swapped in
+ * atomically. The snapshot only polls: the one catalog write at runtime is the periodic flush of customer ratings,
+ * which shows in the next version, and rows changed in the database directly show the same way. A rebuild whose
+ * SHA-256 fingerprint of the content equals the current one keeps the current version. A failed rebuild is logged
+ * and keeps the current version.
+ *
+ * The entities handed out are shared between requests. Their fetched associations are replaced by unmodifiable lists,
+ * and the rest of their state must be treated as read-only.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    @Autowired
+    private RestaurantDao restaurantDao;
+
+    @Autowired
+    private CategoryDao categoryDao;
+
+    @Autowired
+    private ItemDao itemDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile Catalog catalog = new Catalog();
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        refreshQuietly();
+    }
+
+    @Scheduled(initialDelayString = "${catalog.snapshot.refresh-interval:300000}", fixedDelayString = "${catalog.snapshot.refresh-interval:300000}")
+    public void onRefreshInterval() {
+        refreshQuietly();
+    }
+
+    /**
+     * Returns the version of the current snapshot, 0 until the first snapshot has been built
+     *
+     * @return version number
+     */
+    public long getVersion() {
+        return catalog.version;
+    }
+
+    /**
+     * Returns the time at which the current version was built
+     *
+     * @return milliseconds since the epoch
+     */
+    public long getLastModified() {
+        return catalog.builtAt;
+    }
+
+    public List<RestaurantEntity> getRestaurantsByRating() {
+        return catalog.restaurantsByRating;
+    }
+
+    public List<RestaurantListView> getRestaurantListViewsByRating() {
+        return catalog.restaurantListViewsByRating;
+    }
+
+    public RestaurantEntity getRestaurantByUuid(final UUID uuid) {
+        return catalog.restaurantsByUuid.get(uuid);
+    }
+
+    /**
+     * Returns restaurants whose name contains the given text, ignoring case, sorted by restaurant name
+     */
+    public List<RestaurantEntity> getRestaurantsByName(final String restaurantName) {
+        final Catalog current = catalog;
+        final List<RestaurantEntity> restaurantEntityList = new ArrayList<>();
+        for (UUID uuid : current.restaurantNameIndex.search(restaurantName)) {
+            final RestaurantEntity restaurantEntity = current.restaurantsByUuid.get(uuid);
+            if (restaurantEntity != null) {
+                restaurantEntityList.add(restaurantEntity);
+            }
+        }
+        return restaurantEntityList;
+    }
+
+    public List<CategoryEntity> getCategoriesByName() {
+        return catalog.categoriesByName;
+    }
+
+    public CategoryEntity getCategoryByUuid(final UUID uuid) {
+        return catalog.categoriesByUuid.get(uuid);
+    }
+
+    /**
+     * Returns categories of a restaurant sorted by category name
+     */
+    public List<CategoryEntity> getCategoriesByRestaurant(final UUID restaurantUuid) {
+        return catalog.categoriesByRestaurantUuid.getOrDefault(restaurantUuid, Collections.emptyList());
+    }
+
+    /**
+     * Returns restaurants of a category sorted by restaurant name
+     */
+    public List<RestaurantEntity> getRestaurantsByCategory(final UUID categoryUuid) {
+        return catalog.restaurantsByCategoryUuid.getOrDefault(categoryUuid, Collections.emptyList());
+    }
+
+    /**
+     * Returns the menu of a restaurant: its items grouped by category UUID, each group sorted by item name
+     */
+    public Map<UUID, List<ItemEntity>> getItemsByCategoryForRestaurant(final UUID restaurantUuid) {
+        return catalog.menusByRestaurantUuid.getOrDefault(restaurantUuid, Collections.emptyMap());
+    }
+
+    public ItemEntity getItemByUuid(final UUID uuid) {
+        return catalog.itemsByUuid.get(uuid);
+    }
+
+    public ItemEntity getItemById(final Integer id) {
+        return catalog.itemsById.get(id);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not refresh catalog snapshot, keeping version {}", catalog.version, e);
+        }
+    }
+
+    private synchronized void refresh() {
+        final Catalog current = catalog;
+
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        final Catalog next = transactionTemplate.execute(status -> {
+            final List<RestaurantEntity> restaurants = restaurantDao.getAllRestaurantsWithCategoriesAndItems();
+            final List<CategoryEntity> categories = categoryDao.getAllCategoriesWithItemsAndRestaurants();
+            final List<ItemEntity> items = itemDao.getAllItems();
+
+            final byte[] fingerprint = fingerprint(restaurants, categories, items);
+            if (current.version > 0 && MessageDigest.isEqual(current.fingerprint, fingerprint)) {
+                return null;
+            }
+
+            final List<RestaurantListView> restaurantListViews = restaurantDao.restaurantListViewsByRating();
+            return new Catalog(current.version + 1, fingerprint, restaurants, restaurantListViews, categories, items);
+        });
+        if (next == null) {
+            return;
+        }
+
+        // only once the entities are detached, so that the replaced collections are never taken for changes to flush
+        makeAssociationsUnmodifiable(next);
+        catalog = next;
+        LOGGER.info("Catalog snapshot version {} built with {} restaurants, {} categories and {} items",
+                next.version, next.restaurantsByRating.size(), next.categoriesByName.size(), next.itemsById.size());
+    }
+
+    /**
+     * Replaces every fetched association collection of the entities of a version by an unmodifiable copy; the
+     * associations which were not fetched are left to fail as they would on any detached entity
+     */
+    private static void makeAssociationsUnmodifiable(final Catalog catalog) {
+        for (RestaurantEntity restaurantEntity : catalog.restaurantsByRating) {
+            restaurantEntity.setCategories(unmodifiableCopy(restaurantEntity.getCategories()));
+            restaurantEntity.setItems(unmodifiableCopy(restaurantEntity.getItems()));
+        }
+        for (CategoryEntity categoryEntity : catalog.categoriesByName) {
+            categoryEntity.setRestaurants(unmodifiableCopy(categoryEntity.getRestaurants()));
+            categoryEntity.setItems(unmodifiableCopy(categoryEntity.getItems()));
+        }
+        for (ItemEntity itemEntity : catalog.itemsById.values()) {
+            itemEntity.setCategories(unmodifiableCopy(itemEntity.getCategories()));
+            itemEntity.setRestaurants(unmodifiableCopy(itemEntity.getRestaurants()));
+        }
+    }
+
+    private static <T> List<T> unmodifiableCopy(final List<T> values) {
+        return Hibernate.isInitialized(values) ? Collections.unmodifiableList(new ArrayList<>(values)) : values;
+    }
+
+    private static byte[] fingerprint(final List<RestaurantEntity> restaurants, final List<CategoryEntity> categories, final List<ItemEntity> items) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
+        }
+        for (RestaurantEntity restaurantEntity : restaurants) {
+            final AddressEntity addressEntity = restaurantEntity.getAddress();
+            update(digest, restaurantEntity.getId(), restaurantEntity.getUuid(), restaurantEntity.getRestaurantName(),
+                    restaurantEntity.getPhotoUrl(), restaurantEntity.getCustomerRating(), restaurantEntity.getAvgPrice(),
+                    restaurantEntity.getNumberCustomersRated(), addressEntity.getUuid(), addressEntity.getFlatBuilNo(),
+                    addressEntity.getLocality(), addressEntity.getCity(), addressEntity.getPincode(),
+                    addressEntity.getState().getUuid(), addressEntity.getState().getStatename());
+            update(digest, restaurantEntity.getCategories().size());
+            for (CategoryEntity categoryEntity : restaurantEntity.getCategories()) {
+                update(digest, categoryEntity.getId());
+            }
+            update(digest, restaurantEntity.getItems().size());
+            for (ItemEntity itemEntity : restaurantEntity.getItems()) {
+                update(digest, itemEntity.getId());
+            }
+        }
+        for (CategoryEntity categoryEntity : categories) {
+            update(digest, categoryEntity.getId(), categoryEntity.getUuid(), categoryEntity.getCategoryName());
+            update(digest, categoryEntity.getItems().size());
+            for (ItemEntity itemEntity : categoryEntity.getItems()) {
+                update(digest, itemEntity.getId());
+            }
+        }
+        for (ItemEntity itemEntity : items) {
+            update(digest, itemEntity.getId(), itemEntity.getUuid(), itemEntity.getItemName(), itemEntity.getPrice(), itemEntity.getType());
+        }
+        return digest.digest();
+    }
+
+    // every value is preceded by its length, -1 for null, so that two different sequences of values never digest the
+    // same bytes
+    private static void update(final MessageDigest digest, final Object... values) {
+        for (Object value : values) {
+            final byte[] bytes = value == null ? new byte[0] : value.toString().getBytes(StandardCharsets.UTF_8);
+            final int length = value == null ? -1 : bytes.length;
+            digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+            digest.update(bytes);
+        }
+    }
+
+    /**
+     * One immutable version of the catalog with all its indexes
+     */
+    private static final class Catalog {
+
+        private final long version;
+        private final byte[] fingerprint;
+        private final long builtAt;
+
+        private final List<RestaurantEntity> restaurantsByRating;
+        private final List<RestaurantListView> restaurantListViewsByRating;
+        private final Map<UUID, RestaurantEntity> restaurantsByUuid;
+        private final List<CategoryEntity> categoriesByName;
+        private final Map<UUID, CategoryEntity> categoriesByUuid;
+        private final Map<UUID, List<CategoryEntity>> categoriesByRestaurantUuid;
+        private final Map<UUID, List<RestaurantEntity>> restaurantsByCategoryUuid;
+        private final Map<UUID, Map<UUID, List<ItemEntity>>> menusByRestaurantUuid;
+        private final Map<UUID, ItemEntity> itemsByUuid;
+        private final Map<Integer, ItemEntity> itemsById;
+        private final RestaurantNameIndex restaurantNameIndex;
+
+        private Catalog() {
+            this(0, new byte[0], Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        }
+
+        private Catalog(final long version, final byte[] fingerprint, final List<RestaurantEntity> restaurants,
+                        final List<RestaurantListView> restaurantListViews, final List<CategoryEntity> categories,
+                        final List<ItemEntity> items) {
+            this.version = version;
+            this.fingerprint = fingerprint;
+            this.builtAt = System.currentTimeMillis();
+
+            this.restaurantsByRating = Collections.unmodifiableList(new ArrayList<>(restaurants));
+            this.restaurantListViewsByRating = Collections.unmodifiableList(new ArrayList<>(restaurantListViews));
+
+            final Map<UUID, RestaurantEntity> restaurantsByUuid = new HashMap<>();
+            final Map<UUID, List<CategoryEntity>> categoriesByRestaurantUuid = new HashMap<>();
+            final Map<UUID, String> restaurantNamesByUuid = new HashMap<>();
+            for (RestaurantEntity restaurantEntity : restaurants) {
+                restaurantsByUuid.put(restaurantEntity.getUuid(), restaurantEntity);
+                restaurantNamesByUuid.put(restaurantEntity.getUuid(), restaurantEntity.getRestaurantName());
+                categoriesByRestaurantUuid.put(restaurantEntity.getUuid(), sortedCopy(restaurantEntity.getCategories(), Comparator.comparing(CategoryEntity::getCategoryName)));
+            }
+            this.restaurantsByUuid = Collections.unmodifiableMap(restaurantsByUuid);
+            this.categoriesByRestaurantUuid = Collections.unmodifiableMap(categoriesByRestaurantUuid);
+            // a new index for every version, as the index is immutable
+            this.restaurantNameIndex = new RestaurantNameIndex(restaurantNamesByUuid);
+
+            final Map<UUID, CategoryEntity> categoriesByUuid = new HashMap<>();
+            final Map<UUID, List<RestaurantEntity>> restaurantsByCategoryUuid = new HashMap<>();
+            for (CategoryEntity categoryEntity : categories) {
+                categoriesByUuid.put(categoryEntity.getUuid(), categoryEntity);
+                restaurantsByCategoryUuid.put(categoryEntity.getUuid(), sortedCopy(categoryEntity.getRestaurants(), Comparator.comparing(RestaurantEntity::getRestaurantName)));
+            }
+            this.categoriesByName = sortedCopy(categories, Comparator.comparing(CategoryEntity::getCategoryName));
+            this.categoriesByUuid = Collections.unmodifiableMap(categoriesByUuid);
+            this.restaurantsByCategoryUuid = Collections.unmodifiableMap(restaurantsByCategoryUuid);
+
+            final Map<UUID, ItemEntity> itemsByUuid = new HashMap<>();
+            final Map<Integer, ItemEntity> itemsById = new HashMap<>();
+            for (ItemEntity itemEntity : items) {
+                itemsByUuid.put(itemEntity.getUuid(), itemEntity);
+                itemsById.put(itemEntity.getId(), itemEntity);
+            }
+            this.itemsByUuid = Collections.unmodifiableMap(itemsByUuid);
+            this.itemsById = Collections.unmodifiableMap(itemsById);
+
+            this.menusByRestaurantUuid = Collections.unmodifiableMap(joinMenus(restaurants, categories));
+        }
+
+        /**
+         * Hash joins restaurant_item with category_item on item id: category_item is built into a map from item id
+         * to category UUIDs once, and every restaurant item probes it, so all menus are built in one pass over both
+         */
+        private static Map<UUID, Map<UUID, List<ItemEntity>>> joinMenus(final List<RestaurantEntity> restaurants, final List<CategoryEntity> categories) {
+            final Map<Integer, List<UUID>> categoryUuidsByItemId = new HashMap<>();
+            for (CategoryEntity categoryEntity : categories) {
+                for (ItemEntity itemEntity : categoryEntity.getItems()) {
+                    categoryUuidsByItemId.computeIfAbsent(itemEntity.getId(), itemId -> new ArrayList<>(1)).add(categoryEntity.getUuid());
+                }
+            }
+
+            final Comparator<ItemEntity> byItemName = Comparator.comparing(ItemEntity::getItemName);
+            final Map<UUID, Map<UUID, List<ItemEntity>>> menusByRestaurantUuid = new HashMap<>();
+            for (RestaurantEntity restaurantEntity : restaurants) {
+                final Map<UUID, List<ItemEntity>> itemsByCategoryUuid = new HashMap<>();
+                for (ItemEntity itemEntity : restaurantEntity.getItems()) {
+                    for (UUID categoryUuid : categoryUuidsByItemId.getOrDefault(itemEntity.getId(), Collections.emptyList())) {
+                        itemsByCategoryUuid.computeIfAbsent(categoryUuid, uuid -> new ArrayList<>()).add(itemEntity);
+                    }
+                }
+                for (Map.Entry<UUID, List<ItemEntity>> entry : itemsByCategoryUuid.entrySet()) {
+                    entry.setValue(sortedCopy(entry.getValue(), byItemName));
+                }
+                menusByRestaurantUuid.put(restaurantEntity.getUuid(), Collections.unmodifiableMap(itemsByCategoryUuid));
+            }
+            return menusByRestaurantUuid;
+        }
+
+        private static <T> List<T> sortedCopy(final Collection<T> values, final Comparator<? super T> comparator) {
+            final List<T> copy = new ArrayList<>(values);
+            copy.sort(comparator);
+            return Collections.unmodifiableList(copy);
+        }
+    }
+}
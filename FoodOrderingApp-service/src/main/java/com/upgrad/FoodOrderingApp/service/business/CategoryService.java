@@ -1,25 +1,19 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
-import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
-import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
-import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 @Service
 public class CategoryService {
 
 	@Autowired
-	private CategoryDao categoryDao;
-
-	@Autowired
-	private RestaurantDao restaurantDao;
+	private CatalogSnapshot catalogSnapshot;
 
 	/**
 	 * This method implements the business logic for 'category' endpoint,ordered by their name
@@ -28,9 +22,7 @@ public class CategoryService {
 	 */
 
 	public List<CategoryEntity> getAllCategoriesOrderedByName() {
-		return categoryDao.getAllCategories().stream()
-				.sorted(Comparator.comparing(CategoryEntity::getCategoryName))
-				.collect(Collectors.toList());
+		return catalogSnapshot.getCategoriesByName();
 	}
 
 	/**
@@ -49,7 +41,7 @@ public class CategoryService {
 			throw new CategoryNotFoundException("CNF-001", "Category id field should not be empty");
 		}
 
-		CategoryEntity categoryEntity = categoryDao.getCategoryByUuid(categoryUuid);
+		CategoryEntity categoryEntity = catalogSnapshot.getCategoryByUuid(UuidParser.parse(categoryUuid));
 
 		if (categoryEntity == null) {
 			throw new CategoryNotFoundException("CNF-002", "No category by this id");
@@ -68,10 +60,7 @@ public class CategoryService {
 	 * @return List<CategoryEntity> object
 	 */
 
-	public List<CategoryEntity> getCategoriesByRestaurant(String restaurantUUID) {
-		RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUUID(restaurantUUID);
-		return restaurantEntity.getCategories().stream()
-				.sorted(Comparator.comparing(CategoryEntity::getCategoryName))
-				.collect(Collectors.toList());
+	public List<CategoryEntity> getCategoriesByRestaurant(UUID restaurantUUID) {
+		return catalogSnapshot.getCategoriesByRestaurant(restaurantUUID);
 	}
 }
\ No newline at end of file
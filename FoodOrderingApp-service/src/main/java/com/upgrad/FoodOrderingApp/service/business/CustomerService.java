@@ -7,7 +7,9 @@ import com.upgrad.FoodOrderingApp.service.exception.AuthenticationFailedExceptio
 import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
 import com.upgrad.FoodOrderingApp.service.exception.SignUpRestrictedException;
 import com.upgrad.FoodOrderingApp.service.exception.UpdateCustomerException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,19 @@ public class CustomerService {
     @Autowired
     private PasswordCryptographyProvider passwordCryptographyProvider;
 
+    @Autowired
+    private CustomerSessionCache customerSessionCache;
+
+    @Autowired
+    private JwtKeyRing jwtKeyRing;
+
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    // 'database' checks access tokens against customer_auth, 'jwt' verifies them locally against the key ring
+    @Value("${auth.verification:database}")
+    private String verification;
+
     /**
      * This method implements the business logic for 'signup' endpoint
      *
@@ -81,6 +96,7 @@ public class CustomerService {
      */
 
     @Transactional(propagation = Propagation.REQUIRED)
+    @Timed("customer.authenticate")
     public CustomerAuthEntity authenticate(String username, String password) throws AuthenticationFailedException {
 
         CustomerEntity customerEntity = customerDao.getCustomerByContactNumber(username);
@@ -89,19 +105,25 @@ public class CustomerService {
             throw new AuthenticationFailedException("ATH-001", "This contact number has not been registered!");
         }
 
-        final String encryptedPassword = PasswordCryptographyProvider.encrypt(password, customerEntity.getSalt());
+        if (passwordCryptographyProvider.matches(password, customerEntity.getSalt(), customerEntity.getPassoword())) {
+            // upgrade passwords hashed with fewer iterations than currently configured
+            if (passwordCryptographyProvider.needsRehash(customerEntity.getSalt())) {
+                String[] encryptedText = passwordCryptographyProvider.encrypt(password);
+                customerEntity.setSalt(encryptedText[0]);
+                customerEntity.setPassoword(encryptedText[1]);
+                customerDao.updateCustomerEntity(customerEntity);
+            }
 
-        if (encryptedPassword.equals(customerEntity.getPassoword())) {
-            JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(encryptedPassword);
+            JwtTokenProvider jwtTokenProvider = jwtKeyRing.getActiveProvider();
             CustomerAuthEntity customerAuthEntity = new CustomerAuthEntity();
-            customerAuthEntity.setUuid(UUID.randomUUID().toString());
+            customerAuthEntity.setUuid(UUID.randomUUID());
             customerAuthEntity.setCustomer(customerEntity);
             ZonedDateTime now = ZonedDateTime.now();
             ZonedDateTime expiresAt = now.plusHours(8);
 
             customerAuthEntity.setLoginAt(ZonedDateTime.now());
             customerAuthEntity.setExpiresAt(expiresAt);
-            customerAuthEntity.setAccessToken(jwtTokenProvider.generateToken(customerEntity.getUuid(), now, expiresAt));
+            customerAuthEntity.setAccessToken(jwtTokenProvider.generateToken(customerEntity.getUuid().toString(), customerEntity.getId(), now, expiresAt));
 
             return customerDao.createCustomerAuth(customerAuthEntity);
         } else {
@@ -140,12 +162,17 @@ public class CustomerService {
         }
 
         customerAuthEntity.setLogoutAt(now);
+        customerSessionCache.invalidate(accessToken);
+        jwtTokenVerifier.revoke(accessToken);
         return customerDao.updateCustomerAuth(customerAuthEntity);
     }
 
     /**
      * This method helps find existing customer by access token
      *
+     *The session of the access token is served from the session cache when possible, or with 'auth.verification' set to 'jwt'
+     * the token is verified without the database, and only the customer is read by id
+     *
      * @param accessToken customer access token
      *
      * @return CustomerEntity object
@@ -153,23 +180,35 @@ public class CustomerService {
      * @throws AuthorizationFailedException if access token requesting customer is not valid
      */
 
+    @Timed("customer.authorize")
     public CustomerEntity getCustomer(String accessToken) throws AuthorizationFailedException {
-        CustomerAuthEntity customerAuthEntity = customerDao.getCustomerAuthByAccessToken(accessToken);
+        if ("jwt".equals(verification)) {
+            return customerDao.getCustomerById(jwtTokenVerifier.verify(accessToken));
+        }
 
-        if (customerAuthEntity == null) {
-            throw new AuthorizationFailedException("ATHR-001", "Customer is not Logged in.");
+        CustomerSessionCache.CustomerSession customerSession = customerSessionCache.get(accessToken);
+
+        if (customerSession == null) {
+            long readVersion = customerSessionCache.version();
+            CustomerAuthEntity customerAuthEntity = customerDao.getCustomerAuthByAccessToken(accessToken);
+
+            if (customerAuthEntity == null) {
+                throw new AuthorizationFailedException("ATHR-001", "Customer is not Logged in.");
+            }
+
+            customerSession = customerSessionCache.put(customerAuthEntity, readVersion);
         }
 
-        if (customerAuthEntity.getLogoutAt() != null) {
+        if (customerSession.getLogoutAt() != null) {
             throw new AuthorizationFailedException("ATHR-002", "Customer is logged out. Log in again to access this endpoint.");
         }
 
         ZonedDateTime now = ZonedDateTime.now();
-        if (customerAuthEntity.getExpiresAt().isBefore(now)) {
+        if (customerSession.getExpiresAt().isBefore(now)) {
             throw new AuthorizationFailedException("ATHR-003", "Your session is expired. Log in again to access this endpoint.");
         }
 
-        return customerAuthEntity.getCustomer();
+        return customerDao.getCustomerById(customerSession.getCustomerId());
     }
 
 
@@ -207,8 +246,7 @@ public class CustomerService {
         }
 
         // validation for old password
-        final String oldEncryptedPassword = PasswordCryptographyProvider.encrypt(oldPassword, customerEntity.getSalt());
-        if (!oldEncryptedPassword.equals(customerEntity.getPassoword())) {
+        if (!passwordCryptographyProvider.matches(oldPassword, customerEntity.getSalt(), customerEntity.getPassoword())) {
             throw new UpdateCustomerException("UCR-004", "Incorrect old password!");
         }
 
@@ -0,0 +1,240 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.entity.CustomerAuthEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CustomerSessionCache keeps recently used customer_auth rows in memory, keyed by access token, so that authorizing a
+ * request does not query customer_auth every time.
+ *
+ * Only the customer id, expiry and logout time of a session are kept. The cache holds at most
+ * 'customer.session-cache.max-size' sessions, dropping the least recently used one, and re-reads a session from the
+ * database once it is older than 'customer.session-cache.ttl' milliseconds. Hits, misses and evictions are published
+ * as 'customer.session.cache.*' metrics.
+ *
+ * A logout on this node drops its session at once. A logout on another node is dropped by the next
+ * TokenRevocationList sync, after at most 'auth.jwt.revocation-sync-interval' milliseconds; the ttl only bounds how long
+ * a session stays stale when those syncs fail.
+ *
+ * Every invalidation bumps a version. A session read from the database is only cached if no invalidation happened
+ * since the version taken before the read, so a request racing a logout cannot cache the session as it was before the
+ * logout.
+ */
+@Component
+public class CustomerSessionCache implements MeterBinder {
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final Map<String, CustomerSession> sessionsByAccessToken;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private long version;
+
+    public CustomerSessionCache(@Value("${customer.session-cache.max-size:10000}") final int maxSize,
+                                @Value("${customer.session-cache.ttl:300000}") final long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.sessionsByAccessToken = new LinkedHashMap<String, CustomerSession>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CustomerSession> eldest) {
+                if (size() > CustomerSessionCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached session of an access token
+     *
+     * @param accessToken Customer access token
+     *
+     * @return CustomerSession object, or null if the session is not cached or was cached too long ago
+     */
+    public CustomerSession get(final String accessToken) {
+        final long now = System.currentTimeMillis();
+        synchronized (sessionsByAccessToken) {
+            final CustomerSession customerSession = sessionsByAccessToken.get(accessToken);
+            if (customerSession == null) {
+                misses.increment();
+                return null;
+            }
+            if (now - customerSession.cachedAt > ttlMillis) {
+                sessionsByAccessToken.remove(accessToken);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return customerSession;
+        }
+    }
+
+    /**
+     * Returns the current version, to be taken before reading a customer_auth row and passed to put
+     *
+     * @return Number of invalidations so far
+     */
+    public long version() {
+        synchronized (sessionsByAccessToken) {
+            return version;
+        }
+    }
+
+    /**
+     * Caches the session of a customer_auth row, unless a session was invalidated since the row was read
+     *
+     * @param customerAuthEntity Customer authorization read from the database
+     * @param readVersion Version taken before the customer_auth row was read
+     *
+     * @return The CustomerSession object of the row, cached or not
+     */
+    public CustomerSession put(final CustomerAuthEntity customerAuthEntity, final long readVersion) {
+        final CustomerSession customerSession = new CustomerSession(customerAuthEntity.getCustomer().getId(),
+                customerAuthEntity.getExpiresAt(), customerAuthEntity.getLogoutAt(), System.currentTimeMillis());
+        synchronized (sessionsByAccessToken) {
+            if (version == readVersion) {
+                sessionsByAccessToken.put(customerAuthEntity.getAccessToken(), customerSession);
+            }
+        }
+        return customerSession;
+    }
+
+    /**
+     * Drops the session of an access token now, and again once the current transaction completes. Both bump the
+     * version, so a concurrent request which read the row before the transaction committed does not cache it
+     *
+     * @param accessToken Customer access token
+     */
+    public void invalidate(final String accessToken) {
+        remove(accessToken);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(final int status) {
+                    remove(accessToken);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops all sessions which are cached longer than the ttl or have expired
+     */
+    @Scheduled(fixedDelayString = "${customer.session-cache.ttl:300000}")
+    public void removeStale() {
+        final long now = System.currentTimeMillis();
+        final ZonedDateTime zonedNow = ZonedDateTime.now();
+        synchronized (sessionsByAccessToken) {
+            final Iterator<CustomerSession> iterator = sessionsByAccessToken.values().iterator();
+            while (iterator.hasNext()) {
+                final CustomerSession customerSession = iterator.next();
+                if (now - customerSession.cachedAt > ttlMillis || customerSession.expiresAt.isBefore(zonedNow)) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (sessionsByAccessToken) {
+            return sessionsByAccessToken.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRatio() {
+        final long hitCount = hits.sum();
+        final long requestCount = hitCount + misses.sum();
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("customer.session.cache.hits", this, CustomerSessionCache::getHitCount)
+                .description("Authorizations answered from the session cache").register(registry);
+        FunctionCounter.builder("customer.session.cache.misses", this, CustomerSessionCache::getMissCount)
+                .description("Authorizations which had to read customer_auth").register(registry);
+        FunctionCounter.builder("customer.session.cache.evictions", this, CustomerSessionCache::getEvictionCount)
+                .description("Sessions dropped for size or age").register(registry);
+        Gauge.builder("customer.session.cache.hit.ratio", this, CustomerSessionCache::getHitRatio)
+                .description("Share of authorizations answered from the session cache").register(registry);
+        Gauge.builder("customer.session.cache.size", this, CustomerSessionCache::size)
+                .description("Number of cached sessions").register(registry);
+    }
+
+    private void remove(final String accessToken) {
+        synchronized (sessionsByAccessToken) {
+            version++;
+            sessionsByAccessToken.remove(accessToken);
+        }
+    }
+
+    /**
+     * The part of a customer_auth row needed to authorize a request
+     */
+    public static final class CustomerSession {
+
+        private final Integer customerId;
+
+        private final ZonedDateTime expiresAt;
+
+        private final ZonedDateTime logoutAt;
+
+        private final long cachedAt;
+
+        private CustomerSession(final Integer customerId, final ZonedDateTime expiresAt, final ZonedDateTime logoutAt, final long cachedAt) {
+            this.customerId = customerId;
+            this.expiresAt = expiresAt;
+            this.logoutAt = logoutAt;
+            this.cachedAt = cachedAt;
+        }
+
+        public Integer getCustomerId() {
+            return customerId;
+        }
+
+        public ZonedDateTime getExpiresAt() {
+            return expiresAt;
+        }
+
+        public ZonedDateTime getLogoutAt() {
+            return logoutAt;
+        }
+    }
+}
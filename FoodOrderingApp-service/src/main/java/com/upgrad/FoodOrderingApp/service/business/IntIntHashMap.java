@@ -0,0 +1,115 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+/**
+ * IntIntHashMap is an open addressing hash map from int to int with linear probing, storing keys and values in two
+ * plain arrays instead of boxed entries. It is not thread safe.
+ */
+class IntIntHashMap {
+
+    private static final int FREE = 0;
+
+    private final int missingValue;
+
+    private int[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private boolean hasFreeKey;
+
+    private int freeKeyValue;
+
+    /**
+     * @param missingValue Value returned by get for absent keys
+     */
+    IntIntHashMap(final int missingValue) {
+        this.missingValue = missingValue;
+        this.keys = new int[16];
+        this.values = new int[16];
+    }
+
+    int size() {
+        return size + (hasFreeKey ? 1 : 0);
+    }
+
+    int get(final int key) {
+        if (key == FREE) {
+            return hasFreeKey ? freeKeyValue : missingValue;
+        }
+        final int mask = keys.length - 1;
+        for (int slot = mix(key) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return missingValue;
+    }
+
+    void put(final int key, final int value) {
+        if (key == FREE) {
+            hasFreeKey = true;
+            freeKeyValue = value;
+            return;
+        }
+        final int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        for (; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // keep the load factor at or below one half
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    void remove(final int key) {
+        if (key == FREE) {
+            hasFreeKey = false;
+            return;
+        }
+        final int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        for (; keys[slot] != key; slot = (slot + 1) & mask) {
+            if (keys[slot] == FREE) {
+                return;
+            }
+        }
+        size--;
+
+        // shift back following entries of the same probe run, so that lookups never stop early at the emptied slot
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            final int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+        }
+        keys[free] = FREE;
+    }
+
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(final int key) {
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,202 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.OrderDao;
+import com.upgrad.FoodOrderingApp.service.dao.OrderItemDao;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * ItemPopularityCounter keeps, per restaurant, how many order items were placed for each of its items.
+ *
+ * The counts of a restaurant are loaded with one aggregate query the first time they are read, and from then on are
+ * incremented in memory whenever an order item is committed. Items are kept sorted by count, so an increment is O(1)
+ * and the K most ordered items are read in O(K).
+ *
+ * The counts of a restaurant are seeded from the orders up to a high-water mark, the highest order id when seeding
+ * starts, and each increment carries the id of its order. Increments of orders at or below the mark are dropped, as
+ * the seed query includes their order items, and all later orders are counted by their increments only, so no order
+ * item is counted twice whether its increment arrives before, during or after seeding.
+ *
+ * The counts are approximate the other way: an order at or below the mark which commits only after the seed query has
+ * read its rows is never counted. These are the orders in flight while seeding, and, with order ids taken 50 at a time
+ * by each instance, at most the rest of the current id block of this instance when another instance holds higher ids.
+ */
+@Component
+public class ItemPopularityCounter {
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private OrderItemDao orderItemDao;
+
+    private final ConcurrentMap<Integer, RestaurantItemCounts> countsByRestaurant = new ConcurrentHashMap<>();
+
+    /**
+     * Returns ids of the most ordered items of a restaurant, most ordered first
+     *
+     * @param restaurantEntity Restaurant to get items for
+     * @param limit Maximum number of items
+     *
+     * @return List<Integer> of item ids
+     */
+    public List<Integer> getMostOrderedItemIds(final RestaurantEntity restaurantEntity, final int limit) {
+        final RestaurantItemCounts counts = countsByRestaurant.computeIfAbsent(restaurantEntity.getId(), restaurantId -> new RestaurantItemCounts());
+        return counts.top(limit, orderDao::getMaxOrderId, highWaterMark -> orderItemDao.getItemCountsByRestaurant(restaurantEntity, highWaterMark));
+    }
+
+    /**
+     * Counts one more order of each of the given items once the current transaction commits, or right away outside a
+     * transaction
+     *
+     * @param restaurantId Id of restaurant the items were ordered from
+     * @param orderId Id of order the items were ordered in
+     * @param itemIds Ids of items, an item ordered twice is counted twice
+     */
+    public void incrementAfterCommit(final Integer restaurantId, final Integer orderId, final List<Integer> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            itemIds.forEach(itemId -> increment(restaurantId, orderId, itemId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                itemIds.forEach(itemId -> increment(restaurantId, orderId, itemId));
+            }
+        });
+    }
+
+    private void increment(final Integer restaurantId, final Integer orderId, final Integer itemId) {
+        // restaurants which were never read are left alone, their seed query will include this order item
+        final RestaurantItemCounts counts = countsByRestaurant.get(restaurantId);
+        if (counts != null) {
+            counts.increment(orderId, itemId);
+        }
+    }
+
+    /**
+     * Item counts of one restaurant, kept in an array sorted by count descending.
+     *
+     * Items with equal counts form a contiguous block, and the start of every block is tracked. Incrementing an item
+     * swaps it with the first item of its block, which moves it to the end of the next higher block without shifting
+     * anything else.
+     */
+    private static final class RestaurantItemCounts {
+
+        private static final int ABSENT = -1;
+
+        private int[] items = new int[4];
+
+        private int[] counts = new int[4];
+
+        private int size;
+
+        private boolean seeded;
+
+        private int highWaterMark;
+
+        private final IntIntHashMap positionsByItem = new IntIntHashMap(ABSENT);
+
+        private final IntIntHashMap blockStartsByCount = new IntIntHashMap(ABSENT);
+
+        /**
+         * Loads the counts of the orders up to the current highest order id from the database, unless that was done
+         * already
+         */
+        private void seed(final IntSupplier highWaterMarkLoader, final IntFunction<List<Object[]>> itemCountsLoader) {
+            if (seeded) {
+                return;
+            }
+            highWaterMark = highWaterMarkLoader.getAsInt();
+            final List<Object[]> sortedItemCounts = new ArrayList<>(itemCountsLoader.apply(highWaterMark));
+            sortedItemCounts.sort(Comparator.comparingLong((Object[] itemCount) -> ((Number) itemCount[1]).longValue()).reversed());
+
+            items = new int[Math.max(4, sortedItemCounts.size())];
+            counts = new int[items.length];
+            for (Object[] itemCount : sortedItemCounts) {
+                final int count = ((Number) itemCount[1]).intValue();
+                items[size] = ((Number) itemCount[0]).intValue();
+                counts[size] = count;
+                positionsByItem.put(items[size], size);
+                if (blockStartsByCount.get(count) == ABSENT) {
+                    blockStartsByCount.put(count, size);
+                }
+                size++;
+            }
+            seeded = true;
+        }
+
+        private synchronized void increment(final int order, final int item) {
+            if (!seeded || order <= highWaterMark) {
+                return;
+            }
+            int position = positionsByItem.get(item);
+            if (position == ABSENT) {
+                position = append(item);
+            }
+
+            final int count = counts[position];
+            final int blockStart = blockStartsByCount.get(count);
+            swap(position, blockStart);
+            counts[blockStart] = count + 1;
+
+            if (blockStart + 1 < size && counts[blockStart + 1] == count) {
+                blockStartsByCount.put(count, blockStart + 1);
+            } else {
+                blockStartsByCount.remove(count);
+            }
+            if (blockStartsByCount.get(count + 1) == ABSENT) {
+                blockStartsByCount.put(count + 1, blockStart);
+            }
+        }
+
+        private synchronized List<Integer> top(final int limit, final IntSupplier highWaterMarkLoader,
+                                               final IntFunction<List<Object[]>> itemCountsLoader) {
+            seed(highWaterMarkLoader, itemCountsLoader);
+            final int length = Math.min(limit, size);
+            final List<Integer> topItems = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                topItems.add(items[i]);
+            }
+            return topItems;
+        }
+
+        /**
+         * Adds an item with count zero at the end, where the zero block is
+         */
+        private int append(final int item) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            final int position = size++;
+            items[position] = item;
+            counts[position] = 0;
+            positionsByItem.put(item, position);
+            if (blockStartsByCount.get(0) == ABSENT) {
+                blockStartsByCount.put(0, position);
+            }
+            return position;
+        }
+
+        private void swap(final int left, final int right) {
+            if (left == right) {
+                return;
+            }
+            final int leftItem = items[left];
+            items[left] = items[right];
+            items[right] = leftItem;
+            positionsByItem.put(items[left], left);
+            positionsByItem.put(items[right], right);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.*;
 import com.upgrad.FoodOrderingApp.service.entity.*;
 import com.upgrad.FoodOrderingApp.service.exception.ItemNotFoundException;
@@ -11,20 +12,16 @@ import java.util.*;
 @Service
 public class ItemService {
 
-    @Autowired
-    private ItemDao itemDao;
+    private static final int POPULAR_ITEMS_LIMIT = 5;
 
     @Autowired
-    private OrderDao orderDao;
+    private ItemPopularityCounter itemPopularityCounter;
 
     @Autowired
     private OrderItemDao orderItemDao;
 
     @Autowired
-    private RestaurantDao restaurantDao;
-
-    @Autowired
-    private CategoryDao categoryDao;
+    private CatalogSnapshot catalogSnapshot;
 
 
     /**
@@ -38,7 +35,7 @@ public class ItemService {
      */
 
     public ItemEntity getItemByUUID(String uuid) throws ItemNotFoundException {
-        ItemEntity itemEntity = itemDao.getItemByUUID(uuid);
+        ItemEntity itemEntity = catalogSnapshot.getItemByUuid(UuidParser.parse(uuid));
         if (itemEntity == null) {
             throw new ItemNotFoundException("INF-003", "No item by this id exist");
         }
@@ -56,9 +53,24 @@ public class ItemService {
         return orderItemDao.getItemsByOrder(orderEntity);
     }
 
+    /**
+     * Returns items for the given orders, grouped by order id
+     *
+     * @param orderEntities Orders to get items for
+     *
+     * @return Map<Integer, List<OrderItemEntity>> object
+     */
+    public Map<Integer, List<OrderItemEntity>> getItemsByOrders(List<OrderEntity> orderEntities) {
+        Map<Integer, List<OrderItemEntity>> orderItemEntitiesByOrderId = new HashMap<Integer, List<OrderItemEntity>>();
+        for (OrderItemEntity orderItemEntity : orderItemDao.getItemsByOrders(orderEntities)) {
+            orderItemEntitiesByOrderId.computeIfAbsent(orderItemEntity.getOrder().getId(), orderId -> new ArrayList<OrderItemEntity>()).add(orderItemEntity);
+        }
+        return orderItemEntitiesByOrderId;
+    }
+
 
     /**
-     * Returns popular items for a restaurant
+     * Returns the most ordered items of a restaurant, most ordered first
      *
      * @param restaurantEntity UUID of restaurant entity
      *
@@ -66,29 +78,14 @@ public class ItemService {
      */
 
     public List<ItemEntity> getItemsByPopularity(RestaurantEntity restaurantEntity) {
-        List<ItemEntity> itemEntityList = new ArrayList<>();
-        for (OrderEntity orderEntity : orderDao.getOrdersByRestaurant(restaurantEntity)) {
-            for (OrderItemEntity orderItemEntity : orderItemDao.getItemsByOrder(orderEntity)) {
-                itemEntityList.add(orderItemEntity.getItem());
+        List<ItemEntity> itemEntityList = new ArrayList<ItemEntity>();
+        for (Integer itemId : itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, POPULAR_ITEMS_LIMIT)) {
+            ItemEntity itemEntity = catalogSnapshot.getItemById(itemId);
+            if (itemEntity != null) {
+                itemEntityList.add(itemEntity);
             }
         }
-
-        // count all with map
-        Map<String, Integer> map = new HashMap<String, Integer>();
-        for (ItemEntity itemEntity : itemEntityList) {
-            Integer count = map.get(itemEntity.getUuid());
-            map.put(itemEntity.getUuid(), (count == null) ? 1 : count + 1);
-        }
-
-        // sort map
-        Map<String, Integer> treeMap = new TreeMap<String, Integer>(map);
-        List<ItemEntity> sortedItemEntityList = new ArrayList<ItemEntity>();
-        for (Map.Entry<String, Integer> entry : treeMap.entrySet()) {
-            sortedItemEntityList.add(itemDao.getItemByUUID(entry.getKey()));
-        }
-        Collections.reverse(sortedItemEntityList);
-
-        return sortedItemEntityList;
+        return itemEntityList;
     }
 
 
@@ -101,20 +98,20 @@ public class ItemService {
      * @return List<ItemEntity> object
      */
 
-    public List<ItemEntity> getItemsByCategoryAndRestaurant(String restaurantUUID, String categoryUUID) {
-        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUUID(restaurantUUID);
-        CategoryEntity categoryEntity = categoryDao.getCategoryByUuid(categoryUUID);
-        List<ItemEntity> restaurantItemEntityList = new ArrayList<ItemEntity>();
+    public List<ItemEntity> getItemsByCategoryAndRestaurant(UUID restaurantUUID, UUID categoryUUID) {
+        return catalogSnapshot.getItemsByCategoryForRestaurant(restaurantUUID).getOrDefault(categoryUUID, Collections.emptyList());
+    }
 
-        for (ItemEntity restaurantItemEntity : restaurantEntity.getItems()) {
-            for (ItemEntity categoryItemEntity : categoryEntity.getItems()) {
-                if (restaurantItemEntity.getUuid().equals(categoryItemEntity.getUuid())) {
-                    restaurantItemEntityList.add(restaurantItemEntity);
-                }
-            }
-        }
-        restaurantItemEntityList.sort(Comparator.comparing(ItemEntity::getItemName));
 
-        return restaurantItemEntityList;
+    /**
+     * Returns the items of a restaurant grouped by category, for the whole menu at once
+     *
+     * @param restaurantUUID UUID of restaurant entity
+     *
+     * @return Map<UUID, List<ItemEntity>> of category UUID to items of the category sorted by item name
+     */
+
+    public Map<UUID, List<ItemEntity>> getItemsByCategoryForRestaurant(UUID restaurantUUID) {
+        return catalogSnapshot.getItemsByCategoryForRestaurant(restaurantUUID);
     }
 }
\ No newline at end of file
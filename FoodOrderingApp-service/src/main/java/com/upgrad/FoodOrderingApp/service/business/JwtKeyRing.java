@@ -0,0 +1,76 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.*;
+
+/**
+ * JwtKeyRing holds the server side keys access tokens are signed with, by key id.
+ *
+ * Keys are configured as 'auth.jwt.keys', a comma separated list of 'keyId:secret' pairs, and new tokens are signed
+ * with 'auth.jwt.active-key-id', or the last configured key. Tokens carry their key id, so a key is rotated by adding
+ * a new key to 'auth.jwt.keys' and making it the active one, while the previous key keeps verifying the tokens already
+ * issued, and is retired by removing it from 'auth.jwt.keys' once those have expired. The keys are read once at startup,
+ * so both steps take effect as the nodes restart. Without configured keys a random key is generated, and tokens do not
+ * survive a restart.
+ */
+@Component
+public class JwtKeyRing {
+
+    private final Map<String, JwtTokenProvider> providersByKeyId;
+
+    private final JwtTokenProvider activeProvider;
+
+    public JwtKeyRing(@Value("${auth.jwt.keys:}") final String keys,
+                      @Value("${auth.jwt.active-key-id:}") final String activeKeyId) {
+        final Map<String, JwtTokenProvider> providers = new LinkedHashMap<>();
+        JwtTokenProvider lastProvider = null;
+        for (String key : keys.split(",")) {
+            final String trimmedKey = key.trim();
+            if (trimmedKey.isEmpty()) {
+                continue;
+            }
+            final int separator = trimmedKey.indexOf(':');
+            if (separator <= 0 || separator == trimmedKey.length() - 1) {
+                throw new IllegalArgumentException("auth.jwt.keys entries must be of the form keyId:secret");
+            }
+            lastProvider = new JwtTokenProvider(trimmedKey.substring(0, separator), trimmedKey.substring(separator + 1));
+            providers.put(lastProvider.getKeyId(), lastProvider);
+        }
+        if (lastProvider == null) {
+            lastProvider = new JwtTokenProvider(UUID.randomUUID().toString(), generateSecret());
+            providers.put(lastProvider.getKeyId(), lastProvider);
+        }
+
+        this.providersByKeyId = Collections.unmodifiableMap(providers);
+        if (activeKeyId.isEmpty()) {
+            this.activeProvider = lastProvider;
+        } else if (providers.containsKey(activeKeyId)) {
+            this.activeProvider = providers.get(activeKeyId);
+        } else {
+            throw new IllegalArgumentException("auth.jwt.active-key-id " + activeKeyId + " is not one of auth.jwt.keys");
+        }
+    }
+
+    /**
+     * Returns the provider new tokens are signed with
+     */
+    public JwtTokenProvider getActiveProvider() {
+        return activeProvider;
+    }
+
+    /**
+     * Returns the provider of a key id, or null if the key is not configured
+     */
+    public JwtTokenProvider getProvider(final String keyId) {
+        return keyId == null ? null : providersByKeyId.get(keyId);
+    }
+
+    private static String generateSecret() {
+        final byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
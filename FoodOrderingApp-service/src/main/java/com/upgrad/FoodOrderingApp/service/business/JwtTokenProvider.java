@@ -2,21 +2,30 @@ package com.upgrad.FoodOrderingApp.service.business;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
 import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
 
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoField;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 
 public class JwtTokenProvider {
     private static final String TOKEN_ISSUER = "https://FoodOrderingApp.io";
 
+    private static final String TOKEN_AUDIENCE = "FoodOrderingApp-api";
+
+    public static final String CUSTOMER_ID_CLAIM = "customer_id";
+
+    private final String keyId;
+
     private final Algorithm algorithm;
 
-    public JwtTokenProvider(final String secret) {
+    public JwtTokenProvider(final String keyId, final String secret) {
+        this.keyId = keyId;
         try {
             algorithm = Algorithm.HMAC512(secret);
         } catch (IllegalArgumentException e) {
@@ -24,15 +33,42 @@ public class JwtTokenProvider {
         }
     }
 
-    public String generateToken(final String customerUuid, final ZonedDateTime issuedDateTime, final ZonedDateTime expiresDateTime) {
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public String generateToken(final String customerUuid, final Integer customerId, final ZonedDateTime issuedDateTime, final ZonedDateTime expiresDateTime) {
 
-        final Date issuedAt = new Date(issuedDateTime.getLong(ChronoField.INSTANT_SECONDS));
-        final Date expiresAt = new Date(expiresDateTime.getLong(ChronoField.INSTANT_SECONDS));
+        final Date issuedAt = Date.from(issuedDateTime.toInstant());
+        final Date expiresAt = Date.from(expiresDateTime.toInstant());
 
         return JWT.create().withIssuer(TOKEN_ISSUER) //
-                .withKeyId(UUID.randomUUID().toString())
-                .withAudience(customerUuid) //
+                .withKeyId(keyId)
+                .withJWTId(UUID.randomUUID().toString())
+                .withAudience(TOKEN_AUDIENCE) //
+                .withSubject(customerUuid)
+                .withClaim(CUSTOMER_ID_CLAIM, customerId)
                 .withIssuedAt(issuedAt).withExpiresAt(expiresAt).sign(algorithm);
     }
 
+    /**
+     * Checks that a decoded token was signed with this key and was issued by and for this application. Expiry is left
+     * to the caller.
+     *
+     * @param decodedJWT Decoded token
+     *
+     * @return true if the token is authentic
+     */
+    public boolean isAuthentic(final DecodedJWT decodedJWT) {
+        try {
+            algorithm.verify(decodedJWT);
+        } catch (SignatureVerificationException e) {
+            return false;
+        }
+        final List<String> audience = decodedJWT.getAudience();
+        return keyId.equals(decodedJWT.getKeyId())
+                && TOKEN_ISSUER.equals(decodedJWT.getIssuer())
+                && audience != null && audience.contains(TOKEN_AUDIENCE);
+    }
+
 }
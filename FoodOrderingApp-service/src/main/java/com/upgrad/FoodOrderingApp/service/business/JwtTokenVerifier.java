@@ -0,0 +1,99 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * JwtTokenVerifier authorizes access tokens without the database, from the key ring and the revocation list alone.
+ *
+ * The error codes are the ones of the customer_auth lookup: ATHR-001 for a token which is not authentic, ATHR-002
+ * for a token revoked by logout and ATHR-003 for an expired token, checked in that order.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    @Autowired
+    private JwtKeyRing jwtKeyRing;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    /**
+     * Verifies an access token
+     *
+     * @param accessToken Customer access token
+     *
+     * @return Id of the customer the token was issued to
+     *
+     * @throws AuthorizationFailedException If the token is not authentic, revoked or expired
+     */
+    public Integer verify(final String accessToken) throws AuthorizationFailedException {
+        final DecodedJWT decodedJWT = decodeAuthentic(accessToken);
+        final Claim customerIdClaim = decodedJWT.getClaim(JwtTokenProvider.CUSTOMER_ID_CLAIM);
+        final UUID tokenId = tokenId(decodedJWT);
+        if (customerIdClaim.isNull() || customerIdClaim.asInt() == null || tokenId == null || decodedJWT.getExpiresAt() == null) {
+            throw new AuthorizationFailedException("ATHR-001", "Customer is not Logged in.");
+        }
+
+        if (tokenRevocationList.isRevoked(tokenId)) {
+            throw new AuthorizationFailedException("ATHR-002", "Customer is logged out. Log in again to access this endpoint.");
+        }
+
+        if (decodedJWT.getExpiresAt().before(new Date())) {
+            throw new AuthorizationFailedException("ATHR-003", "Your session is expired. Log in again to access this endpoint.");
+        }
+
+        return customerIdClaim.asInt();
+    }
+
+    /**
+     * Adds an authentic token to the revocation list, tokens which cannot be verified are ignored
+     *
+     * @param accessToken Customer access token
+     */
+    public void revoke(final String accessToken) {
+        try {
+            final DecodedJWT decodedJWT = decodeAuthentic(accessToken);
+            final UUID tokenId = tokenId(decodedJWT);
+            if (tokenId != null && decodedJWT.getExpiresAt() != null) {
+                tokenRevocationList.revoke(tokenId, decodedJWT.getExpiresAt().getTime());
+            }
+        } catch (AuthorizationFailedException e) {
+            // tokens signed before the key ring cannot be verified locally and need no revocation
+        }
+    }
+
+    private DecodedJWT decodeAuthentic(final String accessToken) throws AuthorizationFailedException {
+        final DecodedJWT decodedJWT;
+        try {
+            decodedJWT = JWT.decode(accessToken);
+        } catch (JWTDecodeException e) {
+            throw new AuthorizationFailedException("ATHR-001", "Customer is not Logged in.");
+        }
+
+        final JwtTokenProvider jwtTokenProvider = jwtKeyRing.getProvider(decodedJWT.getKeyId());
+        if (jwtTokenProvider == null || !jwtTokenProvider.isAuthentic(decodedJWT)) {
+            throw new AuthorizationFailedException("ATHR-001", "Customer is not Logged in.");
+        }
+        return decodedJWT;
+    }
+
+    private static UUID tokenId(final DecodedJWT decodedJWT) {
+        if (decodedJWT.getId() == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(decodedJWT.getId());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
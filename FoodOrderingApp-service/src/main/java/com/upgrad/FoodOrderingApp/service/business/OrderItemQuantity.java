@@ -0,0 +1,33 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import java.util.UUID;
+
+/**
+ * OrderItemQuantity is one line of an order to be placed, with the item referred to by UUID
+ */
+public class OrderItemQuantity {
+
+    private final UUID itemUuid;
+
+    private final Integer quantity;
+
+    private final Integer price;
+
+    public OrderItemQuantity(final UUID itemUuid, final Integer quantity, final Integer price) {
+        this.itemUuid = itemUuid;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public UUID getItemUuid() {
+        return itemUuid;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public Integer getPrice() {
+        return price;
+    }
+}
@@ -0,0 +1,31 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
+
+import java.util.List;
+
+/**
+ * OrderPage is one page of a customer's order history, with the cursor to continue from
+ */
+public class OrderPage {
+
+    private final List<OrderEntity> orders;
+
+    private final String nextCursor;
+
+    public OrderPage(final List<OrderEntity> orders, final String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderEntity> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Returns the cursor of the next page, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
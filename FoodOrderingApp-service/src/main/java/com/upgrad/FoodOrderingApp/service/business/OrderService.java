@@ -1,23 +1,37 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.CouponDao;
 import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
+import com.upgrad.FoodOrderingApp.service.dao.ItemDao;
 import com.upgrad.FoodOrderingApp.service.dao.OrderDao;
 import com.upgrad.FoodOrderingApp.service.dao.OrderItemDao;
 import com.upgrad.FoodOrderingApp.service.entity.CouponEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import com.upgrad.FoodOrderingApp.service.entity.ItemEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
 import com.upgrad.FoodOrderingApp.service.exception.CouponNotFoundException;
+import com.upgrad.FoodOrderingApp.service.exception.InvalidPageRequestException;
+import com.upgrad.FoodOrderingApp.service.exception.ItemNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.function.BiConsumer;
 
 @Service
 public class OrderService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int STREAM_BATCH_SIZE = 100;
+
     @Autowired
     private CouponDao couponDao;
 
@@ -30,6 +44,12 @@ public class OrderService {
     @Autowired
     private CustomerDao customerDao;
 
+    @Autowired
+    private ItemDao itemDao;
+
+    @Autowired
+    private ItemPopularityCounter itemPopularityCounter;
+
     /**
      * This method helps find coupon details by coupon name
      *
@@ -68,7 +88,7 @@ public class OrderService {
      */
 
     public CouponEntity getCouponByCouponId(String uuid) throws CouponNotFoundException {
-        CouponEntity couponEntity = couponDao.getCouponByCouponUUID(uuid);
+        CouponEntity couponEntity = couponDao.getCouponByCouponUUID(UuidParser.parse(uuid));
 
         if (couponEntity == null) {
             throw new CouponNotFoundException("CPF-001", "No coupon by this id");
@@ -78,44 +98,153 @@ public class OrderService {
     }
 
 
-
     /**
-     * Saves given order
+     * Places an order along with all its items in one transaction
+     *
+     *The items are resolved with one query for all of their UUIDs and the order items are inserted in JDBC batches, so
+     * the number of round trips does not grow with the size of the cart. Nothing is saved if any item does not exist.
      *
      * @param orderEntity Order details
+     * @param orderItemQuantities Items of the order
      *
      * @return OrderEntity object
+     *
+     * @throws ItemNotFoundException If any item UUID does not match an item that exists in the database
      */
 
     @Transactional(propagation = Propagation.REQUIRED)
-    public OrderEntity saveOrder(OrderEntity orderEntity) {
-        return orderDao.createOrder(orderEntity);
+    @Timed("order.place")
+    public OrderEntity placeOrder(OrderEntity orderEntity, List<OrderItemQuantity> orderItemQuantities) throws ItemNotFoundException {
+        Set<UUID> itemUuids = new HashSet<UUID>();
+        for (OrderItemQuantity orderItemQuantity : orderItemQuantities) {
+            itemUuids.add(orderItemQuantity.getItemUuid());
+        }
+        Map<UUID, ItemEntity> itemEntitiesByUuid = new HashMap<UUID, ItemEntity>();
+        for (ItemEntity itemEntity : itemDao.getItemsByUUIDs(itemUuids)) {
+            itemEntitiesByUuid.put(itemEntity.getUuid(), itemEntity);
+        }
+        if (itemEntitiesByUuid.size() != itemUuids.size()) {
+            throw new ItemNotFoundException("INF-003", "No item by this id exist");
+        }
+
+        OrderEntity createdOrderEntity = orderDao.createOrder(orderEntity);
+        List<Integer> itemIds = new ArrayList<Integer>(orderItemQuantities.size());
+        for (OrderItemQuantity orderItemQuantity : orderItemQuantities) {
+            OrderItemEntity orderItemEntity = new OrderItemEntity();
+            orderItemEntity.setOrder(createdOrderEntity);
+            orderItemEntity.setItem(itemEntitiesByUuid.get(orderItemQuantity.getItemUuid()));
+            orderItemEntity.setQuantity(orderItemQuantity.getQuantity());
+            orderItemEntity.setPrice(orderItemQuantity.getPrice());
+            orderItemDao.createOrderItemEntity(orderItemEntity);
+            itemIds.add(orderItemEntity.getItem().getId());
+        }
+        itemPopularityCounter.incrementAfterCommit(createdOrderEntity.getRestaurant().getId(), createdOrderEntity.getId(), itemIds);
+        return createdOrderEntity;
     }
 
 
     /**
-     * Saves given order and item relation
+     * Returns orders by customer
      *
-     * @param orderItemEntity Order and item to relate
+     *Coupon, payment, customer, address and restaurant of every order are fetched along with the orders
      *
-     * @return OrderItemEntity object
+     * @param customerUUID UUID of customer
+     *
+     * @return List<OrderEntity> object
      */
 
-    @Transactional(propagation = Propagation.REQUIRED)
-    public OrderItemEntity saveOrderItem(OrderItemEntity orderItemEntity) {
-        return orderItemDao.createOrderItemEntity(orderItemEntity);
+    public List<OrderEntity> getOrdersByCustomers(UUID customerUUID) {
+        return orderDao.getOrdersWithDetailsByCustomer(customerDao.getCustomerByUUID(customerUUID));
     }
 
-
     /**
-     * Returns orders by customer
+     * Returns one page of orders by customer, latest first
      *
      * @param customerUUID UUID of customer
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of orders in the page
      *
-     * @return List<OrderEntity> object
+     * @return OrderPage object
+     *
+     * @throws InvalidPageRequestException If the limit is not between 1 and MAX_PAGE_SIZE
+     * @throws InvalidPageRequestException If the cursor was not returned by this method
+     */
+
+    public OrderPage getOrdersByCustomers(UUID customerUUID, String cursor, int limit) throws InvalidPageRequestException {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("IPR-001", "Limit should be in the range of 1 to " + MAX_PAGE_SIZE);
+        }
+
+        CustomerEntity customerEntity = customerDao.getCustomerByUUID(customerUUID);
+        List<OrderEntity> orderEntityList;
+        if (cursor == null) {
+            orderEntityList = orderDao.getOrdersWithDetailsByCustomer(customerEntity, limit + 1);
+        } else {
+            OrderKey orderKey = decodeCursor(cursor);
+            orderEntityList = orderDao.getOrdersWithDetailsByCustomerAfter(customerEntity, orderKey.date, orderKey.id, limit + 1);
+        }
+
+        // one order more than asked for tells whether there is a next page
+        if (orderEntityList.size() <= limit) {
+            return new OrderPage(orderEntityList, null);
+        }
+        List<OrderEntity> pageOrderEntityList = orderEntityList.subList(0, limit);
+        return new OrderPage(pageOrderEntityList, encodeCursor(pageOrderEntityList.get(limit - 1)));
+    }
+
+    /**
+     * Reads all orders by customer, latest first, from a database cursor and hands them over with their items in
+     * batches, so that the full history is never held in memory
+     *
+     * @param customerUUID UUID of customer
+     * @param batchConsumer Receives every batch of orders together with their items grouped by order id
+     */
+
+    @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
+    public void streamOrdersByCustomers(UUID customerUUID, BiConsumer<List<OrderEntity>, Map<Integer, List<OrderItemEntity>>> batchConsumer) {
+        CustomerEntity customerEntity = customerDao.getCustomerByUUID(customerUUID);
+        orderDao.scrollOrdersWithDetailsByCustomer(customerEntity, STREAM_BATCH_SIZE, orderEntityList -> {
+            Map<Integer, List<OrderItemEntity>> orderItemEntitiesByOrderId = new HashMap<Integer, List<OrderItemEntity>>();
+            for (OrderItemEntity orderItemEntity : orderItemDao.getItemsByOrders(orderEntityList)) {
+                orderItemEntitiesByOrderId.computeIfAbsent(orderItemEntity.getOrder().getId(), orderId -> new ArrayList<OrderItemEntity>()).add(orderItemEntity);
+            }
+            batchConsumer.accept(orderEntityList, orderItemEntitiesByOrderId);
+        });
+    }
+
+    /**
+     * Encodes the (date, id) key of an order as an opaque url safe string
      */
+    private static String encodeCursor(OrderEntity orderEntity) {
+        Timestamp timestamp = orderEntity.getDate() instanceof Timestamp
+                ? (Timestamp) orderEntity.getDate() : new Timestamp(orderEntity.getDate().getTime());
+        String key = timestamp.getTime() + ":" + timestamp.getNanos() + ":" + orderEntity.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static OrderKey decodeCursor(String cursor) throws InvalidPageRequestException {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (key.length != 3) {
+                throw new IllegalArgumentException("Cursor should have three parts");
+            }
+            Timestamp timestamp = new Timestamp(Long.parseLong(key[0]));
+            timestamp.setNanos(Integer.parseInt(key[1]));
+            return new OrderKey(timestamp, Integer.valueOf(key[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("IPR-002", "Invalid cursor");
+        }
+    }
+
+    private static final class OrderKey {
 
-    public List<OrderEntity> getOrdersByCustomers(String customerUUID) {
-        return orderDao.getOrdersByCustomers(customerDao.getCustomerByUUID(customerUUID));
+        private final Date date;
+
+        private final Integer id;
+
+        private OrderKey(Date date, Integer id) {
+            this.date = date;
+            this.id = id;
+        }
     }
 }
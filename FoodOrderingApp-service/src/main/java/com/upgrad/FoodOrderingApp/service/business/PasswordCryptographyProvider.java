@@ -1,6 +1,12 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
 
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -11,16 +17,70 @@ import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
 import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 
+/**
+ * PasswordCryptographyProvider hashes passwords with PBKDF2, with a bounded number of hashes running at a time.
+ *
+ * Hashing is CPU bound, so at most 'password.hashing.threads' passwords are hashed at a time, each on the thread of
+ * its request, and at most 'password.hashing.queue-capacity' requests wait for their turn, by default a quarter of
+ * 'server.tomcat.max-threads' so that waiting hashes never hold most of the request threads. Beyond that, or when a
+ * request has waited longer than 'password.hashing.timeout' milliseconds, by default the time of one hash measured at
+ * startup, hashing fails right away with GEN-002 instead of tying up more request threads.
+ *
+ * The queue capacity is approximate: the number of waiting requests is read before a request starts waiting, not
+ * together with it, so a burst of requests arriving at once can exceed it by up to the number of those requests.
+ *
+ * The iteration count a password was hashed with is kept in front of its salt as '<iterations>$<salt>', salts without
+ * it were hashed with 1000 iterations. Raising 'password.hashing.iterations' makes needsRehash true for the older
+ * hashes, which are then upgraded at the next login.
+ *
+ * The number of hashes running and waiting are published as the 'password.hashing.active' and
+ * 'password.hashing.queued' metrics.
+ */
 @Component
-public class PasswordCryptographyProvider {
+public class PasswordCryptographyProvider implements MeterBinder {
 
     private static String SECRET_KEY_ALGORITHM = "PBKDF2WithHmacSHA512";
-    private static int HASHING_ITERATIONS = 1000;
+    private static int LEGACY_HASHING_ITERATIONS = 1000;
     private static int HASHING_KEY_LENGTH = 64;
+    private static final char ITERATIONS_SEPARATOR = '$';
     private final static char[] hexArray = "0123456789ABCDEF".toCharArray();
 
+    // SecretKeyFactory is not thread safe, and looking one up goes through the security providers every time
+    private static final ThreadLocal<SecretKeyFactory> SECRET_KEY_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(SECRET_KEY_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
+        }
+    });
+
+    private final int hashingIterations;
+
+    private final int threads;
+
+    private final int queueCapacity;
+
+    private final long timeout;
+
+    // package private for tests to occupy the permits
+    final Semaphore hashingPermits;
+
+    public PasswordCryptographyProvider(@Value("${password.hashing.iterations:1000}") final int hashingIterations,
+                                        @Value("${password.hashing.threads:0}") final int threads,
+                                        @Value("${password.hashing.queue-capacity:#{${server.tomcat.max-threads:200} / 4}}") final int queueCapacity,
+                                        @Value("${password.hashing.timeout:0}") final long timeout) {
+        this.hashingIterations = hashingIterations;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout > 0 ? timeout : measureHashMillis(hashingIterations);
+        this.hashingPermits = new Semaphore(this.threads, true);
+    }
+
     /**
      * This method generates Salt and hashed Password
      *
@@ -29,20 +89,92 @@ public class PasswordCryptographyProvider {
      */
     public String[] encrypt(final String password) {
         byte[] salt = generateSaltBytes();
-        byte[] hashedPassword = hashPassword(password.toCharArray(), salt);
-        return new String[]{getBase64EncodedBytesAsString(salt), bytesToHex(hashedPassword)};
+        byte[] hashedPassword = bounded(() -> hashPassword(password.toCharArray(), salt, hashingIterations));
+        return new String[]{hashingIterations + String.valueOf(ITERATIONS_SEPARATOR) + getBase64EncodedBytesAsString(salt), bytesToHex(hashedPassword)};
     }
 
     /**
-     * This method re-generates hashed Password from raw-password and salt.
-     * This will be used during authentication.
+     * This method re-generates hashed Password from raw-password and salt, on the calling thread and without the
+     * bound on concurrent hashes.
      *
      * @param password char array.
-     * @param salt     byte array.
-     * @return byte array of hashed password.
+     * @param salt     encoded salt, with the iteration count it was generated for.
+     * @return hashed password.
+     */
+    static String encrypt(final String password, String salt) {
+        final int separator = salt.indexOf(ITERATIONS_SEPARATOR);
+        final int iterations = separator < 0 ? LEGACY_HASHING_ITERATIONS : parseIterations(salt.substring(0, separator));
+        return bytesToHex(hashPassword(password.toCharArray(), getBase64DecodedStringAsBytes(salt.substring(separator + 1)), iterations));
+    }
+
+    /**
+     * This method tells whether a raw-password matches a hashed Password.
+     * This will be used during authentication.
+     *
+     * @param password       char array.
+     * @param salt           encoded salt, with the iteration count it was generated for.
+     * @param hashedPassword hashed password to compare with.
+     * @return true if the password hashes to hashedPassword.
      */
-    public static String encrypt(final String password, String salt) {
-        return bytesToHex(hashPassword(password.toCharArray(), getBase64DecodedStringAsBytes(salt)));
+    public boolean matches(final String password, final String salt, final String hashedPassword) {
+        return bounded(() -> encrypt(password, salt)).equals(hashedPassword);
+    }
+
+    /**
+     * This method tells whether a password was hashed with fewer iterations than currently configured
+     *
+     * @param salt encoded salt, with the iteration count it was generated for.
+     * @return true if the password should be hashed again.
+     */
+    public boolean needsRehash(final String salt) {
+        final int separator = salt.indexOf(ITERATIONS_SEPARATOR);
+        final int iterations = separator < 0 ? LEGACY_HASHING_ITERATIONS : parseIterations(salt.substring(0, separator));
+        return iterations < hashingIterations;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("password.hashing.active", this, provider -> provider.threads - provider.hashingPermits.availablePermits())
+                .description("Passwords being hashed").register(registry);
+        Gauge.builder("password.hashing.queued", hashingPermits, Semaphore::getQueueLength)
+                .description("Requests waiting to hash a password").register(registry);
+    }
+
+    // runs a hash once one of the permits is free, or fails with GEN-002 if too many requests wait already
+    private <T> T bounded(final Supplier<T> hashing) {
+        if (hashingPermits.getQueueLength() >= queueCapacity && hashingPermits.availablePermits() == 0) {
+            throw new UnexpectedException(GenericErrorCode.GEN_002);
+        }
+        try {
+            if (!hashingPermits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                throw new UnexpectedException(GenericErrorCode.GEN_002);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedException(GenericErrorCode.GEN_002, e);
+        }
+        try {
+            return hashing.get();
+        } finally {
+            hashingPermits.release();
+        }
+    }
+
+    // the second of two hashes, as the first one also pays for loading the algorithm and for the interpreter
+    private static long measureHashMillis(final int iterations) {
+        final byte[] salt = generateSaltBytes();
+        hashPassword("password".toCharArray(), salt, iterations);
+        final long start = System.nanoTime();
+        hashPassword("password".toCharArray(), salt, iterations);
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static int parseIterations(final String iterations) {
+        try {
+            return Integer.parseInt(iterations);
+        } catch (NumberFormatException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
+        }
     }
 
     /**
@@ -60,19 +192,20 @@ public class PasswordCryptographyProvider {
     /**
      * This method generates hashed Password
      *
-     * @param password char array.
-     * @param salt     byte array.
+     * @param password   char array.
+     * @param salt       byte array.
+     * @param iterations PBKDF2 iteration count.
      * @return byte array of hashed password.
      */
-    private static byte[] hashPassword(final char[] password, final byte[] salt) {
+    private static byte[] hashPassword(final char[] password, final byte[] salt, final int iterations) {
         try {
-            SecretKeyFactory skf = SecretKeyFactory.getInstance(SECRET_KEY_ALGORITHM);
-            PBEKeySpec spec = new PBEKeySpec(password, salt, HASHING_ITERATIONS, HASHING_KEY_LENGTH);
-            SecretKey key = skf.generateSecret(spec);
+            PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, HASHING_KEY_LENGTH);
+            SecretKey key = SECRET_KEY_FACTORY.get().generateSecret(spec);
             byte[] res = key.getEncoded();
+            spec.clearPassword();
             return res;
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException(e);
+        } catch (InvalidKeySpecException e) {
+            throw new UnexpectedException(GenericErrorCode.GEN_001, e);
         }
     }
 
@@ -94,5 +227,3 @@ public class PasswordCryptographyProvider {
         return Base64.getDecoder().decode(decode);
     }
 }
-
-
@@ -1,5 +1,6 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.dao.PaymentDao;
 import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
 import com.upgrad.FoodOrderingApp.service.exception.PaymentMethodNotFoundException;
@@ -36,7 +37,7 @@ public class PaymentService {
 	 */
 
 	public PaymentEntity getPaymentByUUID(String uuid) throws PaymentMethodNotFoundException {
-		PaymentEntity paymentEntity = paymentDao.getPaymentByUUID(uuid);
+		PaymentEntity paymentEntity = paymentDao.getPaymentByUUID(UuidParser.parse(uuid));
 		if (paymentEntity == null) {
 			throw new PaymentMethodNotFoundException("PNF-002", "No payment method found by this id");
 		}
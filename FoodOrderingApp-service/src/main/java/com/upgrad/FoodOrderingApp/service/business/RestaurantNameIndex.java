@@ -0,0 +1,157 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import java.util.*;
+
+/**
+ * RestaurantNameIndex is a trigram inverted index over restaurant names which answers case insensitive substring
+ * queries.
+ *
+ * Every name is lower cased and split into overlapping three character grams, each gram keeping a sorted posting list
+ * of the restaurants containing it. A query intersects the posting lists of its own grams, smallest first, and then
+ * verifies the few remaining candidates with String.contains. Queries shorter than three characters have no gram and
+ * are answered by scanning all names.
+ *
+ * The index is immutable: it is built once from all restaurant names of a catalog version, and the catalog snapshot
+ * builds a new one for every version, so a renamed or removed restaurant never leaves a stale slot behind. All fields
+ * are final and never written after construction, so the index is safe for concurrent use without a lock.
+ */
+public class RestaurantNameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final UUID[] uuids;
+
+    private final String[] names;
+
+    private final String[] lowerCaseNames;
+
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+
+    /**
+     * Indexes the given restaurant names
+     *
+     * @param namesByUuid Restaurant names by restaurant UUID
+     */
+    public RestaurantNameIndex(final Map<UUID, String> namesByUuid) {
+        uuids = new UUID[namesByUuid.size()];
+        names = new String[namesByUuid.size()];
+        lowerCaseNames = new String[namesByUuid.size()];
+        int document = 0;
+        for (Map.Entry<UUID, String> entry : namesByUuid.entrySet()) {
+            uuids[document] = entry.getKey();
+            names[document] = entry.getValue();
+            lowerCaseNames[document] = entry.getValue().toLowerCase();
+            // documents are numbered in order, so appending keeps every posting list sorted
+            for (Long gram : grams(lowerCaseNames[document])) {
+                postingsByGram.computeIfAbsent(gram, key -> new Postings()).append(document);
+            }
+            document++;
+        }
+    }
+
+    /**
+     * Returns the number of indexed restaurants
+     */
+    public int size() {
+        return uuids.length;
+    }
+
+    /**
+     * Returns the UUIDs of all restaurants whose name contains the given text, ignoring case, in alphabetical order of
+     * restaurant name
+     *
+     * @param text Part of restaurant name
+     *
+     * @return List<UUID> of restaurant UUIDs
+     */
+    public List<UUID> search(final String text) {
+        final String lowerCaseText = text.toLowerCase();
+
+        final List<Integer> matches = new ArrayList<>();
+        if (lowerCaseText.length() < GRAM_LENGTH) {
+            for (int document = 0; document < lowerCaseNames.length; document++) {
+                if (lowerCaseNames[document].contains(lowerCaseText)) {
+                    matches.add(document);
+                }
+            }
+        } else {
+            final Postings[] postings = postingsOf(lowerCaseText);
+            if (postings == null) {
+                return Collections.emptyList();
+            }
+            final Postings smallest = postings[0];
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                final int document = smallest.documents[i];
+                for (int j = 1; j < postings.length; j++) {
+                    if (!postings[j].contains(document)) {
+                        continue candidates;
+                    }
+                }
+                if (lowerCaseNames[document].contains(lowerCaseText)) {
+                    matches.add(document);
+                }
+            }
+        }
+
+        matches.sort((left, right) -> {
+            final int byName = names[left].compareTo(names[right]);
+            return byName != 0 ? byName : uuids[left].compareTo(uuids[right]);
+        });
+        final List<UUID> matchingUuids = new ArrayList<>(matches.size());
+        for (int document : matches) {
+            matchingUuids.add(uuids[document]);
+        }
+        return matchingUuids;
+    }
+
+    /**
+     * Returns the posting lists of all distinct grams of the text, smallest first, or null if any gram is not indexed
+     */
+    private Postings[] postingsOf(final String lowerCaseText) {
+        final Set<Long> grams = grams(lowerCaseText);
+        final Postings[] postings = new Postings[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            final Postings gramPostings = postingsByGram.get(gram);
+            if (gramPostings == null) {
+                return null;
+            }
+            postings[i++] = gramPostings;
+        }
+        Arrays.sort(postings, Comparator.comparingInt(gramPostings -> gramPostings.size));
+        return postings;
+    }
+
+    /**
+     * Packs each three character window of the text into one long, 16 bits per character
+     */
+    private static Set<Long> grams(final String lowerCaseText) {
+        final Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseText.length(); i++) {
+            grams.add(((long) lowerCaseText.charAt(i) << 32) | ((long) lowerCaseText.charAt(i + 1) << 16) | lowerCaseText.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Sorted list of document numbers, only grown while the index is built
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+
+        private int size;
+
+        private void append(final int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+
+        private boolean contains(final int document) {
+            return Arrays.binarySearch(documents, 0, size, document) >= 0;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RestaurantRatingAccumulator collects the ratings given to restaurants in memory and adds them to the database in the
+ * background.
+ *
+ * A rating only adds to the striped sum and count of its restaurant, so ratings of the same restaurant never wait on
+ * each other or on its row. Every 'restaurant.rating.flush-interval' milliseconds, and when the application shuts
+ * down, the sums and counts collected so far are added to each restaurant with one atomic UPDATE, which derives the
+ * average rating from the new sum and count. Ratings are kept in hundredths, so sums are exact.
+ *
+ * The sum and the count of a restaurant are drained one after the other, so a rating given during a flush may have
+ * its count added by one flush and its sum by the next. Nothing is lost, and the next flush makes the average exact
+ * again. If a flush fails, what it drained is added back to be flushed again.
+ *
+ * A flush does not rebuild the catalog snapshot, which would bump its version, and with it the ETags and the stored
+ * documents, every second. The new ratings reach the snapshot at its next periodic refresh instead, every
+ * 'catalog.snapshot.refresh-interval' milliseconds.
+ */
+@Component
+public class RestaurantRatingAccumulator {
+
+    @Autowired
+    private RestaurantDao restaurantDao;
+
+    private final ConcurrentMap<Integer, RatingCell> cellsByRestaurant = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a rating to a restaurant, to be written at the next flush
+     *
+     * @param restaurantId Id of restaurant
+     * @param rating Customer rating
+     */
+    public void add(final Integer restaurantId, final double rating) {
+        cellsByRestaurant.computeIfAbsent(restaurantId, id -> new RatingCell()).add(Math.round(rating * 100), 1);
+    }
+
+    @Scheduled(initialDelayString = "${restaurant.rating.flush-interval:1000}", fixedDelayString = "${restaurant.rating.flush-interval:1000}")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onFlushInterval() {
+        flush();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onContextClosed() {
+        flush();
+    }
+
+    private void flush() {
+        final Map<Integer, long[]> drained = drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(final int status) {
+                    if (status != TransactionSynchronization.STATUS_COMMITTED) {
+                        restore(drained);
+                    }
+                }
+            });
+        }
+        try {
+            for (Map.Entry<Integer, long[]> entry : drained.entrySet()) {
+                restaurantDao.addRatings(entry.getKey(), BigDecimal.valueOf(entry.getValue()[0], 2), entry.getValue()[1]);
+            }
+        } catch (RuntimeException e) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                restore(drained);
+            }
+            throw e;
+        }
+    }
+
+    private Map<Integer, long[]> drain() {
+        final Map<Integer, long[]> drained = new HashMap<>();
+        cellsByRestaurant.forEach((restaurantId, cell) -> {
+            // the reverse order of add, so a sum is never written before its count, which keeps the division safe
+            final long sum = cell.sum.sumThenReset();
+            final long count = cell.count.sumThenReset();
+            if (count != 0 || sum != 0) {
+                drained.put(restaurantId, new long[]{sum, count});
+            }
+        });
+        return drained;
+    }
+
+    private void restore(final Map<Integer, long[]> drained) {
+        drained.forEach((restaurantId, sumAndCount) ->
+                cellsByRestaurant.computeIfAbsent(restaurantId, id -> new RatingCell()).add(sumAndCount[0], sumAndCount[1]));
+    }
+
+    /**
+     * Sum, in hundredths, and count of the ratings of one restaurant not yet written
+     */
+    private static final class RatingCell {
+
+        private final LongAdder sum = new LongAdder();
+
+        private final LongAdder count = new LongAdder();
+
+        private void add(final long ratingSum, final long ratingCount) {
+            count.add(ratingCount);
+            sum.add(ratingSum);
+        }
+    }
+}
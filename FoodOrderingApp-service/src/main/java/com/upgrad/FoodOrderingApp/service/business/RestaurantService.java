@@ -1,19 +1,16 @@
 package com.upgrad.FoodOrderingApp.service.business;
 
-import com.upgrad.FoodOrderingApp.service.dao.CategoryDao;
-import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import com.upgrad.FoodOrderingApp.service.common.UuidParser;
 import com.upgrad.FoodOrderingApp.service.entity.CategoryEntity;
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantListView;
 import com.upgrad.FoodOrderingApp.service.exception.CategoryNotFoundException;
 import com.upgrad.FoodOrderingApp.service.exception.InvalidRatingException;
 import com.upgrad.FoodOrderingApp.service.exception.RestaurantNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 
@@ -21,10 +18,10 @@ import java.util.List;
 public class RestaurantService {
 
     @Autowired
-    private RestaurantDao restaurantDao;
+    private CatalogSnapshot catalogSnapshot;
 
     @Autowired
-    private CategoryDao categoryDao;
+    private RestaurantRatingAccumulator restaurantRatingAccumulator;
 
     /**
      * This method implements the business logic for 'Get All Restaurants - "/restaurant"' endpoint
@@ -34,7 +31,19 @@ public class RestaurantService {
      */
 
     public List<RestaurantEntity> restaurantsByRating() {
-        return restaurantDao.restaurantsByRating();
+        return catalogSnapshot.getRestaurantsByRating();
+    }
+
+    /**
+     * Returns the list view of all restaurants in order of their ratings
+     *
+     *Address, state and categories are fetched along with the restaurant, so the number of queries does not grow with the number of restaurants
+     *
+     * @return List<RestaurantListView> object
+     */
+
+    public List<RestaurantListView> restaurantListViewsByRating() {
+        return catalogSnapshot.getRestaurantListViewsByRating();
     }
 
     /**
@@ -54,15 +63,7 @@ public class RestaurantService {
             throw new RestaurantNotFoundException("RNF-003", "Restaurant name field should not be empty");
         }
 
-        List<RestaurantEntity> restaurantEntityList = restaurantDao.restaurantsByRating();
-        List<RestaurantEntity> matchingRestaurantEntityList = new ArrayList<RestaurantEntity>();
-        for (RestaurantEntity restaurantEntity : restaurantEntityList) {
-            if (restaurantEntity.getRestaurantName().toLowerCase().contains(restaurantName.toLowerCase())) {
-                matchingRestaurantEntityList.add(restaurantEntity);
-            }
-        }
-
-        return matchingRestaurantEntityList;
+        return catalogSnapshot.getRestaurantsByName(restaurantName);
     }
 
 
@@ -85,15 +86,13 @@ public class RestaurantService {
             throw new CategoryNotFoundException("CNF-001", "Category id field should not be empty");
         }
 
-        CategoryEntity categoryEntity = categoryDao.getCategoryByUuid(categoryId);
+        CategoryEntity categoryEntity = catalogSnapshot.getCategoryByUuid(UuidParser.parse(categoryId));
 
         if(categoryEntity == null) {
             throw new CategoryNotFoundException("CNF-002", "No category by this id");
         }
 
-        List<RestaurantEntity> restaurantEntityList = categoryEntity.getRestaurants();
-        restaurantEntityList.sort(Comparator.comparing(RestaurantEntity::getRestaurantName));
-        return restaurantEntityList;
+        return catalogSnapshot.getRestaurantsByCategory(categoryEntity.getUuid());
     }
 
     /**
@@ -114,7 +113,7 @@ public class RestaurantService {
             throw new RestaurantNotFoundException("RNF-002", "Restaurant id field should not be empty");
         }
 
-        RestaurantEntity restaurantEntity = restaurantDao.getRestaurantByUUID(uuid);
+        RestaurantEntity restaurantEntity = catalogSnapshot.getRestaurantByUuid(UuidParser.parse(uuid));
 
         if (restaurantEntity == null) {
             throw new RestaurantNotFoundException("RNF-001", "No restaurant by this id");
@@ -123,7 +122,11 @@ public class RestaurantService {
     }
 
     /**
-     * Updates restaurant average customer rating and number of customers rated
+     * Adds a customer rating to a restaurant
+     *
+     *The rating is collected by the RestaurantRatingAccumulator, which adds it to the restaurant's rating sum and count
+     * within 'restaurant.rating.flush-interval' milliseconds, so the returned entity does not include it yet. The catalog
+     * snapshot shows it after its next periodic refresh
      *
      * @param restaurantEntity UUID of restaurant entity
      * @param newRating Customer rating
@@ -133,19 +136,14 @@ public class RestaurantService {
      * @throws InvalidRatingException If the customer rating field entered by the customer is empty or is not in the range of 1 to 5
      */
 
-    @Transactional(propagation = Propagation.REQUIRED)
+    @Timed("restaurant.rating.update")
     public RestaurantEntity updateRestaurantRating(RestaurantEntity restaurantEntity, Double newRating) throws InvalidRatingException {
 
-        if (newRating < 1.0 || newRating > 5.0) {
+        if (newRating == null || newRating < 1.0 || newRating > 5.0) {
             throw new InvalidRatingException("IRE-001", "Restaurant should be in the range of 1 to 5");
         }
 
-        Double newAverageRating = Math.round(
-                (newRating / (restaurantEntity.getNumberCustomersRated() + 1)
-                        + restaurantEntity.getCustomerRating()) * 100.0) / 100.0;
-        restaurantEntity.setNumberCustomersRated(restaurantEntity.getNumberCustomersRated() + 1);
-        restaurantEntity.setCustomerRating(newAverageRating);
-
-        return restaurantDao.updateRestaurantEntity(restaurantEntity);
+        restaurantRatingAccumulator.add(restaurantEntity.getId(), newRating);
+        return restaurantEntity;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TokenRevocationList remembers the ids of access tokens revoked by logout until the tokens expire, after which they
+ * are rejected as expired anyway and are dropped from the list.
+ *
+ * A logout revokes its token on the node which served it right away. Every node also reads the tokens logged out on
+ * any node from customer_auth every 'auth.jwt.revocation-sync-interval' milliseconds, so a logout reaches the other
+ * nodes within that interval. With 'auth.verification' set to 'jwt' the tokens read are revoked, all of them not
+ * expired yet at startup and those logged out since the previous read afterwards, so a logout also survives a restart.
+ * With 'database' their sessions are dropped from the CustomerSessionCache instead, which starts empty and so only
+ * needs the logouts since startup.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // logouts are stamped with the clock of the node which served them, each read goes back this far to cover clocks
+    // running apart and logouts committed after the previous read started
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private CustomerDao customerDao;
+
+    @Autowired
+    private CustomerSessionCache customerSessionCache;
+
+    @Value("${auth.verification:database}")
+    private String verification;
+
+    private final Map<UUID, Long> expiriesByTokenId = new ConcurrentHashMap<>();
+
+    private ZonedDateTime syncedAt;
+
+    /**
+     * Revokes a token
+     *
+     * @param tokenId Value of the token's jti claim
+     * @param expiresAt Expiry of the token in milliseconds since the epoch
+     */
+    public void revoke(final UUID tokenId, final long expiresAt) {
+        if (expiresAt > System.currentTimeMillis()) {
+            expiriesByTokenId.put(tokenId, expiresAt);
+        }
+    }
+
+    public boolean isRevoked(final UUID tokenId) {
+        return expiriesByTokenId.containsKey(tokenId);
+    }
+
+    public int size() {
+        return expiriesByTokenId.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.jwt.revocation-purge-interval:60000}")
+    public void removeExpired() {
+        final long now = System.currentTimeMillis();
+        expiriesByTokenId.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    /**
+     * Revokes the tokens logged out on any node since the previous sync, or drops their cached sessions
+     */
+    @Scheduled(fixedDelayString = "${auth.jwt.revocation-sync-interval:5000}")
+    public synchronized void syncWithDatabase() {
+        final boolean jwtVerification = "jwt".equals(verification);
+        final ZonedDateTime now = ZonedDateTime.now();
+        final ZonedDateTime since;
+        if (syncedAt != null) {
+            since = syncedAt.minus(SYNC_OVERLAP);
+        } else if (jwtVerification) {
+            since = Instant.EPOCH.atZone(ZoneOffset.UTC);
+        } else {
+            since = now.minus(SYNC_OVERLAP);
+        }
+        try {
+            for (String accessToken : customerDao.getAccessTokensLoggedOutSince(since, now)) {
+                if (jwtVerification) {
+                    revoke(accessToken);
+                } else {
+                    customerSessionCache.invalidate(accessToken);
+                }
+            }
+            syncedAt = now;
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not read the access tokens logged out since {}, retrying with the next sync", since, e);
+        }
+    }
+
+    private void revoke(final String accessToken) {
+        try {
+            final DecodedJWT decodedJWT = JWT.decode(accessToken);
+            if (decodedJWT.getId() != null && decodedJWT.getExpiresAt() != null) {
+                revoke(UUID.fromString(decodedJWT.getId()), decodedJWT.getExpiresAt().getTime());
+            }
+        } catch (JWTDecodeException | IllegalArgumentException e) {
+            // tokens issued before the key ring carry no token id and are never accepted by JwtTokenVerifier
+        }
+    }
+}
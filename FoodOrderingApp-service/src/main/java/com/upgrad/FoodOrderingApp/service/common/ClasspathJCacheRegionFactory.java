@@ -0,0 +1,41 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.jcache.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Properties;
+
+/**
+ * ClasspathJCacheRegionFactory is the JCacheRegionFactory of Hibernate that also reads a 'classpath:' configuration
+ * uri, like 'hibernate.javax.cache.uri: classpath:ehcache.xml'.
+ *
+ * JCacheRegionFactory of Hibernate 5.2 hands the uri to the caching provider as it is, and Ehcache can only open
+ * URLs, which 'classpath:' is not. The resource is resolved to its URL here first, a file or a jar entry.
+ */
+public class ClasspathJCacheRegionFactory extends JCacheRegionFactory {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    @Override
+    protected CacheManager getCacheManager(final Properties properties) {
+        final String configUri = getProp(properties, CONFIG_URI);
+        if (configUri == null || !configUri.startsWith(CLASSPATH_PREFIX)) {
+            return super.getCacheManager(properties);
+        }
+        final CachingProvider cachingProvider = getCachingProvider(properties);
+        final ClassLoader classLoader = cachingProvider.getDefaultClassLoader();
+        final URL configUrl = classLoader.getResource(configUri.substring(CLASSPATH_PREFIX.length()).replaceFirst("^/", ""));
+        if (configUrl == null) {
+            throw new CacheException("No cache configuration found at " + configUri);
+        }
+        try {
+            return cachingProvider.getCacheManager(configUrl.toURI(), classLoader);
+        } catch (URISyntaxException e) {
+            throw new CacheException("Invalid cache configuration uri " + configUrl, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jpa.HibernateMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+
+/**
+ * HibernateMetricsBinder publishes the Hibernate statistics, including those of every second-level cache region, as
+ * metrics.
+ *
+ * The meter registry may be built, and its binders asked for, while the entity manager factory is itself still being
+ * built, for the connection pool metrics. So the statistics are only bound once the context is refreshed, and the
+ * entity manager factory is looked up then. Without a meter registry, as in the tests, nothing is bound, and neither
+ * is anything while hibernate.generate_statistics is off, as it is by default.
+ */
+@Component
+public class HibernateMetricsBinder implements MeterBinder {
+
+    @Autowired
+    private ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        final MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            new HibernateMetrics(entityManagerFactory.getObject(), "entityManagerFactory", Collections.emptyList()).bindTo(registry);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OperationMetricsAspect times every public method of the DAOs as 'dao.operation', tagged by DAO and method, and
+ * every business method annotated with @Timed under the name given by the annotation, as a percentile histogram.
+ *
+ * Calls that throw are timed apart from those that return, with the tag outcome=failure, so every timer also counts
+ * the failures. The two timers of a method are built once and then looked up by method, so a call only costs the map
+ * lookup, two System.nanoTime() calls and the record. Until a meter registry is bound, as in the tests and the
+ * benchmarks without one, calls are passed through untimed.
+ */
+@Aspect
+@Component
+public class OperationMetricsAspect implements MeterBinder {
+
+    private final ConcurrentMap<Method, OperationTimers> timersByMethod = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    @Around("execution(public * com.upgrad.FoodOrderingApp.service.dao.*.*(..))")
+    public Object timeDaoOperation(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint);
+    }
+
+    @Around("@annotation(io.micrometer.core.annotation.Timed) && execution(public * com.upgrad.FoodOrderingApp.service.business.*.*(..))")
+    public Object timeBusinessOperation(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint);
+    }
+
+    private Object time(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return joinPoint.proceed();
+        }
+        final Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationTimers operationTimers = timersByMethod.get(method);
+        if (operationTimers == null) {
+            operationTimers = timersByMethod.computeIfAbsent(method, m -> new OperationTimers(registry, m));
+        }
+
+        final long start = System.nanoTime();
+        try {
+            final Object result = joinPoint.proceed();
+            operationTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            operationTimers.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Timers of the calls of one method that returned and of those that threw
+     */
+    private static final class OperationTimers {
+
+        private final Timer success;
+
+        private final Timer failure;
+
+        private OperationTimers(final MeterRegistry registry, final Method method) {
+            this.success = timer(registry, method, "success");
+            this.failure = timer(registry, method, "failure");
+        }
+
+        private static Timer timer(final MeterRegistry registry, final Method method, final String outcome) {
+            final Timed timed = method.getAnnotation(Timed.class);
+            final Timer.Builder builder;
+            if (timed != null) {
+                // few enough to be published as histograms
+                builder = Timer.builder(timed.value())
+                        .tags(timed.extraTags())
+                        .publishPercentileHistogram();
+            } else {
+                builder = Timer.builder("dao.operation")
+                        .description("Calls of the DAO methods")
+                        .tags("dao", method.getDeclaringClass().getSimpleName(), "method", method.getName());
+            }
+            return builder.tags("outcome", outcome).register(registry);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * QueryStatistics counts the SQL statements, the time spent executing them and the entities loaded by one unit of
+ * work, usually an HTTP request, on the thread that runs it.
+ *
+ * Counting starts with begin() and stops with end(), and in between QueryStatisticsInterceptor and
+ * QueryTimingSessionListener add to the statistics of the current thread. A unit of work handed to another thread,
+ * like the body of a streamed response, is counted there after resume(). Other work on other threads, like the
+ * scheduled flushes, is not counted. Every distinct statement is kept with the number of times it was prepared, up to
+ * MAX_DISTINCT_STATEMENTS of them, so that a statement repeated once per row of a list stands out.
+ */
+public final class QueryStatistics {
+
+    static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+
+    private int statementCount;
+
+    private long jdbcNanos;
+
+    private int entityLoadCount;
+
+    private QueryStatistics() {
+    }
+
+    /**
+     * Starts counting on the current thread
+     *
+     * @return QueryStatistics object, also returned by end()
+     */
+    public static QueryStatistics begin() {
+        final QueryStatistics queryStatistics = new QueryStatistics();
+        CURRENT.set(queryStatistics);
+        return queryStatistics;
+    }
+
+    /**
+     * Stops counting on the current thread
+     *
+     * @return QueryStatistics object of the last begin(), or null if counting was not started
+     */
+    public static QueryStatistics end() {
+        final QueryStatistics queryStatistics = CURRENT.get();
+        CURRENT.remove();
+        return queryStatistics;
+    }
+
+    /**
+     * Continues counting on the current thread the unit of work begun on another thread, which has stopped counting.
+     *
+     * @param queryStatistics QueryStatistics object returned by begin()
+     */
+    public static void resume(final QueryStatistics queryStatistics) {
+        CURRENT.set(queryStatistics);
+    }
+
+    static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(final String sql) {
+        statementCount++;
+        if (statementCounts.size() < MAX_DISTINCT_STATEMENTS || statementCounts.containsKey(sql)) {
+            statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void jdbcExecuted(final long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoadCount++;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public int getEntityLoadCount() {
+        return entityLoadCount;
+    }
+
+    /**
+     * @return Map of every distinct statement to the number of times it was prepared, in the order first prepared
+     */
+    public Map<String, Integer> getStatementCounts() {
+        return Collections.unmodifiableMap(statementCounts);
+    }
+}
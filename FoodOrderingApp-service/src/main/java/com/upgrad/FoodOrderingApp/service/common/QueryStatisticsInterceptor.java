@@ -0,0 +1,35 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * QueryStatisticsInterceptor adds every SQL statement Hibernate prepares, and every entity it loads, to the
+ * QueryStatistics of the current thread.
+ *
+ * Hibernate creates it by class name, once as 'hibernate.session_factory.statement_inspector' and once as
+ * 'hibernate.session_factory.interceptor'. Statements are passed on unchanged.
+ */
+public class QueryStatisticsInterceptor extends EmptyInterceptor implements StatementInspector {
+
+    @Override
+    public String inspect(final String sql) {
+        final QueryStatistics queryStatistics = QueryStatistics.current();
+        if (queryStatistics != null) {
+            queryStatistics.statementPrepared(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(final Object entity, final Serializable id, final Object[] state, final String[] propertyNames, final Type[] types) {
+        final QueryStatistics queryStatistics = QueryStatistics.current();
+        if (queryStatistics != null) {
+            queryStatistics.entityLoaded();
+        }
+        return false;
+    }
+}
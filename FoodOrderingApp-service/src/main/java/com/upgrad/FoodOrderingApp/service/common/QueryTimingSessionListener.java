@@ -0,0 +1,42 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * QueryTimingSessionListener adds the time spent executing statements and batches to the QueryStatistics of the
+ * current thread.
+ *
+ * Hibernate creates one per session, from 'hibernate.session.events.auto', and a session is only used by one thread
+ * at a time. Reading the rows of a result is not part of the execution time.
+ */
+public class QueryTimingSessionListener extends BaseSessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        final QueryStatistics queryStatistics = QueryStatistics.current();
+        if (queryStatistics != null) {
+            queryStatistics.jdbcExecuted(System.nanoTime() - executeStart);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import java.util.UUID;
+
+/**
+ * UuidParser turns the UUIDs received from customers, in path variables, request parameters and request bodies, into
+ * the java.util.UUID the entities and the uuid columns hold.
+ *
+ * Only the canonical form of 32 hexadecimal digits in groups of 8-4-4-4-12 is accepted. Any other text cannot be the
+ * UUID of anything in the database, so it is answered with null rather than an exception, and the callers report it
+ * as they report an unknown UUID. Unlike UUID.fromString, shortened groups like '1-2-3-4-5' are not accepted.
+ */
+public final class UuidParser {
+
+    private static final int LENGTH = 36;
+
+    private UuidParser() {
+    }
+
+    /**
+     * Parses a UUID in canonical form
+     *
+     * @param text the text to parse, may be null
+     *
+     * @return the UUID, or null if the text is not a UUID in canonical form
+     */
+    public static UUID parse(final String text) {
+        if (text == null || text.length() != LENGTH
+                || text.charAt(8) != '-' || text.charAt(13) != '-' || text.charAt(18) != '-' || text.charAt(23) != '-') {
+            return null;
+        }
+        final long timeLow = hex(text, 0, 8);
+        final long timeMid = hex(text, 9, 13);
+        final long timeHighAndVersion = hex(text, 14, 18);
+        final long clockSequence = hex(text, 19, 23);
+        final long node = hex(text, 24, 36);
+        if (timeLow < 0 || timeMid < 0 || timeHighAndVersion < 0 || clockSequence < 0 || node < 0) {
+            return null;
+        }
+        return new UUID(timeLow << 32 | timeMid << 16 | timeHighAndVersion, clockSequence << 48 | node);
+    }
+
+    /**
+     * @return the value of the hexadecimal digits between begin and end, at most 12 of them, or -1 if any is not one
+     */
+    private static long hex(final String text, final int begin, final int end) {
+        long value = 0;
+        for (int i = begin; i < end; i++) {
+            final char c = text.charAt(i);
+            final int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'F') {
+                digit = c - 'A' + 10;
+            } else {
+                // Character.digit would take the digits of other scripts too
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.NoResultException;
+import java.util.UUID;
 
 
 /**
@@ -38,7 +39,7 @@ public class AddressDao {
      */
 
 
-    public AddressEntity getAddressByUUID(String uuid) {
+    public AddressEntity getAddressByUUID(UUID uuid) {
         try {
             return entityManager.createNamedQuery("addressByUUID", AddressEntity.class).setParameter("uuid", uuid).getSingleResult();
         } catch (NoResultException nre) {
@@ -7,6 +7,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.UUID;
 
 
 
@@ -35,6 +36,18 @@ public class CategoryDao {
 		}
 	}
 
+	/**
+	 * This method finds all categories with their items and restaurants initialized
+	 *
+	 * @return List<CategoryEntity> object
+	 */
+
+	public List<CategoryEntity> getAllCategoriesWithItemsAndRestaurants() {
+		List<CategoryEntity> categoryEntityList = entityManager.createNamedQuery("allCategoriesWithItems", CategoryEntity.class).getResultList();
+		entityManager.createNamedQuery("allCategoriesWithRestaurants", CategoryEntity.class).getResultList();
+		return categoryEntityList;
+	}
+
 	/**
 	 * This method returns category entity for a given uuid
 	 *
@@ -43,7 +56,7 @@ public class CategoryDao {
 	 * @return CategoryEntity object
 	 */
 
-	public CategoryEntity getCategoryByUuid(String uuid) {
+	public CategoryEntity getCategoryByUuid(UUID uuid) {
 		try {
 			return entityManager.createNamedQuery("categoryByUuid", CategoryEntity.class).setParameter("uuid", uuid).getSingleResult();
 		} catch (NoResultException nre) {
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.UUID;
 
 
 /**
@@ -44,7 +45,7 @@ public class CouponDao {
      * @return CouponEntity object
      */
 
-    public CouponEntity getCouponByCouponUUID(String uuid) {
+    public CouponEntity getCouponByCouponUUID(UUID uuid) {
         try {
             return entityManager.createNamedQuery("couponByUUID", CouponEntity.class).setParameter("uuid", uuid).getSingleResult();
         } catch (NoResultException nre) {
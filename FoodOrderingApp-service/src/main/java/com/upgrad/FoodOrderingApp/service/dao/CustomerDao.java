@@ -7,6 +7,9 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
 
 
 
@@ -95,6 +98,19 @@ public class CustomerDao {
         return entityManager.merge(customerAuthEntity);
     }
 
+    /**
+     * This method returns the access tokens logged out since a given time which have not expired yet
+     *
+     * @param since earliest logout time
+     * @param now current time, tokens expiring before it are left out
+     *
+     * @return List of access tokens
+     */
+
+    public List<String> getAccessTokensLoggedOutSince(ZonedDateTime since, ZonedDateTime now) {
+        return entityManager.createNamedQuery("accessTokensLoggedOutSince", String.class).setParameter("since", since).setParameter("now", now).getResultList();
+    }
+
     /**
      * This method updates existing customer
      *
@@ -115,11 +131,23 @@ public class CustomerDao {
      * @return CustomerEntity object
      */
 
-    public CustomerEntity getCustomerByUUID(String uuid) {
+    public CustomerEntity getCustomerByUUID(UUID uuid) {
         try {
             return entityManager.createNamedQuery("customerByUUID", CustomerEntity.class).setParameter("uuid", uuid).getSingleResult();
         } catch (NoResultException nre) {
             return null;
         }
     }
+
+    /**
+     * This method returns customer entity for given id
+     *
+     * @param id customer entity id
+     *
+     * @return CustomerEntity object, null if there is no customer by this id
+     */
+
+    public CustomerEntity getCustomerById(Integer id) {
+        return entityManager.find(CustomerEntity.class, id);
+    }
 }
@@ -6,6 +6,10 @@ import org.springframework.stereotype.Repository;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * ItemDao class provides the database access for all the endpoints in item controller
@@ -25,11 +29,36 @@ public class ItemDao {
      * @return ItemEntity object
      */
 
-    public ItemEntity getItemByUUID(String uuid) {
+    public ItemEntity getItemByUUID(UUID uuid) {
         try {
             return entityManager.createNamedQuery("itemByUUID", ItemEntity.class).setParameter("uuid", uuid).getSingleResult();
         } catch (NoResultException nre) {
             return null;
         }
     }
+
+    /**
+     * Returns the item entities for the given UUIDs in one query, UUIDs without an item are left out
+     *
+     * @param uuids UUIDs of item entities
+     *
+     * @return List<ItemEntity> object
+     */
+
+    public List<ItemEntity> getItemsByUUIDs(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return entityManager.createNamedQuery("itemsByUUIDs", ItemEntity.class).setParameter("uuids", uuids).getResultList();
+    }
+
+    /**
+     * Returns all item entities
+     *
+     * @return List<ItemEntity> object
+     */
+
+    public List<ItemEntity> getAllItems() {
+        return entityManager.createNamedQuery("allItems", ItemEntity.class).getResultList();
+    }
 }
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.upgrad.FoodOrderingApp.service.dao;
 
 import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * OrderDao class provides the database access for all the endpoints in order controller
@@ -67,6 +73,82 @@ public class OrderDao {
         }
     }
 
+    /**
+     * Returns orders for a given customer, with coupon, payment, customer, address, restaurant and their states fetched
+     * in the same query
+     *
+     * @param customerEntity Customer to get orders for
+     *
+     * @return List<OrderEntity> object
+     */
+
+    public List<OrderEntity> getOrdersWithDetailsByCustomer(CustomerEntity customerEntity) {
+        return entityManager.createNamedQuery("ordersWithDetailsByCustomer", OrderEntity.class).setParameter("customer", customerEntity).getResultList();
+    }
+
+    /**
+     * Returns the first orders of a customer, latest first, with the same details as getOrdersWithDetailsByCustomer
+     *
+     * @param customerEntity Customer to get orders for
+     * @param maxResults Maximum number of orders
+     *
+     * @return List<OrderEntity> object
+     */
+
+    public List<OrderEntity> getOrdersWithDetailsByCustomer(CustomerEntity customerEntity, int maxResults) {
+        return entityManager.createNamedQuery("ordersWithDetailsByCustomer", OrderEntity.class).setParameter("customer", customerEntity)
+                .setMaxResults(maxResults).getResultList();
+    }
+
+    /**
+     * Returns the orders of a customer placed before a given order, latest first, seeking on (date, id) instead of
+     * skipping the orders already returned
+     *
+     * @param customerEntity Customer to get orders for
+     * @param date Date of the last order already returned
+     * @param id Id of the last order already returned
+     * @param maxResults Maximum number of orders
+     *
+     * @return List<OrderEntity> object
+     */
+
+    public List<OrderEntity> getOrdersWithDetailsByCustomerAfter(CustomerEntity customerEntity, Date date, Integer id, int maxResults) {
+        return entityManager.createNamedQuery("ordersWithDetailsByCustomerAfter", OrderEntity.class).setParameter("customer", customerEntity)
+                .setParameter("date", date).setParameter("id", id).setMaxResults(maxResults).getResultList();
+    }
+
+    /**
+     * Reads all orders of a customer, latest first, through a database cursor and hands them over in batches. The
+     * persistence context is cleared after every batch, so memory use does not grow with the number of orders.
+     *
+     * Must be called inside a transaction for the database to keep the cursor open.
+     *
+     * @param customerEntity Customer to get orders for
+     * @param batchSize Number of orders per batch, also used as JDBC fetch size
+     * @param batchConsumer Receives every batch of orders
+     */
+
+    @SuppressWarnings("unchecked")
+    public void scrollOrdersWithDetailsByCustomer(CustomerEntity customerEntity, int batchSize, Consumer<List<OrderEntity>> batchConsumer) {
+        Query<OrderEntity> query = entityManager.createNamedQuery("ordersWithDetailsByCustomer", OrderEntity.class).unwrap(Query.class);
+        try (ScrollableResults scrollableResults = query.setParameter("customer", customerEntity)
+                .setFetchSize(batchSize).setReadOnly(true).scroll(ScrollMode.FORWARD_ONLY)) {
+            List<OrderEntity> batch = new ArrayList<OrderEntity>(batchSize);
+            while (scrollableResults.next()) {
+                batch.add((OrderEntity) scrollableResults.get(0));
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    entityManager.clear();
+                    batch = new ArrayList<OrderEntity>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(batch);
+                entityManager.clear();
+            }
+        }
+    }
+
     /**
      * Returns orders for a given restaurant
      *
@@ -84,6 +166,17 @@ public class OrderDao {
     }
 
 
+    /**
+     * Returns the highest id of all orders, or 0 if there is no order
+     *
+     * @return int order id
+     */
+
+    public int getMaxOrderId() {
+        return entityManager.createNamedQuery("maxOrderId", Integer.class).getSingleResult();
+    }
+
+
     /**
      * Gets the coupon details for a particular coupon name
      * @param couponName Name of coupon to searched
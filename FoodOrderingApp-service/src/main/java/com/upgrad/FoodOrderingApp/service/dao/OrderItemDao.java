@@ -2,11 +2,13 @@ package com.upgrad.FoodOrderingApp.service.dao;
 
 import com.upgrad.FoodOrderingApp.service.entity.OrderEntity;
 import com.upgrad.FoodOrderingApp.service.entity.OrderItemEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,6 +19,9 @@ import java.util.List;
 @Repository
 public class OrderItemDao {
 
+    // keeps the IN list of a single query well below the JDBC bind parameter limit
+    private static final int ORDERS_PER_QUERY = 1000;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -48,4 +53,36 @@ public class OrderItemDao {
             return null;
         }
     }
+
+    /**
+     * Returns items for the given order entities, with the items fetched in the same query, one query per thousand orders
+     *
+     * @param orderEntities Orders to get items for
+     *
+     * @return List<OrderItemEntity> object
+     */
+
+    public List<OrderItemEntity> getItemsByOrders(List<OrderEntity> orderEntities) {
+        List<OrderItemEntity> orderItemEntities = new ArrayList<OrderItemEntity>();
+        for (int from = 0; from < orderEntities.size(); from += ORDERS_PER_QUERY) {
+            List<OrderEntity> batch = orderEntities.subList(from, Math.min(from + ORDERS_PER_QUERY, orderEntities.size()));
+            orderItemEntities.addAll(entityManager.createNamedQuery("itemsByOrders", OrderItemEntity.class).setParameter("orderEntities", batch).getResultList());
+        }
+        return orderItemEntities;
+    }
+
+    /**
+     * Returns the number of order items placed for each item of a given restaurant, counting only orders up to a given
+     * order id
+     *
+     * @param restaurantEntity Restaurant to count order items for
+     * @param highWaterMark Highest order id to count
+     *
+     * @return List<Object[]> of item id and count pairs
+     */
+
+    public List<Object[]> getItemCountsByRestaurant(RestaurantEntity restaurantEntity, int highWaterMark) {
+        return entityManager.createNamedQuery("itemCountsByRestaurant", Object[].class).setParameter("restaurant", restaurantEntity)
+                .setParameter("highWaterMark", highWaterMark).getResultList();
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * PaymentDao class provides the database access for all the endpoints in payment controller
@@ -42,7 +43,7 @@ public class PaymentDao {
 	 * @return PaymentEntity object
 	 */
 
-	public PaymentEntity getPaymentByUUID(String uuid) {
+	public PaymentEntity getPaymentByUUID(UUID uuid) {
 		try {
 			return entityManager.createNamedQuery("paymentByUUID", PaymentEntity.class).setParameter("uuid", uuid).getSingleResult();
 		} catch (NoResultException nre) {
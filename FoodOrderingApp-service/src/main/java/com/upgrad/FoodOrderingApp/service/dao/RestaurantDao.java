@@ -1,12 +1,18 @@
 package com.upgrad.FoodOrderingApp.service.dao;
 
 import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantListView;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 
 /**
@@ -35,6 +41,55 @@ public class RestaurantDao {
     }
 
 
+    /**
+     * This method fetches all restaurants with their address, state, categories and items initialized
+     *
+     * @return List<RestaurantEntity> object ordered by rating
+     */
+
+    public List<RestaurantEntity> getAllRestaurantsWithCategoriesAndItems() {
+        List<RestaurantEntity> restaurantEntityList = entityManager.createNamedQuery("allRestaurantsWithCategories", RestaurantEntity.class).getResultList();
+        // items are a second bag on the same entities, so they are fetched by a separate query into the same persistence context
+        entityManager.createNamedQuery("allRestaurantsWithItems", RestaurantEntity.class).getResultList();
+        return restaurantEntityList;
+    }
+
+
+    /**
+     * This method fetches all restaurants together with their address, state and sorted category names in a single query
+     *
+     * The query returns a row per restaurant and category, whose names are sorted and joined here by their characters,
+     * as the "C" collation sorts them, so that the list is the same on every database
+     *
+     * @return List<RestaurantListView> object
+     */
+
+    @SuppressWarnings("unchecked")
+    public List<RestaurantListView> restaurantListViewsByRating() {
+        final List<Object[]> rows = entityManager.createNamedQuery("restaurantListRowsByRating").getResultList();
+        final List<RestaurantListView> restaurantListViews = new ArrayList<>();
+        int first = 0;
+        while (first < rows.size()) {
+            final Object[] row = rows.get(first);
+            final List<String> categoryNames = new ArrayList<>();
+            int next = first;
+            while (next < rows.size() && row[0].equals(rows.get(next)[0])) {
+                // a restaurant without categories has a single row without a category name
+                if (rows.get(next)[13] != null) {
+                    categoryNames.add((String) rows.get(next)[13]);
+                }
+                next++;
+            }
+            Collections.sort(categoryNames);
+            restaurantListViews.add(new RestaurantListView((UUID) row[0], (String) row[1], (String) row[2], (Double) row[3],
+                    (Integer) row[4], (Integer) row[5], (UUID) row[6], (String) row[7], (String) row[8], (String) row[9],
+                    (String) row[10], (UUID) row[11], (String) row[12], String.join(", ", categoryNames)));
+            first = next;
+        }
+        return restaurantListViews;
+    }
+
+
     /**
      * Returns restaurant entity for a given UUID
      *
@@ -43,7 +98,7 @@ public class RestaurantDao {
      * @return RestaurantEntity object
      */
 
-    public RestaurantEntity getRestaurantByUUID(String uuid) {
+    public RestaurantEntity getRestaurantByUUID(UUID uuid) {
         try {
             return entityManager.createNamedQuery("restaurantByUUID", RestaurantEntity.class).setParameter("uuid", uuid).getSingleResult();
         } catch (NoResultException nre) {
@@ -63,4 +118,26 @@ public class RestaurantDao {
     public RestaurantEntity updateRestaurantEntity(RestaurantEntity restaurantEntity) {
         return entityManager.merge(restaurantEntity);
     }
+
+
+    /**
+     * Adds ratings to a restaurant and derives its average rating from the new sum and count, in one atomic statement
+     *
+     * @param restaurantId Id of restaurant entity
+     * @param ratingSum Sum of the ratings to add
+     * @param ratingCount Number of the ratings to add
+     *
+     * @return number of restaurants updated
+     */
+
+    public int addRatings(Integer restaurantId, BigDecimal ratingSum, long ratingCount) {
+        // a native update invalidates every cached entity and query unless told which table it writes
+        return entityManager.createNamedQuery("addRestaurantRatings")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(RestaurantEntity.class)
+                .setParameter("ratingSum", ratingSum)
+                .setParameter("ratingCount", ratingCount)
+                .setParameter("id", restaurantId)
+                .executeUpdate();
+    }
 }
@@ -7,6 +7,7 @@ import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * StateDao class provides the database access for all the required endpoints in address controller
@@ -28,7 +29,7 @@ public class StateDao {
      * @return StateEntity object if given state exists in database
      */
 
-    public StateEntity getStateByUUID(String uuid) {
+    public StateEntity getStateByUUID(UUID uuid) {
         try {
             return entityManager.createNamedQuery("stateByUUID", StateEntity.class).setParameter("uuid", uuid).getSingleResult();
         } catch (NoResultException nre) {
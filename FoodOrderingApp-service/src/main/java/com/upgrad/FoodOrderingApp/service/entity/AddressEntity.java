@@ -4,6 +4,7 @@ import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 /**
  * AddressEntity class contains all the attributes to be mapped to all the fields in 'address' table in the database
@@ -24,8 +25,7 @@ public class AddressEntity implements Serializable{
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "flat_buil_number")
     @NotNull
@@ -63,7 +63,7 @@ public class AddressEntity implements Serializable{
 
     public AddressEntity() {}
 
-    public AddressEntity(String uuid, String flatBuilNo, String locality, String city, String pincode, StateEntity stateEntity) {
+    public AddressEntity(UUID uuid, String flatBuilNo, String locality, String city, String pincode, StateEntity stateEntity) {
         this.uuid = uuid;
         this.flatBuilNo = flatBuilNo;
         this.locality = locality;
@@ -89,11 +89,11 @@ public class AddressEntity implements Serializable{
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -1,20 +1,30 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.QueryHints;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * CategoryEntity class contains all the attributes to be mapped to all the fields in 'category' table in the database
  */
 @Entity
 @Table(name = "category")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @NamedQueries({
 		@NamedQuery(name = "allCategories", query = "select q from CategoryEntity q"),
-		@NamedQuery(name = "categoryByUuid", query = "select q from CategoryEntity q where q.uuid = :uuid"),
+		@NamedQuery(name = "categoryByUuid", query = "select q from CategoryEntity q where q.uuid = :uuid", hints = {
+				@QueryHint(name = QueryHints.CACHEABLE, value = "true"), @QueryHint(name = QueryHints.CACHE_REGION, value = "reference-queries")}),
+		@NamedQuery(name = "allCategoriesWithItems", query = "select distinct q from CategoryEntity q left join fetch q.items"),
+		@NamedQuery(name = "allCategoriesWithRestaurants", query = "select distinct q from CategoryEntity q left join fetch q.restaurants"),
 })
 public class CategoryEntity implements Serializable {
 
@@ -24,8 +34,7 @@ public class CategoryEntity implements Serializable {
 
 	@Column(name = "uuid")
 	@NotNull
-	@Size(max = 200)
-	private String uuid;
+	private UUID uuid;
 
 	@Column(name = "category_name")
 	@NotNull
@@ -66,11 +75,11 @@ public class CategoryEntity implements Serializable {
 		this.id = id;
 	}
 
-	public String getUuid() {
+	public UUID getUuid() {
 		return uuid;
 	}
 
-	public void setUuid(String uuid) {
+	public void setUuid(UUID uuid) {
 		this.uuid = uuid;
 	}
 
@@ -21,8 +21,7 @@ public class CoupanEntity implements Serializable {
 
     @Column(name="uuid", unique = true)
     @NotNull
-    @Size(max=200)
-    private String UUID;
+    private java.util.UUID UUID;
 
     @Column(name="coupan_name")
     @Size(max=255)
@@ -40,11 +39,11 @@ public class CoupanEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUUID() {
+    public java.util.UUID getUUID() {
         return UUID;
     }
 
-    public void setUUID(String UUID) {
+    public void setUUID(java.util.UUID UUID) {
         this.UUID = UUID;
     }
 
@@ -1,18 +1,27 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.QueryHints;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 /**
  * CouponEntity class contains all the attributes to be mapped to all the fields in 'coupon' table in the database
  */
 @Entity
 @Table(name = "coupon")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @NamedQueries({
-        @NamedQuery(name = "couponByCouponName", query = "select q from CouponEntity q where q.couponName = :couponName"),
-        @NamedQuery(name = "couponByUUID", query = "select q from CouponEntity q where q.uuid = :uuid"),
+        @NamedQuery(name = "couponByCouponName", query = "select q from CouponEntity q where q.couponName = :couponName", hints = {
+                @QueryHint(name = QueryHints.CACHEABLE, value = "true"), @QueryHint(name = QueryHints.CACHE_REGION, value = "reference-queries")}),
+        @NamedQuery(name = "couponByUUID", query = "select q from CouponEntity q where q.uuid = :uuid", hints = {
+                @QueryHint(name = QueryHints.CACHEABLE, value = "true"), @QueryHint(name = QueryHints.CACHE_REGION, value = "reference-queries")}),
 })
 public class CouponEntity implements Serializable {
 
@@ -22,8 +31,7 @@ public class CouponEntity implements Serializable {
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "coupon_name")
     @NotNull
@@ -36,7 +44,7 @@ public class CouponEntity implements Serializable {
 
     public CouponEntity() { }
 
-    public CouponEntity(String uuid, String couponName, Integer percent) {
+    public CouponEntity(UUID uuid, String couponName, Integer percent) {
         this.uuid = uuid;
         this.couponName = couponName;
         this.percent = percent;
@@ -50,11 +58,11 @@ public class CouponEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
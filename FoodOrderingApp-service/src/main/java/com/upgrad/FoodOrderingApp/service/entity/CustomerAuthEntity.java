@@ -5,6 +5,7 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.time.ZonedDateTime;
+import java.util.UUID;
 
 /**
  * CustomerAuthEntity class contains all the attributes to be mapped to all the fields in 'customer_auth' table in the database
@@ -13,6 +14,7 @@ import java.time.ZonedDateTime;
 @Table(name = "customer_auth")
 @NamedQueries({
         @NamedQuery(name = "customerAuthByAccessToken", query = "select c from CustomerAuthEntity c where c.accessToken = :accessToken"),
+        @NamedQuery(name = "accessTokensLoggedOutSince", query = "select c.accessToken from CustomerAuthEntity c where c.logoutAt >= :since and c.expiresAt > :now"),
 })
 public class CustomerAuthEntity implements Serializable {
 
@@ -22,8 +24,7 @@ public class CustomerAuthEntity implements Serializable {
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @ManyToOne
     @JoinColumn(name = "customer_id")
@@ -54,11 +55,11 @@ public class CustomerAuthEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
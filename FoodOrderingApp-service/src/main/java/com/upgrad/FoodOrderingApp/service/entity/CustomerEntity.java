@@ -6,6 +6,7 @@ import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * CustomerEntity class contains all the attributes to be mapped to all the fields in 'customer' table in the database
@@ -24,8 +25,7 @@ public class CustomerEntity implements Serializable {
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "firstname")
     @NotNull
@@ -77,11 +77,11 @@ public class CustomerEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
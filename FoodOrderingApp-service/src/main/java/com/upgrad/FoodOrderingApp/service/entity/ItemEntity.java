@@ -8,6 +8,7 @@ import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * ItemEntity class contains all the attributes to be mapped to all the fields in 'item' table in the database
@@ -15,7 +16,9 @@ import java.util.List;
 @Entity
 @Table(name = "item")
 @NamedQueries({
-        @NamedQuery(name = "itemByUUID", query = "select q from ItemEntity q where q.uuid = :uuid")
+        @NamedQuery(name = "itemByUUID", query = "select q from ItemEntity q where q.uuid = :uuid"),
+        @NamedQuery(name = "itemsByUUIDs", query = "select q from ItemEntity q where q.uuid in :uuids"),
+        @NamedQuery(name = "allItems", query = "select q from ItemEntity q")
 })
 public class ItemEntity implements Serializable {
 
@@ -25,8 +28,7 @@ public class ItemEntity implements Serializable {
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "item_name")
     @NotNull
@@ -39,7 +41,6 @@ public class ItemEntity implements Serializable {
 
     @Column(name = "type")
     @NotNull
-    @Size(max = 10)
     private ItemType type;
 
     @ManyToMany
@@ -76,11 +77,11 @@ public class ItemEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -2,10 +2,10 @@ package com.upgrad.FoodOrderingApp.service.entity;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Size;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * OrderEntity class contains all the attributes to be mapped to all the fields in 'orders' table in the database
@@ -15,18 +15,29 @@ import java.util.Date;
 @NamedQueries({
         @NamedQuery(name = "ordersByAddress", query = "select q from OrderEntity q where q.address = :address"),
         @NamedQuery(name = "ordersByCustomer", query = "select q from OrderEntity q where q.customer = :customer order by q.date desc "),
+        @NamedQuery(name = "ordersWithDetailsByCustomer", query = OrderEntity.SELECT_WITH_DETAILS + " where q.customer = :customer order by q.date desc, q.id desc"),
+        @NamedQuery(name = "ordersWithDetailsByCustomerAfter", query = OrderEntity.SELECT_WITH_DETAILS
+                + " where q.customer = :customer and (q.date < :date or (q.date = :date and q.id < :id)) order by q.date desc, q.id desc"),
         @NamedQuery(name = "ordersByRestaurant", query = "select q from OrderEntity q where q.restaurant = :restaurant"),
+        @NamedQuery(name = "maxOrderId", query = "select coalesce(max(q.id), 0) from OrderEntity q"),
 })
 public class OrderEntity implements Serializable {
 
+    // fetches everything an order is displayed with in the same query
+    static final String SELECT_WITH_DETAILS = "select q from OrderEntity q"
+            + " left join fetch q.coupon left join fetch q.payment left join fetch q.customer"
+            + " left join fetch q.address a left join fetch a.state left join fetch a.customer"
+            + " left join fetch q.restaurant r left join fetch r.address ra left join fetch ra.state left join fetch ra.customer";
+
+    // ids are taken 50 at a time from the SERIAL sequence, whose increment is 50 to match
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceGenerator(name = "ordersIdGenerator", sequenceName = "orders_id_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ordersIdGenerator")
     private Integer id;
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "bill")
     @NotNull
@@ -67,7 +78,7 @@ public class OrderEntity implements Serializable {
 
     public OrderEntity() {}
 
-    public OrderEntity(@NotNull @Size(max = 200) String uuid, @NotNull Double bill, @NotNull CouponEntity coupon, @NotNull Double discount, @NotNull Date date, @NotNull PaymentEntity payment, @NotNull CustomerEntity customer, @NotNull AddressEntity address, RestaurantEntity restaurant) {
+    public OrderEntity(@NotNull UUID uuid, @NotNull Double bill, @NotNull CouponEntity coupon, @NotNull Double discount, @NotNull Date date, @NotNull PaymentEntity payment, @NotNull CustomerEntity customer, @NotNull AddressEntity address, RestaurantEntity restaurant) {
         this.uuid = uuid;
         this.bill = new BigDecimal(bill);
         this.coupon = coupon;
@@ -87,11 +98,11 @@ public class OrderEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -11,11 +11,15 @@ import java.io.Serializable;
 @Table(name = "order_item")
 @NamedQueries({
         @NamedQuery(name = "itemsByOrder", query = "select q from OrderItemEntity q where q.order = :orderEntity"),
+        @NamedQuery(name = "itemsByOrders", query = "select q from OrderItemEntity q join fetch q.item where q.order in :orderEntities order by q.id"),
+        @NamedQuery(name = "itemCountsByRestaurant", query = "select q.item.id, count(q) from OrderItemEntity q where q.order.restaurant = :restaurant and q.order.id <= :highWaterMark group by q.item.id"),
 })
 public class OrderItemEntity implements Serializable {
 
+    // ids are taken 50 at a time from the SERIAL sequence, whose increment is 50 to match
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceGenerator(name = "orderItemIdGenerator", sequenceName = "order_item_id_seq", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderItemIdGenerator")
     private Integer Id;
 
     @ManyToOne
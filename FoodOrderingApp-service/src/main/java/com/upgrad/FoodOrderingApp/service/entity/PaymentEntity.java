@@ -1,19 +1,28 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.QueryHints;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 /**
  * PaymentEntity class contains all the attributes to be mapped to all the fields in 'payment' table in the database
  */
 @Entity
 @Table(name = "payment")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @NamedQueries(
         {
-                @NamedQuery(name = "allPaymentMethods", query = "select q from PaymentEntity q"),
-                @NamedQuery(name = "paymentByUUID", query = "select q from PaymentEntity q where q.uuid = :uuid"),
+                @NamedQuery(name = "allPaymentMethods", query = "select q from PaymentEntity q", hints = {
+                        @QueryHint(name = QueryHints.CACHEABLE, value = "true"), @QueryHint(name = QueryHints.CACHE_REGION, value = "reference-queries")}),
+                @NamedQuery(name = "paymentByUUID", query = "select q from PaymentEntity q where q.uuid = :uuid", hints = {
+                        @QueryHint(name = QueryHints.CACHEABLE, value = "true"), @QueryHint(name = QueryHints.CACHE_REGION, value = "reference-queries")}),
         }
 )
 public class PaymentEntity implements Serializable {
@@ -24,8 +33,7 @@ public class PaymentEntity implements Serializable {
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "payment_name")
     @NotNull
@@ -34,7 +42,7 @@ public class PaymentEntity implements Serializable {
 
     public PaymentEntity() {}
 
-    public PaymentEntity(@NotNull @Size(max = 200) String uuid, @NotNull @Size(max = 255) String paymentName) {
+    public PaymentEntity(@NotNull UUID uuid, @NotNull @Size(max = 255) String paymentName) {
         this.uuid = uuid;
         this.paymentName = paymentName;
     }
@@ -47,11 +55,11 @@ public class PaymentEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.math.RoundingMode;
+import java.util.UUID;
 
 /**
  * RestaurantEntity class contains all the attributes to be mapped to all the fields in 'restaurant' table in the database
@@ -19,8 +20,46 @@ import java.math.RoundingMode;
         {
                 @NamedQuery(name = "allRestaurantsByRating", query = "select q from RestaurantEntity q order by q.customerRating desc"),
                 @NamedQuery(name = "restaurantByUUID", query = "select q from RestaurantEntity q where q.uuid = :uuid"),
+                @NamedQuery(name = "allRestaurantsWithCategories", query = "select distinct q from RestaurantEntity q join fetch q.address a join fetch a.state left join fetch q.categories order by q.customerRating desc"),
+                @NamedQuery(name = "allRestaurantsWithItems", query = "select distinct q from RestaurantEntity q left join fetch q.items"),
         }
 )
+@NamedNativeQueries(
+        {
+                // a row per restaurant and category, the rows of a restaurant next to each other
+                @NamedNativeQuery(name = "restaurantListRowsByRating", resultSetMapping = "restaurantListRow", query =
+                        "select r.uuid as restaurant_uuid, r.restaurant_name, r.photo_url, r.customer_rating, r.average_price_for_two, r.number_of_customers_rated, " +
+                        "a.uuid as address_uuid, a.flat_buil_number, a.locality, a.city, a.pincode, s.uuid as state_uuid, s.state_name, " +
+                        "c.category_name " +
+                        "from restaurant r " +
+                        "join address a on a.id = r.address_id " +
+                        "join state s on s.id = a.state_id " +
+                        "left join restaurant_category rc on rc.restaurant_id = r.id " +
+                        "left join category c on c.id = rc.category_id " +
+                        "order by r.customer_rating desc, r.id"),
+                @NamedNativeQuery(name = "addRestaurantRatings", query =
+                        "update restaurant set customer_rating_sum = customer_rating_sum + :ratingSum, " +
+                        "number_of_customers_rated = number_of_customers_rated + :ratingCount, " +
+                        "customer_rating = round((customer_rating_sum + :ratingSum) / (number_of_customers_rated + :ratingCount), 2) " +
+                        "where id = :id"),
+        }
+)
+@SqlResultSetMapping(name = "restaurantListRow", columns = {
+        @ColumnResult(name = "restaurant_uuid", type = UUID.class),
+        @ColumnResult(name = "restaurant_name"),
+        @ColumnResult(name = "photo_url"),
+        @ColumnResult(name = "customer_rating", type = Double.class),
+        @ColumnResult(name = "average_price_for_two", type = Integer.class),
+        @ColumnResult(name = "number_of_customers_rated", type = Integer.class),
+        @ColumnResult(name = "address_uuid", type = UUID.class),
+        @ColumnResult(name = "flat_buil_number"),
+        @ColumnResult(name = "locality"),
+        @ColumnResult(name = "city"),
+        @ColumnResult(name = "pincode"),
+        @ColumnResult(name = "state_uuid", type = UUID.class),
+        @ColumnResult(name = "state_name"),
+        @ColumnResult(name = "category_name"),
+})
 public class RestaurantEntity implements Serializable {
 
     @Id
@@ -29,8 +68,7 @@ public class RestaurantEntity implements Serializable {
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "restaurant_name")
     @NotNull
@@ -46,6 +84,11 @@ public class RestaurantEntity implements Serializable {
     @NotNull
     private BigDecimal customerRating;
 
+    // sum of all ratings given, customer_rating is this divided by number_of_customers_rated
+    @Column(name = "customer_rating_sum")
+    @NotNull
+    private BigDecimal customerRatingSum = BigDecimal.ZERO;
+
     @Column(name = "average_price_for_two")
     @NotNull
     private Integer avgPriceForTwo;
@@ -93,11 +136,11 @@ public class RestaurantEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -125,6 +168,14 @@ public class RestaurantEntity implements Serializable {
         this.customerRating = new BigDecimal(customerRating).setScale(2, RoundingMode.HALF_UP);;
     }
 
+    public BigDecimal getCustomerRatingSum() {
+        return customerRatingSum;
+    }
+
+    public void setCustomerRatingSum(BigDecimal customerRatingSum) {
+        this.customerRatingSum = customerRatingSum;
+    }
+
     public Integer getAvgPrice() {
         return avgPriceForTwo;
     }
@@ -0,0 +1,115 @@
+package com.upgrad.FoodOrderingApp.service.entity;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * RestaurantListView class is a read-only projection of a restaurant row joined with its address, state and
+ * comma separated category names, as built by RestaurantDao from the rows of the 'restaurantListRowsByRating' native
+ * query
+ */
+public class RestaurantListView implements Serializable {
+
+    private final UUID uuid;
+
+    private final String restaurantName;
+
+    private final String photoUrl;
+
+    private final Double customerRating;
+
+    private final Integer avgPrice;
+
+    private final Integer numberCustomersRated;
+
+    private final UUID addressUuid;
+
+    private final String flatBuilNo;
+
+    private final String locality;
+
+    private final String city;
+
+    private final String pincode;
+
+    private final UUID stateUuid;
+
+    private final String stateName;
+
+    private final String categories;
+
+    public RestaurantListView(UUID uuid, String restaurantName, String photoUrl, Double customerRating, Integer avgPrice,
+                              Integer numberCustomersRated, UUID addressUuid, String flatBuilNo, String locality,
+                              String city, String pincode, UUID stateUuid, String stateName, String categories) {
+        this.uuid = uuid;
+        this.restaurantName = restaurantName;
+        this.photoUrl = photoUrl;
+        this.customerRating = customerRating;
+        this.avgPrice = avgPrice;
+        this.numberCustomersRated = numberCustomersRated;
+        this.addressUuid = addressUuid;
+        this.flatBuilNo = flatBuilNo;
+        this.locality = locality;
+        this.city = city;
+        this.pincode = pincode;
+        this.stateUuid = stateUuid;
+        this.stateName = stateName;
+        this.categories = categories;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public String getRestaurantName() {
+        return restaurantName;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public Double getCustomerRating() {
+        return customerRating;
+    }
+
+    public Integer getAvgPrice() {
+        return avgPrice;
+    }
+
+    public Integer getNumberCustomersRated() {
+        return numberCustomersRated;
+    }
+
+    public UUID getAddressUuid() {
+        return addressUuid;
+    }
+
+    public String getFlatBuilNo() {
+        return flatBuilNo;
+    }
+
+    public String getLocality() {
+        return locality;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getPincode() {
+        return pincode;
+    }
+
+    public UUID getStateUuid() {
+        return stateUuid;
+    }
+
+    public String getStateName() {
+        return stateName;
+    }
+
+    public String getCategories() {
+        return categories;
+    }
+}
@@ -1,18 +1,27 @@
 package com.upgrad.FoodOrderingApp.service.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.QueryHints;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import java.io.Serializable;
+import java.util.UUID;
 
 /**
  * StateEntity class contains all the attributes to be mapped to all the fields in 'state' table in the database
  */
 @Entity
 @Table(name = "state")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @NamedQueries({
-        @NamedQuery(name = "stateByUUID", query = "select c from StateEntity c where c.uuid = :uuid"),
-        @NamedQuery(name = "allStates", query = "select q from StateEntity q"),
+        @NamedQuery(name = "stateByUUID", query = "select c from StateEntity c where c.uuid = :uuid", hints = {
+                @QueryHint(name = QueryHints.CACHEABLE, value = "true"), @QueryHint(name = QueryHints.CACHE_REGION, value = "reference-queries")}),
+        @NamedQuery(name = "allStates", query = "select q from StateEntity q", hints = {
+                @QueryHint(name = QueryHints.CACHEABLE, value = "true"), @QueryHint(name = QueryHints.CACHE_REGION, value = "reference-queries")}),
 })
 public class StateEntity implements Serializable {
 
@@ -22,8 +31,7 @@ public class StateEntity implements Serializable {
 
     @Column(name = "uuid")
     @NotNull
-    @Size(max = 200)
-    private String uuid;
+    private UUID uuid;
 
     @Column(name = "state_name")
     @NotNull
@@ -32,7 +40,7 @@ public class StateEntity implements Serializable {
 
     public StateEntity() {}
 
-    public StateEntity(String uuid, String name) {
+    public StateEntity(UUID uuid, String name) {
         this.uuid = uuid;
         this.statename = name;
     }
@@ -45,11 +53,11 @@ public class StateEntity implements Serializable {
         this.id = id;
     }
 
-    public String getUuid() {
+    public UUID getUuid() {
         return uuid;
     }
 
-    public void setUuid(String uuid) {
+    public void setUuid(UUID uuid) {
         this.uuid = uuid;
     }
 
@@ -0,0 +1,117 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.entity.CustomerAuthEntity;
+import com.upgrad.FoodOrderingApp.service.entity.CustomerEntity;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+
+// This class checks when a session is answered from the cache and when it has to be read from customer_auth again
+public class CustomerSessionCacheTest {
+
+    private static final String ACCESS_TOKEN = "access-token";
+
+    //This test case passes when a cached session is returned by the next lookups and counted as hits
+    @Test
+    public void shouldReturnCachedSession() {
+        final CustomerSessionCache customerSessionCache = new CustomerSessionCache(10, 60000);
+        assertNull(customerSessionCache.get(ACCESS_TOKEN));
+
+        customerSessionCache.put(customerAuth(ACCESS_TOKEN), customerSessionCache.version());
+
+        final CustomerSessionCache.CustomerSession customerSession = customerSessionCache.get(ACCESS_TOKEN);
+        assertEquals(Integer.valueOf(7), customerSession.getCustomerId());
+        assertNull(customerSession.getLogoutAt());
+        assertSame(customerSession, customerSessionCache.get(ACCESS_TOKEN));
+        assertEquals(2, customerSessionCache.getHitCount());
+        assertEquals(1, customerSessionCache.getMissCount());
+    }
+
+    //This test case passes when a session cached longer than the ttl is read again
+    @Test
+    public void shouldNotReturnSessionCachedLongerThanTtl() throws Exception {
+        final CustomerSessionCache customerSessionCache = new CustomerSessionCache(10, 20);
+        customerSessionCache.put(customerAuth(ACCESS_TOKEN), customerSessionCache.version());
+
+        Thread.sleep(50);
+
+        assertNull(customerSessionCache.get(ACCESS_TOKEN));
+        assertEquals(0, customerSessionCache.size());
+        assertEquals(1, customerSessionCache.getEvictionCount());
+    }
+
+    //This test case passes when the least recently used session is dropped once the cache is full
+    @Test
+    public void shouldDropLeastRecentlyUsedSession() {
+        final CustomerSessionCache customerSessionCache = new CustomerSessionCache(2, 60000);
+        customerSessionCache.put(customerAuth("first"), customerSessionCache.version());
+        customerSessionCache.put(customerAuth("second"), customerSessionCache.version());
+        customerSessionCache.get("first");
+
+        customerSessionCache.put(customerAuth("third"), customerSessionCache.version());
+
+        assertNotNull(customerSessionCache.get("first"));
+        assertNull(customerSessionCache.get("second"));
+        assertNotNull(customerSessionCache.get("third"));
+    }
+
+    //This test case passes when a logout drops the session, so the next lookup reads customer_auth again
+    @Test
+    public void shouldDropSessionOnLogout() {
+        final CustomerSessionCache customerSessionCache = new CustomerSessionCache(10, 60000);
+        customerSessionCache.put(customerAuth(ACCESS_TOKEN), customerSessionCache.version());
+
+        customerSessionCache.invalidate(ACCESS_TOKEN);
+
+        assertNull(customerSessionCache.get(ACCESS_TOKEN));
+    }
+
+    //This test case passes when a session read before a logout is not cached after the logout dropped it
+    @Test
+    public void shouldNotCacheSessionReadBeforeLogout() {
+        final CustomerSessionCache customerSessionCache = new CustomerSessionCache(10, 60000);
+        final long readVersion = customerSessionCache.version();
+
+        customerSessionCache.invalidate(ACCESS_TOKEN);
+        final CustomerSessionCache.CustomerSession customerSession = customerSessionCache.put(customerAuth(ACCESS_TOKEN), readVersion);
+
+        assertEquals(Integer.valueOf(7), customerSession.getCustomerId());
+        assertNull(customerSessionCache.get(ACCESS_TOKEN));
+    }
+
+    //This test case passes when a session read while the logout transaction is still open is dropped again once it
+    // completes
+    @Test
+    public void shouldDropSessionCachedBeforeLogoutCommitted() {
+        final CustomerSessionCache customerSessionCache = new CustomerSessionCache(10, 60000);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            customerSessionCache.invalidate(ACCESS_TOKEN);
+            // another request reads the row as it was before the logout commits
+            customerSessionCache.put(customerAuth(ACCESS_TOKEN), customerSessionCache.version());
+            assertNotNull(customerSessionCache.get(ACCESS_TOKEN));
+
+            for (TransactionSynchronization transactionSynchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                transactionSynchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(customerSessionCache.get(ACCESS_TOKEN));
+    }
+
+    private static CustomerAuthEntity customerAuth(final String accessToken) {
+        final CustomerEntity customerEntity = new CustomerEntity();
+        customerEntity.setId(7);
+        final CustomerAuthEntity customerAuthEntity = new CustomerAuthEntity();
+        customerAuthEntity.setCustomer(customerEntity);
+        customerAuthEntity.setAccessToken(accessToken);
+        customerAuthEntity.setExpiresAt(ZonedDateTime.now().plusHours(8));
+        return customerAuthEntity;
+    }
+}
@@ -0,0 +1,82 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+// This class checks the open addressing map against java.util.HashMap
+public class IntIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    //This test case passes when values are put, overwritten and removed, including those of key 0, which marks free slots
+    @Test
+    public void shouldPutOverwriteAndRemoveValues() {
+        final IntIntHashMap intIntHashMap = new IntIntHashMap(MISSING);
+        intIntHashMap.put(0, 10);
+        intIntHashMap.put(5, 50);
+        intIntHashMap.put(5, 55);
+
+        assertEquals(2, intIntHashMap.size());
+        assertEquals(10, intIntHashMap.get(0));
+        assertEquals(55, intIntHashMap.get(5));
+        assertEquals(MISSING, intIntHashMap.get(6));
+
+        intIntHashMap.remove(0);
+        intIntHashMap.remove(6);
+        assertEquals(1, intIntHashMap.size());
+        assertEquals(MISSING, intIntHashMap.get(0));
+        assertEquals(55, intIntHashMap.get(5));
+    }
+
+    //This test case passes when removing any key of an almost half full table, where keys share probe runs, keeps every
+    // other key findable
+    @Test
+    public void shouldFindOtherKeysAfterRemovingAnyKey() {
+        final int[] keys = {1, 2, 3, 17, 33, 49, 65};
+        for (int removedKey : keys) {
+            // seven keys stay below the load factor of one half, so all of them share the initial table of 16 slots
+            final IntIntHashMap intIntHashMap = new IntIntHashMap(MISSING);
+            for (int key : keys) {
+                intIntHashMap.put(key, key * 2);
+            }
+
+            intIntHashMap.remove(removedKey);
+
+            assertEquals(MISSING, intIntHashMap.get(removedKey));
+            for (int key : keys) {
+                if (key != removedKey) {
+                    assertEquals(key * 2, intIntHashMap.get(key));
+                }
+            }
+            assertEquals(keys.length - 1, intIntHashMap.size());
+        }
+    }
+
+    //This test case passes when random puts and removes, growing the table many times, give the same values as HashMap
+    @Test
+    public void shouldMatchHashMapUnderRandomPutsAndRemoves() {
+        final Random random = new Random(42);
+        final IntIntHashMap intIntHashMap = new IntIntHashMap(MISSING);
+        final Map<Integer, Integer> hashMap = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            final int key = random.nextInt(5000) - 100;
+            if (random.nextInt(3) == 0) {
+                intIntHashMap.remove(key);
+                hashMap.remove(key);
+            } else {
+                intIntHashMap.put(key, i);
+                hashMap.put(key, i);
+            }
+        }
+
+        assertEquals(hashMap.size(), intIntHashMap.size());
+        for (int key = -100; key < 4900; key++) {
+            assertEquals(hashMap.getOrDefault(key, MISSING).intValue(), intIntHashMap.get(key));
+        }
+    }
+}
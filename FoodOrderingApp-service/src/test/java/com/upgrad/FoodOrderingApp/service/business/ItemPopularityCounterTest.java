@@ -0,0 +1,137 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.OrderDao;
+import com.upgrad.FoodOrderingApp.service.dao.OrderItemDao;
+import com.upgrad.FoodOrderingApp.service.entity.RestaurantEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+// This class checks the most ordered items of a restaurant, seeded from the database and incremented per order
+@RunWith(MockitoJUnitRunner.class)
+public class ItemPopularityCounterTest {
+
+    private static final int HIGH_WATER_MARK = 10;
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private OrderItemDao orderItemDao;
+
+    @InjectMocks
+    private ItemPopularityCounter itemPopularityCounter;
+
+    private RestaurantEntity restaurantEntity;
+
+    @Before
+    public void setUp() {
+        restaurantEntity = new RestaurantEntity();
+        restaurantEntity.setId(1);
+        when(orderDao.getMaxOrderId()).thenReturn(HIGH_WATER_MARK);
+    }
+
+    //This test case passes when the items are seeded once, up to the highest order id, and returned most ordered first
+    @Test
+    public void shouldSeedCountsOnceAndReturnMostOrderedFirst() {
+        when(orderItemDao.getItemCountsByRestaurant(restaurantEntity, HIGH_WATER_MARK))
+                .thenReturn(itemCounts(new Object[]{7, 1L}, new Object[]{8, 5L}, new Object[]{9, 3L}));
+
+        assertEquals(Arrays.asList(8, 9), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 2));
+        assertEquals(Arrays.asList(8, 9, 7), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+
+        verify(orderDao, times(1)).getMaxOrderId();
+        verify(orderItemDao, times(1)).getItemCountsByRestaurant(restaurantEntity, HIGH_WATER_MARK);
+    }
+
+    //This test case passes when orders after the high-water mark move their items up, including items never ordered
+    // before, and orders up to the mark are not counted again
+    @Test
+    public void shouldCountOnlyOrdersAfterHighWaterMark() {
+        when(orderItemDao.getItemCountsByRestaurant(restaurantEntity, HIGH_WATER_MARK))
+                .thenReturn(itemCounts(new Object[]{7, 2L}, new Object[]{8, 1L}));
+        itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5);
+
+        itemPopularityCounter.incrementAfterCommit(1, HIGH_WATER_MARK, Arrays.asList(8, 8, 9, 9, 9));
+        assertEquals(Arrays.asList(7, 8), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+
+        itemPopularityCounter.incrementAfterCommit(1, HIGH_WATER_MARK + 1, Arrays.asList(8, 8, 9));
+        assertEquals(Arrays.asList(8, 7, 9), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+
+        itemPopularityCounter.incrementAfterCommit(1, HIGH_WATER_MARK + 2, Arrays.asList(9, 9, 9));
+        assertEquals(Arrays.asList(9, 8, 7), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+    }
+
+    //This test case passes when increments arriving while the counts are seeded are counted once, whether or not the
+    // seed query included their order
+    @Test
+    public void shouldNotCountIncrementsDuringSeedingTwice() throws Exception {
+        final List<Thread> incrementers = new ArrayList<>();
+        when(orderItemDao.getItemCountsByRestaurant(restaurantEntity, HIGH_WATER_MARK)).thenAnswer(invocation -> {
+            // the order items of order 10 are committed, and so included below, but their increment arrives now
+            final Thread incrementer = new Thread(() -> {
+                itemPopularityCounter.incrementAfterCommit(1, HIGH_WATER_MARK, Arrays.asList(8, 8));
+                itemPopularityCounter.incrementAfterCommit(1, HIGH_WATER_MARK + 1, Collections.singletonList(9));
+            });
+            incrementers.add(incrementer);
+            incrementer.start();
+            while (incrementer.getState() != Thread.State.BLOCKED && incrementer.isAlive()) {
+                Thread.sleep(1);
+            }
+            return itemCounts(new Object[]{7, 3L}, new Object[]{8, 2L});
+        });
+
+        itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5);
+        incrementers.get(0).join(30000);
+
+        assertEquals(Arrays.asList(7, 8, 9), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+    }
+
+    //This test case passes when increments of a restaurant whose counts were never read are left to its seed query
+    @Test
+    public void shouldIgnoreIncrementsBeforeFirstRead() {
+        itemPopularityCounter.incrementAfterCommit(1, HIGH_WATER_MARK + 1, Arrays.asList(9, 9, 9));
+        when(orderItemDao.getItemCountsByRestaurant(restaurantEntity, HIGH_WATER_MARK))
+                .thenReturn(itemCounts(new Object[]{7, 1L}));
+
+        assertEquals(Collections.singletonList(7), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+    }
+
+    //This test case passes when the items of an order are counted only once its transaction commits
+    @Test
+    public void shouldCountItemsAfterCommit() {
+        when(orderItemDao.getItemCountsByRestaurant(restaurantEntity, HIGH_WATER_MARK))
+                .thenReturn(itemCounts(new Object[]{7, 1L}));
+        itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemPopularityCounter.incrementAfterCommit(1, HIGH_WATER_MARK + 1, Arrays.asList(9, 9));
+            assertEquals(Collections.singletonList(7), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+
+            for (TransactionSynchronization transactionSynchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                transactionSynchronization.afterCommit();
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(Arrays.asList(9, 7), itemPopularityCounter.getMostOrderedItemIds(restaurantEntity, 5));
+    }
+
+    private static List<Object[]> itemCounts(final Object[]... itemCounts) {
+        return Arrays.asList(itemCounts);
+    }
+}
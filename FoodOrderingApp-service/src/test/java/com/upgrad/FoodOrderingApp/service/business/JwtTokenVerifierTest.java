@@ -0,0 +1,114 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.upgrad.FoodOrderingApp.service.exception.AuthorizationFailedException;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+// This class checks access tokens are verified from the key ring and the revocation list alone, with the error codes
+// of the customer_auth lookup
+public class JwtTokenVerifierTest {
+
+    private static final String OLD_SECRET = "old-secret";
+
+    private static final String ACTIVE_SECRET = "active-secret";
+
+    private JwtKeyRing jwtKeyRing;
+
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @Before
+    public void setUp() {
+        jwtKeyRing = new JwtKeyRing("old:" + OLD_SECRET + ",active:" + ACTIVE_SECRET, "active");
+        jwtTokenVerifier = new JwtTokenVerifier();
+        ReflectionTestUtils.setField(jwtTokenVerifier, "jwtKeyRing", jwtKeyRing);
+        ReflectionTestUtils.setField(jwtTokenVerifier, "tokenRevocationList", new TokenRevocationList());
+    }
+
+    //This test case passes when a token signed with the active key, or with an older configured key, gives its customer
+    @Test
+    public void shouldVerifyTokensOfEveryConfiguredKey() throws Exception {
+        final ZonedDateTime now = ZonedDateTime.now();
+
+        assertEquals("active", jwtKeyRing.getActiveProvider().getKeyId());
+        assertEquals(Integer.valueOf(7), jwtTokenVerifier.verify(jwtKeyRing.getActiveProvider().generateToken("uuid", 7, now, now.plusHours(8))));
+        assertEquals(Integer.valueOf(8), jwtTokenVerifier.verify(jwtKeyRing.getProvider("old").generateToken("uuid", 8, now, now.plusHours(8))));
+    }
+
+    //This test case passes when a token whose signature does not match the key of its key id is rejected with ATHR-001
+    @Test
+    public void shouldRejectTokenWithBadSignature() {
+        assertRejected("ATHR-001", token("active", "another-secret", "FoodOrderingApp-api", 8));
+        assertRejected("ATHR-001", token("active", OLD_SECRET, "FoodOrderingApp-api", 8));
+    }
+
+    //This test case passes when a token of a key id which is not configured is rejected with ATHR-001
+    @Test
+    public void shouldRejectTokenWithUnknownKeyId() {
+        assertRejected("ATHR-001", token("retired", ACTIVE_SECRET, "FoodOrderingApp-api", 8));
+        assertRejected("ATHR-001", token(null, ACTIVE_SECRET, "FoodOrderingApp-api", 8));
+    }
+
+    //This test case passes when a token issued for another audience is rejected with ATHR-001
+    @Test
+    public void shouldRejectTokenForOtherAudience() {
+        assertRejected("ATHR-001", token("active", ACTIVE_SECRET, "another-api", 8));
+    }
+
+    //This test case passes when a token which is not a JWT is rejected with ATHR-001
+    @Test
+    public void shouldRejectMalformedToken() {
+        assertRejected("ATHR-001", "not-a-token");
+    }
+
+    //This test case passes when an authentic but expired token is rejected with ATHR-003
+    @Test
+    public void shouldRejectExpiredToken() {
+        assertRejected("ATHR-003", token("active", ACTIVE_SECRET, "FoodOrderingApp-api", -1));
+    }
+
+    //This test case passes when a token revoked by logout is rejected with ATHR-002, and other tokens of the same
+    // customer still verify
+    @Test
+    public void shouldRejectRevokedToken() throws Exception {
+        final ZonedDateTime now = ZonedDateTime.now();
+        final String accessToken = jwtKeyRing.getActiveProvider().generateToken("uuid", 7, now, now.plusHours(8));
+        final String otherAccessToken = jwtKeyRing.getActiveProvider().generateToken("uuid", 7, now, now.plusHours(8));
+
+        jwtTokenVerifier.revoke(accessToken);
+
+        assertRejected("ATHR-002", accessToken);
+        assertEquals(Integer.valueOf(7), jwtTokenVerifier.verify(otherAccessToken));
+    }
+
+    private static String token(final String keyId, final String secret, final String audience, final int expiresInHours) {
+        final ZonedDateTime now = ZonedDateTime.now();
+        return JWT.create().withIssuer("https://FoodOrderingApp.io")
+                .withKeyId(keyId)
+                .withJWTId(UUID.randomUUID().toString())
+                .withAudience(audience)
+                .withSubject("uuid")
+                .withClaim(JwtTokenProvider.CUSTOMER_ID_CLAIM, 7)
+                .withIssuedAt(Date.from(now.minusHours(9).toInstant()))
+                .withExpiresAt(Date.from(now.plusHours(expiresInHours).toInstant()))
+                .sign(Algorithm.HMAC512(secret));
+    }
+
+    private void assertRejected(final String code, final String accessToken) {
+        try {
+            jwtTokenVerifier.verify(accessToken);
+            fail("Token was accepted");
+        } catch (AuthorizationFailedException e) {
+            assertEquals(code, e.getCode());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.common.GenericErrorCode;
+import com.upgrad.FoodOrderingApp.service.common.UnexpectedException;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+// This class contains the test cases regarding password hashing
+public class PasswordCryptographyProviderTest {
+
+    // a salt as stored before iteration counts were kept with it
+    private static final String LEGACY_SALT = "AAECAwQFBgcICQoLDA0ODxAREhMUFRYXGBkaGxwdHh8=";
+
+    //This test case passes when a password hashed with a salt is verified with the same salt
+    @Test
+    public void shouldVerifyPasswordWithItsSalt() {
+        final PasswordCryptographyProvider provider = new PasswordCryptographyProvider(2000, 1, 10, 5000);
+        final String[] encrypted = provider.encrypt("Passw0rd#");
+
+        assertTrue(encrypted[0].startsWith("2000$"));
+        assertEquals(encrypted[1], PasswordCryptographyProvider.encrypt("Passw0rd#", encrypted[0]));
+        assertTrue(provider.matches("Passw0rd#", encrypted[0], encrypted[1]));
+        assertFalse(provider.matches("passw0rd#", encrypted[0], encrypted[1]));
+        assertFalse(provider.needsRehash(encrypted[0]));
+    }
+
+    //This test case passes when salts without an iteration count are hashed with 1000 iterations and flagged for rehash
+    @Test
+    public void shouldHashLegacySaltWithThousandIterations() {
+        final PasswordCryptographyProvider legacyProvider = new PasswordCryptographyProvider(1000, 1, 10, 5000);
+        final PasswordCryptographyProvider provider = new PasswordCryptographyProvider(5000, 1, 10, 5000);
+
+        assertEquals(PasswordCryptographyProvider.encrypt("Passw0rd#", "1000$" + LEGACY_SALT), PasswordCryptographyProvider.encrypt("Passw0rd#", LEGACY_SALT));
+        assertFalse(legacyProvider.needsRehash(LEGACY_SALT));
+        assertTrue(provider.needsRehash(LEGACY_SALT));
+    }
+
+    //This test case passes when hashes beyond the queue capacity are turned away with GEN-002 instead of waiting
+    @Test
+    public void shouldRejectHashingWhenQueueIsFull() throws Exception {
+        final PasswordCryptographyProvider provider = new PasswordCryptographyProvider(1000, 1, 0, 60000);
+        // the only permit is taken, and no request may wait for it
+        provider.hashingPermits.acquire();
+
+        try {
+            provider.matches("Passw0rd#", LEGACY_SALT, "");
+            fail();
+        } catch (UnexpectedException e) {
+            assertEquals(GenericErrorCode.GEN_002, e.getErrorCode());
+        } finally {
+            provider.hashingPermits.release();
+        }
+    }
+
+    //This test case passes when a hash which waited longer than the timeout is turned away with GEN-002
+    @Test
+    public void shouldRejectHashingAfterTimeout() throws Exception {
+        final PasswordCryptographyProvider provider = new PasswordCryptographyProvider(1000, 1, 1, 10);
+        provider.hashingPermits.acquire();
+
+        try {
+            provider.encrypt("Passw0rd#");
+            fail();
+        } catch (UnexpectedException e) {
+            assertEquals(GenericErrorCode.GEN_002, e.getErrorCode());
+        } finally {
+            provider.hashingPermits.release();
+        }
+    }
+
+    //This test case passes when, without configured values, a quarter of the request threads may wait to hash and a
+    // request waits about as long as one hash takes
+    @Test
+    public void shouldDeriveQueueCapacityAndTimeoutByDefault() {
+        try (AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext()) {
+            applicationContext.getEnvironment().getPropertySources().addFirst(
+                    new MapPropertySource("test", Collections.singletonMap("server.tomcat.max-threads", "40")));
+            applicationContext.register(PasswordCryptographyProvider.class);
+            applicationContext.refresh();
+
+            final PasswordCryptographyProvider provider = applicationContext.getBean(PasswordCryptographyProvider.class);
+            assertEquals(10, ReflectionTestUtils.getField(provider, "queueCapacity"));
+            final long timeout = (Long) ReflectionTestUtils.getField(provider, "timeout");
+            assertTrue(timeout >= 1 && timeout < 5000);
+        }
+    }
+}
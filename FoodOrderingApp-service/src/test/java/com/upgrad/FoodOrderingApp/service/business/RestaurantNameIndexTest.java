@@ -0,0 +1,109 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// This class checks the trigram index answers the same as a case insensitive contains() over all restaurant names
+public class RestaurantNameIndexTest {
+
+    private static final UUID PIZZA_HUT = new UUID(0, 1);
+
+    private static final UUID DOMINOS_PIZZA = new UUID(0, 2);
+
+    private static final UUID BURGER_KING = new UUID(0, 3);
+
+    private static final UUID HOTEL_PIZZERIA = new UUID(0, 4);
+
+    private static Map<UUID, String> restaurantNames() {
+        final Map<UUID, String> namesByUuid = new LinkedHashMap<>();
+        namesByUuid.put(PIZZA_HUT, "Pizza Hut");
+        namesByUuid.put(DOMINOS_PIZZA, "Dominos Pizza");
+        namesByUuid.put(BURGER_KING, "Burger King");
+        namesByUuid.put(HOTEL_PIZZERIA, "Hotel Pizzeria");
+        return namesByUuid;
+    }
+
+    //This test case passes when a substring in the middle of a name, in any case, finds the restaurant
+    @Test
+    public void shouldFindRestaurantsBySubstringIgnoringCase() {
+        final RestaurantNameIndex restaurantNameIndex = new RestaurantNameIndex(restaurantNames());
+
+        assertEquals(Collections.singletonList(BURGER_KING), restaurantNameIndex.search("RGER k"));
+        assertEquals(Arrays.asList(DOMINOS_PIZZA, HOTEL_PIZZERIA, PIZZA_HUT), restaurantNameIndex.search("pIzZ"));
+    }
+
+    //This test case passes when a restaurant whose name holds every gram of the query, but not the query itself, is
+    // not returned
+    @Test
+    public void shouldNotFindRestaurantsHavingOnlyTheGramsOfTheQuery() {
+        final Map<UUID, String> namesByUuid = new HashMap<>();
+        namesByUuid.put(PIZZA_HUT, "abcd bcde");
+
+        final RestaurantNameIndex restaurantNameIndex = new RestaurantNameIndex(namesByUuid);
+
+        assertTrue(restaurantNameIndex.search("abcde").isEmpty());
+        assertEquals(Collections.singletonList(PIZZA_HUT), restaurantNameIndex.search("abcd"));
+    }
+
+    //This test case passes when queries shorter than a gram, including the empty query, are answered by scanning all
+    // names
+    @Test
+    public void shouldFindRestaurantsByQueriesShorterThanAGram() {
+        final RestaurantNameIndex restaurantNameIndex = new RestaurantNameIndex(restaurantNames());
+
+        assertEquals(Arrays.asList(BURGER_KING, HOTEL_PIZZERIA), restaurantNameIndex.search("e"));
+        assertEquals(Arrays.asList(DOMINOS_PIZZA, PIZZA_HUT), restaurantNameIndex.search("zA"));
+        assertEquals(Arrays.asList(BURGER_KING, DOMINOS_PIZZA, HOTEL_PIZZERIA, PIZZA_HUT), restaurantNameIndex.search(""));
+        assertTrue(restaurantNameIndex.search("x").isEmpty());
+    }
+
+    //This test case passes when a query with a gram no restaurant has returns nothing
+    @Test
+    public void shouldFindNothingForUnknownGram() {
+        final RestaurantNameIndex restaurantNameIndex = new RestaurantNameIndex(restaurantNames());
+
+        assertTrue(restaurantNameIndex.search("pizzaz").isEmpty());
+        assertTrue(restaurantNameIndex.search("taco").isEmpty());
+    }
+
+    //This test case passes when the index of the next catalog version finds a restaurant by its new name only and no
+    // longer finds a removed restaurant
+    @Test
+    public void shouldFindRenamedAndNotRemovedRestaurantsInTheNextIndex() {
+        final Map<UUID, String> namesByUuid = restaurantNames();
+        final RestaurantNameIndex previousIndex = new RestaurantNameIndex(namesByUuid);
+        namesByUuid.put(PIZZA_HUT, "Taco Hut");
+        namesByUuid.remove(BURGER_KING);
+
+        final RestaurantNameIndex restaurantNameIndex = new RestaurantNameIndex(namesByUuid);
+
+        assertEquals(3, restaurantNameIndex.size());
+        assertEquals(Collections.singletonList(PIZZA_HUT), restaurantNameIndex.search("taco"));
+        assertEquals(Arrays.asList(DOMINOS_PIZZA, HOTEL_PIZZERIA), restaurantNameIndex.search("pizz"));
+        assertTrue(restaurantNameIndex.search("burger").isEmpty());
+        assertEquals(Arrays.asList(DOMINOS_PIZZA, HOTEL_PIZZERIA, PIZZA_HUT), previousIndex.search("pizz"));
+    }
+
+    //This test case passes when matches are ordered by name, with restaurants of the same name ordered by UUID
+    @Test
+    public void shouldOrderMatchesByNameThenUuid() {
+        final Map<UUID, String> namesByUuid = new LinkedHashMap<>();
+        namesByUuid.put(HOTEL_PIZZERIA, "Pizza Hut");
+        namesByUuid.put(DOMINOS_PIZZA, "pizza corner");
+        namesByUuid.put(PIZZA_HUT, "Pizza Hut");
+        namesByUuid.put(BURGER_KING, "Abc Pizza");
+
+        final RestaurantNameIndex restaurantNameIndex = new RestaurantNameIndex(namesByUuid);
+
+        assertEquals(Arrays.asList(BURGER_KING, PIZZA_HUT, HOTEL_PIZZERIA, DOMINOS_PIZZA), restaurantNameIndex.search("pizza"));
+    }
+}
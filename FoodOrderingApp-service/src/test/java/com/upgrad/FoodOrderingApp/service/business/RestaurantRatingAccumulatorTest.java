@@ -0,0 +1,104 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.upgrad.FoodOrderingApp.service.dao.RestaurantDao;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// This class checks that no rating is lost or counted twice while ratings are given and flushed concurrently
+@RunWith(MockitoJUnitRunner.class)
+public class RestaurantRatingAccumulatorTest {
+
+    private static final int THREADS = 8;
+
+    private static final int RATINGS_PER_THREAD = 20000;
+
+    @Mock
+    private RestaurantDao restaurantDao;
+
+    @InjectMocks
+    private RestaurantRatingAccumulator restaurantRatingAccumulator;
+
+    //This test case passes when every rating given during concurrent flushes is written exactly once
+    @Test
+    public void shouldWriteEveryRatingOnceWhileFlushingConcurrently() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS + 1);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean rating = new AtomicBoolean(true);
+        try {
+            final List<Future<?>> raters = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                raters.add(executorService.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < RATINGS_PER_THREAD; i++) {
+                        restaurantRatingAccumulator.add(1, i % 2 == 0 ? 4.5 : 3.0);
+                    }
+                    return null;
+                }));
+            }
+            final Future<?> flusher = executorService.submit(() -> {
+                start.await();
+                while (rating.get()) {
+                    restaurantRatingAccumulator.onFlushInterval();
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> rater : raters) {
+                rater.get(30, TimeUnit.SECONDS);
+            }
+            rating.set(false);
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdownNow();
+        }
+        restaurantRatingAccumulator.onFlushInterval();
+
+        final ArgumentCaptor<BigDecimal> sums = ArgumentCaptor.forClass(BigDecimal.class);
+        final ArgumentCaptor<Long> counts = ArgumentCaptor.forClass(Long.class);
+        verify(restaurantDao, atLeastOnce()).addRatings(eq(1), sums.capture(), counts.capture());
+
+        final BigDecimal totalSum = sums.getAllValues().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        final long totalCount = counts.getAllValues().stream().mapToLong(Long::longValue).sum();
+        assertEquals(THREADS * RATINGS_PER_THREAD, totalCount);
+        assertEquals(new BigDecimal("3.75").multiply(BigDecimal.valueOf(THREADS * RATINGS_PER_THREAD)).compareTo(totalSum), 0);
+    }
+
+    //This test case passes when the ratings of a failed flush are written by the next one
+    @Test
+    public void shouldKeepRatingsOfFailedFlush() {
+        restaurantRatingAccumulator.add(1, 4.0);
+        restaurantRatingAccumulator.add(1, 5.0);
+        when(restaurantDao.addRatings(anyInt(), any(), anyLong())).thenThrow(new IllegalStateException()).thenReturn(1);
+
+        try {
+            restaurantRatingAccumulator.onFlushInterval();
+        } catch (IllegalStateException e) {
+            // the first flush fails
+        }
+        restaurantRatingAccumulator.onFlushInterval();
+
+        verify(restaurantDao, times(2)).addRatings(1, BigDecimal.valueOf(900, 2), 2L);
+    }
+}
@@ -0,0 +1,117 @@
+package com.upgrad.FoodOrderingApp.service.business;
+
+import com.auth0.jwt.JWT;
+import com.upgrad.FoodOrderingApp.service.dao.CustomerDao;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// This class checks the tokens logged out on other nodes are read from customer_auth and revoked, or dropped from the
+// session cache
+@RunWith(MockitoJUnitRunner.class)
+public class TokenRevocationListTest {
+
+    @Mock
+    private CustomerDao customerDao;
+
+    @Mock
+    private CustomerSessionCache customerSessionCache;
+
+    @InjectMocks
+    private TokenRevocationList tokenRevocationList;
+
+    private final JwtTokenProvider jwtTokenProvider = new JwtTokenProvider("key", "secret");
+
+    //This test case passes when, with jwt verification, the first sync reads every token not expired yet and revokes
+    // their token ids, ignoring tokens which carry none
+    @Test
+    public void shouldRevokeAllTokensLoggedOutBeforeStartup() {
+        ReflectionTestUtils.setField(tokenRevocationList, "verification", "jwt");
+        final ZonedDateTime now = ZonedDateTime.now();
+        final String accessToken = jwtTokenProvider.generateToken("uuid", 7, now, now.plusHours(8));
+        when(customerDao.getAccessTokensLoggedOutSince(any(), any())).thenReturn(Arrays.asList(accessToken, "not-a-token"));
+
+        tokenRevocationList.syncWithDatabase();
+
+        verify(customerDao).getAccessTokensLoggedOutSince(eq(Instant.EPOCH.atZone(ZoneOffset.UTC)), any());
+        assertTrue(tokenRevocationList.isRevoked(UUID.fromString(JWT.decode(accessToken).getId())));
+        assertEquals(1, tokenRevocationList.size());
+        verifyZeroInteractions(customerSessionCache);
+    }
+
+    //This test case passes when every later sync reads back from one minute before the previous successful sync, so
+    // that logouts stamped by a clock running behind are not missed, and a failed sync is retried from the same point
+    @Test
+    public void shouldReadBackSyncOverlapFromPreviousSuccessfulSync() {
+        ReflectionTestUtils.setField(tokenRevocationList, "verification", "jwt");
+        when(customerDao.getAccessTokensLoggedOutSince(any(), any()))
+                .thenReturn(Collections.emptyList())
+                .thenThrow(new IllegalStateException())
+                .thenReturn(Collections.emptyList());
+
+        tokenRevocationList.syncWithDatabase();
+        tokenRevocationList.syncWithDatabase();
+        tokenRevocationList.syncWithDatabase();
+
+        final ArgumentCaptor<ZonedDateTime> since = ArgumentCaptor.forClass(ZonedDateTime.class);
+        final ArgumentCaptor<ZonedDateTime> now = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(customerDao, times(3)).getAccessTokensLoggedOutSince(since.capture(), now.capture());
+        final List<ZonedDateTime> sinces = since.getAllValues();
+        final ZonedDateTime firstSyncedAt = now.getAllValues().get(0);
+        assertEquals(firstSyncedAt.minus(Duration.ofMinutes(1)), sinces.get(1));
+        assertEquals(firstSyncedAt.minus(Duration.ofMinutes(1)), sinces.get(2));
+    }
+
+    //This test case passes when revoked tokens are dropped from the list once they expire, and expired tokens are
+    // never added
+    @Test
+    public void shouldDropExpiredTokens() throws Exception {
+        final UUID expiringTokenId = UUID.randomUUID();
+        final UUID expiredTokenId = UUID.randomUUID();
+        tokenRevocationList.revoke(expiringTokenId, System.currentTimeMillis() + 20);
+        tokenRevocationList.revoke(expiredTokenId, System.currentTimeMillis() - 1);
+        assertTrue(tokenRevocationList.isRevoked(expiringTokenId));
+        assertFalse(tokenRevocationList.isRevoked(expiredTokenId));
+
+        Thread.sleep(50);
+        tokenRevocationList.removeExpired();
+
+        assertEquals(0, tokenRevocationList.size());
+    }
+
+    //This test case passes when, with database verification, the sessions of tokens logged out on other nodes since
+    // shortly before startup are dropped from the session cache
+    @Test
+    public void shouldDropCachedSessionsOfTokensLoggedOutElsewhere() {
+        ReflectionTestUtils.setField(tokenRevocationList, "verification", "database");
+        when(customerDao.getAccessTokensLoggedOutSince(any(), any())).thenReturn(Collections.singletonList("access-token"));
+        final ZonedDateTime before = ZonedDateTime.now();
+
+        tokenRevocationList.syncWithDatabase();
+
+        verify(customerSessionCache).invalidate("access-token");
+        final ArgumentCaptor<ZonedDateTime> since = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(customerDao).getAccessTokensLoggedOutSince(since.capture(), any());
+        final long minutesBeforeStartup = ChronoUnit.MINUTES.between(since.getValue(), before);
+        assertTrue(minutesBeforeStartup >= 0 && minutesBeforeStartup <= 1);
+        assertEquals(0, tokenRevocationList.size());
+    }
+}
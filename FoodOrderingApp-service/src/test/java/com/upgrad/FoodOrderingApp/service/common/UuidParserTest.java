@@ -0,0 +1,39 @@
+package com.upgrad.FoodOrderingApp.service.common;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+// This class contains the test cases regarding the parsing of the UUIDs received from customers
+public class UuidParserTest {
+
+    //This test case passes when a UUID in canonical form, in lower or upper case, is parsed as UUID.fromString does
+    @Test
+    public void shouldParseCanonicalUuid() {
+        for (int i = 0; i < 100; i++) {
+            final UUID uuid = UUID.randomUUID();
+            assertEquals(uuid, UuidParser.parse(uuid.toString()));
+            assertEquals(uuid, UuidParser.parse(uuid.toString().toUpperCase()));
+        }
+        final UUID maximum = new UUID(-1L, -1L);
+        assertEquals(maximum, UuidParser.parse("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+        assertEquals(new UUID(0L, 0L), UuidParser.parse("00000000-0000-0000-0000-000000000000"));
+    }
+
+    //This test case passes when text that is not a UUID in canonical form is answered with null instead of an exception
+    @Test
+    public void shouldReturnNullForMalformedUuid() {
+        assertNull(UuidParser.parse(null));
+        assertNull(UuidParser.parse(""));
+        assertNull(UuidParser.parse("someRestaurantId"));
+        assertNull(UuidParser.parse("1-2-3-4-5"));
+        assertNull(UuidParser.parse("c860e78a-a29b-11e8-9a3a-720006ceb89"));
+        assertNull(UuidParser.parse("c860e78a-a29b-11e8-9a3a-720006ceb8900"));
+        assertNull(UuidParser.parse("c860e78a_a29b-11e8-9a3a-720006ceb890"));
+        assertNull(UuidParser.parse("c860e78g-a29b-11e8-9a3a-720006ceb890"));
+        assertNull(UuidParser.parse("c860e78a-a29b-11e8-9a3a-720006ceb89 "));
+        assertNull(UuidParser.parse("c860e78a-a29b-11e8-9a3a-720006ceb89\uff10"));
+    }
+}
@@ -0,0 +1,230 @@
+package com.upgrad.FoodOrderingApp.service.dao;
+
+import com.upgrad.FoodOrderingApp.service.common.ItemType;
+import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// This class checks the number of statements issued to read the order history of a customer
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {
+        // statements are counted as they reach the database, not answered from the second-level cache
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"})
+public class OrderDaoTest {
+
+    private static final int ORDERS = 20;
+
+    private static final int ITEMS_PER_ORDER = 3;
+
+    // the batch size OrderService streams the order history with
+    private static final int STREAM_BATCH_SIZE = 100;
+
+    private static final int STREAMED_ORDERS = 250;
+
+    @Configuration
+    @AutoConfigurationPackage
+    @EntityScan("com.upgrad.FoodOrderingApp.service.entity")
+    @Import({OrderDao.class, OrderItemDao.class})
+    static class OrderDaoTestConfiguration {
+    }
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private OrderItemDao orderItemDao;
+
+    private CustomerEntity customerEntity;
+
+    private List<ItemEntity> itemEntities;
+
+    private CouponEntity couponEntity;
+
+    private AddressEntity customerAddressEntity;
+
+    private RestaurantEntity restaurantEntity;
+
+    @Before
+    public void setUp() {
+        final StateEntity stateEntity = testEntityManager.persist(new StateEntity(UUID.randomUUID(), "Karnataka"));
+
+        customerEntity = new CustomerEntity();
+        customerEntity.setUuid(UUID.randomUUID());
+        customerEntity.setFirstName("first");
+        customerEntity.setLastName("last");
+        customerEntity.setEmail("first@last.com");
+        customerEntity.setContactNumber("9090909090");
+        customerEntity.setPassoword("password");
+        customerEntity.setSalt("salt");
+        testEntityManager.persist(customerEntity);
+
+        customerAddressEntity = testEntityManager.persist(
+                new AddressEntity(UUID.randomUUID(), "1", "locality", "city", "560000", stateEntity));
+        final AddressEntity restaurantAddressEntity = testEntityManager.persist(
+                new AddressEntity(UUID.randomUUID(), "2", "locality", "city", "560001", stateEntity));
+
+        restaurantEntity = new RestaurantEntity();
+        restaurantEntity.setUuid(UUID.randomUUID());
+        restaurantEntity.setRestaurantName("restaurant");
+        restaurantEntity.setPhotoUrl("photo");
+        restaurantEntity.setCustomerRating(4.0);
+        restaurantEntity.setAvgPrice(200);
+        restaurantEntity.setNumberCustomersRated(10);
+        restaurantEntity.setAddress(restaurantAddressEntity);
+        testEntityManager.persist(restaurantEntity);
+
+        couponEntity = testEntityManager.persist(new CouponEntity(UUID.randomUUID(), "coupon", 10));
+
+        itemEntities = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            final ItemEntity itemEntity = new ItemEntity();
+            itemEntity.setUuid(UUID.randomUUID());
+            itemEntity.setItemName("item" + i);
+            itemEntity.setPrice(100);
+            itemEntity.setType(ItemType.VEG);
+            itemEntities.add(testEntityManager.persist(itemEntity));
+        }
+
+        persistOrders(0, ORDERS);
+
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    //This test case passes when the order history with all its order items is read in two statements, independent of the number of orders
+    @Test
+    public void shouldGetOrderHistoryInTwoStatements() {
+        final Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        final CustomerEntity customer = testEntityManager.find(CustomerEntity.class, customerEntity.getId());
+        statistics.clear();
+
+        final List<OrderEntity> orderEntities = orderDao.getOrdersWithDetailsByCustomer(customer);
+        final List<OrderItemEntity> orderItemEntities = orderItemDao.getItemsByOrders(orderEntities);
+
+        // everything GET /order puts into its response
+        for (OrderEntity orderEntity : orderEntities) {
+            orderEntity.getCoupon().getCouponName();
+            orderEntity.getPayment().getPaymentName();
+            orderEntity.getCustomer().getFirstName();
+            orderEntity.getAddress().getState().getStatename();
+        }
+        for (OrderItemEntity orderItemEntity : orderItemEntities) {
+            orderItemEntity.getItem().getItemName();
+            orderItemEntity.getOrder().getUuid();
+        }
+
+        assertEquals(ORDERS, orderEntities.size());
+        assertEquals(ORDERS * ITEMS_PER_ORDER, orderItemEntities.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    //This test case passes when an order history longer than a batch is streamed with one statement for the orders and
+    // one for the items of every batch
+    @Test
+    public void shouldStreamOrderHistoryInOneStatementPerBatch() {
+        persistOrders(ORDERS, STREAMED_ORDERS - ORDERS);
+        testEntityManager.flush();
+        testEntityManager.clear();
+        final Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        final CustomerEntity customer = testEntityManager.find(CustomerEntity.class, customerEntity.getId());
+        statistics.clear();
+
+        final List<Integer> batchSizes = new ArrayList<>();
+        final Set<UUID> orderUuids = new HashSet<>();
+        orderDao.scrollOrdersWithDetailsByCustomer(customer, STREAM_BATCH_SIZE, orderEntities -> {
+            batchSizes.add(orderEntities.size());
+            final List<OrderItemEntity> orderItemEntities = orderItemDao.getItemsByOrders(orderEntities);
+            assertEquals(orderEntities.size() * ITEMS_PER_ORDER, orderItemEntities.size());
+            // everything GET /order puts into its response
+            for (OrderEntity orderEntity : orderEntities) {
+                orderUuids.add(orderEntity.getUuid());
+                orderEntity.getCoupon().getCouponName();
+                orderEntity.getPayment().getPaymentName();
+                orderEntity.getCustomer().getFirstName();
+                orderEntity.getAddress().getState().getStatename();
+            }
+            for (OrderItemEntity orderItemEntity : orderItemEntities) {
+                orderItemEntity.getItem().getItemName();
+            }
+        });
+
+        final int batches = (STREAMED_ORDERS + STREAM_BATCH_SIZE - 1) / STREAM_BATCH_SIZE;
+        assertEquals(Arrays.asList(STREAM_BATCH_SIZE, STREAM_BATCH_SIZE, STREAMED_ORDERS - 2 * STREAM_BATCH_SIZE), batchSizes);
+        assertEquals(STREAMED_ORDERS, orderUuids.size());
+        assertEquals(1 + batches, statistics.getPrepareStatementCount());
+    }
+
+    //This test case passes when an order with many items is inserted in a few batched statements instead of one per item
+    @Test
+    public void shouldInsertOrderItemsInBatches() {
+        final Statistics statistics = testEntityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        final OrderEntity template = orderDao.getOrdersWithDetailsByCustomer(customerEntity).get(0);
+        final PaymentEntity paymentEntity = testEntityManager.persist(new PaymentEntity(UUID.randomUUID(), "batch"));
+        testEntityManager.flush();
+        statistics.clear();
+
+        final OrderEntity orderEntity = orderDao.createOrder(new OrderEntity(UUID.randomUUID(), 300.0,
+                template.getCoupon(), 30.0, new Date(), paymentEntity, template.getCustomer(), template.getAddress(), template.getRestaurant()));
+        final int itemCount = 40;
+        for (int i = 0; i < itemCount; i++) {
+            final OrderItemEntity orderItemEntity = new OrderItemEntity();
+            orderItemEntity.setOrder(orderEntity);
+            orderItemEntity.setItem(itemEntities.get(i % ITEMS_PER_ORDER));
+            orderItemEntity.setQuantity(1);
+            orderItemEntity.setPrice(100);
+            orderItemDao.createOrderItemEntity(orderItemEntity);
+        }
+        testEntityManager.flush();
+
+        // at most a couple of sequence calls per table and one prepared insert per table
+        assertTrue(statistics.getPrepareStatementCount() <= 6);
+        assertEquals(itemCount, orderItemDao.getItemsByOrder(orderEntity).size());
+    }
+
+    private void persistOrders(final int from, final int count) {
+        for (int i = from; i < from + count; i++) {
+            // payment is a one to one association, so every order needs its own
+            final PaymentEntity paymentEntity = testEntityManager.persist(new PaymentEntity(UUID.randomUUID(), "payment" + i));
+            final OrderEntity orderEntity = testEntityManager.persist(new OrderEntity(UUID.randomUUID(), 300.0,
+                    couponEntity, 30.0, new Date(), paymentEntity, customerEntity, customerAddressEntity, restaurantEntity));
+            for (ItemEntity itemEntity : itemEntities) {
+                final OrderItemEntity orderItemEntity = new OrderItemEntity();
+                orderItemEntity.setOrder(orderEntity);
+                orderItemEntity.setItem(itemEntity);
+                orderItemEntity.setQuantity(1);
+                orderItemEntity.setPrice(100);
+                testEntityManager.persist(orderItemEntity);
+            }
+        }
+    }
+}
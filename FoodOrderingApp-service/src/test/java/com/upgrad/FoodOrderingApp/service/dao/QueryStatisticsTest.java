@@ -0,0 +1,80 @@
+package com.upgrad.FoodOrderingApp.service.dao;
+
+import com.upgrad.FoodOrderingApp.service.common.QueryStatistics;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+// This class checks that the statements, database time and entity loads of a unit of work are counted
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = {
+        // statements are counted as they reach the database, not answered from the second-level cache
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.upgrad.FoodOrderingApp.service.common.QueryStatisticsInterceptor",
+        "spring.jpa.properties.hibernate.session_factory.interceptor=com.upgrad.FoodOrderingApp.service.common.QueryStatisticsInterceptor",
+        "spring.jpa.properties.hibernate.session.events.auto=com.upgrad.FoodOrderingApp.service.common.QueryTimingSessionListener"})
+public class QueryStatisticsTest {
+
+    @Configuration
+    @AutoConfigurationPackage
+    @EntityScan("com.upgrad.FoodOrderingApp.service.entity")
+    @Import(StateDao.class)
+    static class QueryStatisticsTestConfiguration {
+    }
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private StateDao stateDao;
+
+    @After
+    public void tearDown() {
+        QueryStatistics.end();
+    }
+
+    //This test case passes when every prepared statement and every loaded entity is counted
+    @Test
+    public void shouldCountStatementsAndEntityLoads() {
+        testEntityManager.persist(new StateEntity(UUID.randomUUID(), "Karnataka"));
+        testEntityManager.persist(new StateEntity(UUID.randomUUID(), "Kerala"));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        QueryStatistics.begin();
+        final int states = stateDao.getAllStates().size();
+        stateDao.getAllStates();
+        final QueryStatistics queryStatistics = QueryStatistics.end();
+
+        assertEquals(2, queryStatistics.getStatementCount());
+        assertEquals(1, queryStatistics.getStatementCounts().size());
+        assertEquals(Integer.valueOf(2), queryStatistics.getStatementCounts().values().iterator().next());
+        assertEquals(states, queryStatistics.getEntityLoadCount());
+        assertTrue(queryStatistics.getJdbcNanos() > 0);
+    }
+
+    //This test case passes when statements are not counted before counting is started
+    @Test
+    public void shouldNotCountStatementsOutsideOfUnitOfWork() {
+        stateDao.getAllStates();
+
+        assertNull(QueryStatistics.end());
+    }
+}
@@ -0,0 +1,101 @@
+package com.upgrad.FoodOrderingApp.service.dao;
+
+import com.upgrad.FoodOrderingApp.service.entity.PaymentEntity;
+import com.upgrad.FoodOrderingApp.service.entity.StateEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+// This class checks that the reference tables are read from the second-level cache once they have been read
+@RunWith(SpringRunner.class)
+@DataJpaTest
+// cached query results are only used outside of the transaction which wrote the table
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=com.upgrad.FoodOrderingApp.service.common.ClasspathJCacheRegionFactory",
+        "spring.jpa.properties.hibernate.javax.cache.provider=org.ehcache.jsr107.EhcacheCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=classpath:ehcache.xml",
+        "spring.jpa.properties.javax.persistence.sharedCache.mode=ENABLE_SELECTIVE"})
+public class ReferenceDataCacheTest {
+
+    @Configuration
+    @AutoConfigurationPackage
+    @EntityScan("com.upgrad.FoodOrderingApp.service.entity")
+    @Import({StateDao.class, PaymentDao.class})
+    static class ReferenceDataCacheTestConfiguration {
+    }
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StateDao stateDao;
+
+    @Autowired
+    private PaymentDao paymentDao;
+
+    private UUID stateUuid;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        stateUuid = UUID.randomUUID();
+        new TransactionTemplate(transactionManager).execute(status ->
+                testEntityManager.persist(new StateEntity(stateUuid, "Karnataka")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    //This test case passes when a state is read from the database only the first time it is looked up by its uuid
+    @Test
+    public void shouldGetStateByUuidFromCache() {
+        assertEquals("Karnataka", stateDao.getStateByUUID(stateUuid).getStatename());
+        statistics.clear();
+
+        assertEquals("Karnataka", stateDao.getStateByUUID(stateUuid).getStatename());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    //This test case passes when a cached list of payment methods is read again after a payment method was added
+    @Test
+    public void shouldGetAllPaymentMethodsAgainAfterInsert() {
+        final int paymentMethods = paymentDao.getAllPaymentMethods().size();
+        new TransactionTemplate(transactionManager).execute(status ->
+                testEntityManager.persist(new PaymentEntity(UUID.randomUUID(), "UPI")));
+        statistics.clear();
+
+        assertEquals(paymentMethods + 1, paymentDao.getAllPaymentMethods().size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+}
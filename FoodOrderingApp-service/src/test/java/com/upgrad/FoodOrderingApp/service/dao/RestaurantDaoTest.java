@@ -0,0 +1,117 @@
+package com.upgrad.FoodOrderingApp.service.dao;
+
+import com.upgrad.FoodOrderingApp.service.entity.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+// This class checks the restaurant list read by a single native query on the embedded database
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+public class RestaurantDaoTest {
+
+    @Configuration
+    @AutoConfigurationPackage
+    @EntityScan("com.upgrad.FoodOrderingApp.service.entity")
+    @Import(RestaurantDao.class)
+    static class RestaurantDaoTestConfiguration {
+    }
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private RestaurantDao restaurantDao;
+
+    private StateEntity stateEntity;
+
+    @Before
+    public void setUp() {
+        stateEntity = testEntityManager.persist(new StateEntity(UUID.randomUUID(), "Karnataka"));
+    }
+
+    //This test case passes when the category names of a restaurant are sorted by their characters and joined, even if a
+    // name contains the separator itself
+    @Test
+    public void shouldJoinSortedCategoryNamesOfEveryRestaurant() {
+        final CategoryEntity indian = persistCategory("Indian");
+        final CategoryEntity chineseAndThai = persistCategory("Chinese, Thai");
+        final CategoryEntity drinks = persistCategory("drinks");
+        persistRestaurant("restaurant", 4.0, Arrays.asList(indian, drinks, chineseAndThai));
+        flushAndClear();
+
+        final List<RestaurantListView> restaurantListViews = restaurantDao.restaurantListViewsByRating();
+
+        assertEquals(1, restaurantListViews.size());
+        assertEquals("Chinese, Thai, Indian, drinks", restaurantListViews.get(0).getCategories());
+    }
+
+    //This test case passes when every restaurant is listed once, highest rated first, with an empty category list for a
+    // restaurant without categories
+    @Test
+    public void shouldListEveryRestaurantOnceByRating() {
+        final CategoryEntity indian = persistCategory("Indian");
+        final CategoryEntity drinks = persistCategory("Drinks");
+        final RestaurantEntity lowRated = persistRestaurant("low", 2.5, Arrays.asList(indian, drinks));
+        final RestaurantEntity uncategorized = persistRestaurant("uncategorized", 3.0, Collections.emptyList());
+        final RestaurantEntity highRated = persistRestaurant("high", 4.5, Collections.singletonList(drinks));
+        flushAndClear();
+
+        final List<RestaurantListView> restaurantListViews = restaurantDao.restaurantListViewsByRating();
+
+        assertEquals(3, restaurantListViews.size());
+        assertEquals(highRated.getUuid(), restaurantListViews.get(0).getUuid());
+        assertEquals("Drinks", restaurantListViews.get(0).getCategories());
+        assertEquals(uncategorized.getUuid(), restaurantListViews.get(1).getUuid());
+        assertEquals("", restaurantListViews.get(1).getCategories());
+        assertEquals(lowRated.getUuid(), restaurantListViews.get(2).getUuid());
+        assertEquals("Drinks, Indian", restaurantListViews.get(2).getCategories());
+        assertEquals("Karnataka", restaurantListViews.get(2).getStateName());
+    }
+
+    private CategoryEntity persistCategory(final String categoryName) {
+        final CategoryEntity categoryEntity = new CategoryEntity();
+        categoryEntity.setUuid(UUID.randomUUID());
+        categoryEntity.setCategoryName(categoryName);
+        return testEntityManager.persist(categoryEntity);
+    }
+
+    private RestaurantEntity persistRestaurant(final String restaurantName, final double customerRating,
+                                               final List<CategoryEntity> categoryEntities) {
+        final AddressEntity addressEntity = testEntityManager.persist(
+                new AddressEntity(UUID.randomUUID(), "1", "locality", "city", "560000", stateEntity));
+
+        final RestaurantEntity restaurantEntity = new RestaurantEntity();
+        restaurantEntity.setUuid(UUID.randomUUID());
+        restaurantEntity.setRestaurantName(restaurantName);
+        restaurantEntity.setPhotoUrl("photo");
+        restaurantEntity.setCustomerRating(customerRating);
+        restaurantEntity.setAvgPrice(200);
+        restaurantEntity.setNumberCustomersRated(10);
+        restaurantEntity.setAddress(addressEntity);
+        restaurantEntity.getCategories().addAll(categoryEntities);
+        return testEntityManager.persist(restaurantEntity);
+    }
+
+    private void flushAndClear() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+}